@@ -6,6 +6,7 @@ val AkkaManagementVersion = "1.1.0"
 plugins {
     application
     id("com.lightbend.akka.grpc.gradle").version("2.0.0")
+    id("me.champeau.gradle.jmh") version "0.5.3"
 }
 
 application {
@@ -40,6 +41,11 @@ dependencies {
     testImplementation("com.typesafe.akka:akka-actor-testkit-typed_$ScalaBinary")
 }
 
+jmh {
+    jmhVersion = "1.28"
+    profilers = listOf("gc")
+}
+
 val dockerImageTag = "gameserver/$version".toLowerCase()
 
 tasks.register<Exec>("buildDockerfile") {
@@ -0,0 +1,157 @@
+package gameserver.actor;
+
+import akka.actor.typed.ActorRef;
+import akka.actor.typed.Behavior;
+import akka.actor.typed.javadsl.Adapter;
+import akka.actor.typed.javadsl.Behaviors;
+import akka.pattern.Patterns;
+import com.typesafe.config.ConfigFactory;
+import gameserver.domain.*;
+import gameserver.query.GameRoomProjection;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ゲームの長さ (ラウンド数) ごとの, 最後まで進めた部屋の復元 (スナップショットの読み込みとイベントのリプレイ) にかかる時間.
+ * ラウンドの境目でスナップショットを取るため, ラウンド数によらずほぼ一定になる.
+ * <p>
+ * 4 人, スタンダードデッキで, 全員がビッド 0, 出せる最初のカードを出して進める.
+ * ジャーナルは inmem, スナップショットは local (一時ディレクトリ) を使う.
+ * <p>
+ * 実行: ./gradlew :app:gameserver:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecoveryBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final int ROOM_SIZE = 4;
+
+    @Param({"1", "5", "10"})
+    public int rounds;
+
+    private akka.actor.ActorSystem system;
+    private ActorRef<GameRoomProjection.Command> projection;
+    private final BlockingQueue<GameEvent> received = new LinkedBlockingQueue<>();
+    private ActorRef<GameEvent> connection;
+    private String gameRoomId;
+    private List<PlayerId> playerIds;
+    private ActorRef<GameCommand> recovered;
+    private int generation;
+
+    @Setup
+    public void setUp() throws Exception {
+        // application.conf (クラスタの設定) は読まない
+        system = akka.actor.ActorSystem.create("RecoveryBenchmark", ConfigFactory.parseString(
+                "akka.persistence.journal.plugin = \"akka.persistence.journal.inmem\" \n" +
+                        "akka.persistence.snapshot-store.plugin = \"akka.persistence.snapshot-store.local\" \n" +
+                        "akka.persistence.snapshot-store.local.dir = \"" +
+                        Files.createTempDirectory("snapshot").toString().replace("\\", "/") + "\" \n" +
+                        "akka.actor.serializers.game-protobuf = \"gameserver.serialization.GameProtobufSerializer\" \n" +
+                        "akka.actor.serialization-bindings { \n" +
+                        "  \"gameserver.domain.GameEvent\" = game-protobuf \n" +
+                        "  \"gameserver.domain.GameCommand\" = game-protobuf \n" +
+                        "  \"gameserver.domain.GameState\" = game-protobuf \n" +
+                        "} \n"));
+        projection = Adapter.spawn(system, Behaviors.<GameRoomProjection.Command>ignore(), "projection");
+        connection = Adapter.spawn(system, Behaviors.<GameEvent>receiveMessage(event -> {
+            received.add(event);
+            return Behaviors.same();
+        }), "connection");
+
+        gameRoomId = "gameRoom-" + rounds;
+        playerIds = new ArrayList<>();
+        for (int i = 0; i < ROOM_SIZE; i++) {
+            playerIds.add(new PlayerId("player" + i));
+        }
+
+        final var gameRoom = spawn();
+        final var dealer = playerIds.get(0);
+        gameRoom.tell(GameCommand.Store.builder().state(GameState.StartPhase.builder()
+                .dealerId(dealer)
+                .playerIds(playerIds)
+                .rule(new GameRule(ROOM_SIZE, rounds, GameRule.DeckType.STANDARD))
+                .build()).build());
+        gameRoom.tell(GameCommand.GameStart.builder().playerId(dealer).build());
+        playToEnd(gameRoom);
+        stop(gameRoom);
+    }
+
+    private ActorRef<GameCommand> spawn() {
+        final Behavior<GameCommand> behavior = GameRoomActor.create(gameRoomId, projection);
+        return Adapter.spawn(system, behavior, "gameRoom-" + generation++);
+    }
+
+    private void stop(ActorRef<GameCommand> gameRoom) throws Exception {
+        Patterns.gracefulStop(Adapter.toClassic(gameRoom), TIMEOUT).toCompletableFuture().get();
+    }
+
+    /**
+     * 接続を張ってスナップショット (GameSnapshot) を受け取るまで待つ.
+     */
+    private GameState awaitSnapshot(ActorRef<GameCommand> gameRoom) throws InterruptedException {
+        received.clear();
+        gameRoom.tell(GameCommand.NewConnection.builder().playerId(playerIds.get(0)).playerRef(connection).build());
+        while (true) {
+            final var event = received.poll(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            if (event == null) {
+                throw new IllegalStateException("snapshot was not received");
+            }
+            if (event instanceof GameEvent.GameSnapshot) {
+                return ((GameEvent.GameSnapshot) event).getGameState();
+            }
+        }
+    }
+
+    private void playToEnd(ActorRef<GameCommand> gameRoom) throws InterruptedException {
+        while (true) {
+            final var state = awaitSnapshot(gameRoom);
+            if (state instanceof GameState.FinishedPhase) {
+                return;
+            } else if (state instanceof GameState.BiddingPhase) {
+                playerIds.forEach(playerId -> gameRoom.tell(GameCommand.BidDeclare.builder().playerId(playerId).bid(0).build()));
+            } else if (state instanceof GameState.TrickPhase) {
+                final var trickPhase = (GameState.TrickPhase) state;
+                final var player = trickPhase.nextPlayer();
+                final var card = player.getCards().values().stream()
+                        .filter(c -> trickPhase.canPlay(player.getPlayerId(), c).equals(InputCheckResult.ApplyableInput.INSTANCE))
+                        .findFirst()
+                        .orElseThrow();
+                gameRoom.tell(GameCommand.PlayCard.builder()
+                        .playerId(player.getPlayerId())
+                        .card(card instanceof Card.Tigress ? ((Card.Tigress) card).withIsPirates(false) : card)
+                        .build());
+            } else {
+                throw new IllegalStateException("unexpected state: " + state.getClass().getSimpleName());
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        system.terminate();
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopRecovered() throws Exception {
+        stop(recovered);
+    }
+
+    @Benchmark
+    public GameState recover() throws InterruptedException {
+        recovered = spawn();
+        return awaitSnapshot(recovered);
+    }
+
+}
@@ -0,0 +1,84 @@
+package gameserver.domain;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 手札 10 枚で色のフォローを確認する必要がある場合の {@link GameState.TrickPhase#canPlay} の比較.
+ * 以前の HashMap + stream による手札の確認 (legacyCanPlay) と, 現在の {@link Hand} のビット演算 (canPlay).
+ * <p>
+ * 実行: ./gradlew :app:gameserver:jmh (gc プロファイラで 1 回あたりの割り当て量も出力される)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CanPlayBenchmark {
+
+    private static final int HAND_SIZE = 10;
+
+    private PlayerId playerId;
+    private GameState.TrickPhase trickPhase;
+    private Map<CardId, Card> legacyHand;
+    private Card playCard;
+
+    @Setup
+    public void setUp() {
+        playerId = new PlayerId("player1");
+        final var deck = CardDeckProvider.expansionDeck();
+        // 緑のカードを持たない手札で, 緑がリードされたトリックに黄色のカードを出す
+        deck.removeIf(card -> card instanceof Card.NumberCard
+                && ((Card.NumberCard) card).getCardColor() == Card.NumberCard.CardColor.GREEN);
+        final var player = new Player(playerId);
+        legacyHand = new HashMap<>();
+        for (int i = 0; i < HAND_SIZE; i++) {
+            final var card = deck.pop();
+            player.getCards().add(card);
+            legacyHand.put(card.getCardId(), card);
+        }
+        playCard = player.getCards().values().stream()
+                .filter(card -> card instanceof Card.NumberCard)
+                .findFirst()
+                .orElseThrow();
+
+        trickPhase = GameState.TrickPhase.builder()
+                .roomOwnerId(playerId)
+                .rule(new GameRule(2, 10, GameRule.DeckType.EXPANSION))
+                .round(HAND_SIZE)
+                .dealerId(playerId)
+                .playerIds(List.of(playerId))
+                .players(Seats.of(List.of(player)))
+                .deck(Deck.of(deck))
+                .mustFollow(Card.NumberCard.CardColor.GREEN)
+                .scoreBoard(ScoreBoard.empty())
+                .build();
+    }
+
+    @Benchmark
+    public InputCheckResult canPlay() {
+        return trickPhase.canPlay(playerId, playCard);
+    }
+
+    @Benchmark
+    public boolean legacyCanPlay() {
+        if (!trickPhase.nextPlayer().getPlayerId().equals(playerId)) {
+            return false;
+        }
+        if (!legacyHand.containsKey(playCard.getCardId())) {
+            return false;
+        }
+        final var numberCard = (Card.NumberCard) playCard;
+        if (numberCard.getCardColor() == trickPhase.getMustFollow()) {
+            return true;
+        }
+        return legacyHand.values().stream().noneMatch(card -> card instanceof Card.NumberCard
+                && ((Card.NumberCard) card).getCardColor() == trickPhase.getMustFollow());
+    }
+
+}
@@ -0,0 +1,111 @@
+package gameserver.serialization;
+
+import akka.actor.ExtendedActorSystem;
+import akka.actor.typed.ActorSystem;
+import akka.actor.typed.javadsl.Adapter;
+import akka.actor.typed.javadsl.Behaviors;
+import akka.serialization.SerializerWithStringManifest;
+import akka.serialization.jackson.JacksonCborSerializer;
+import com.typesafe.config.ConfigFactory;
+import gameserver.domain.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 6 人部屋の 1 ラウンド分 (開始, 全員のビッド, 全員のカードプレイ, 特殊カードの効果) のジャーナルイベントの,
+ * 以前の jackson-cbor と現在の {@link GameProtobufSerializer} による書き込み・読み込みの比較.
+ * 1 イベントあたりのバイト数はセットアップ時に標準出力へ出す.
+ * <p>
+ * 実行: ./gradlew :app:gameserver:jmh (gc プロファイラで 1 ラウンドあたりの割り当て量も出力される)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    private static final int ROOM_SIZE = 6;
+
+    private ActorSystem<Void> system;
+    private SerializerWithStringManifest cbor;
+    private SerializerWithStringManifest protobuf;
+    private List<GameEvent> roundEvents;
+    private List<byte[]> cborBytes;
+    private List<byte[]> protobufBytes;
+
+    @Setup
+    public void setUp() {
+        // application.conf (クラスタの設定) は読まない
+        system = ActorSystem.create(Behaviors.empty(), "EventSerializationBenchmark", ConfigFactory.empty());
+        final var extendedSystem = (ExtendedActorSystem) Adapter.toClassic(system);
+        cbor = new JacksonCborSerializer(extendedSystem, "jackson-cbor");
+        protobuf = new GameProtobufSerializer(extendedSystem);
+
+        final var players = IntStream.range(0, ROOM_SIZE)
+                .mapToObj(i -> new PlayerId("player" + i))
+                .collect(Collectors.toList());
+        final var deck = CardDeckProvider.expansionDeck();
+        roundEvents = new ArrayList<>();
+        roundEvents.add(GameEvent.GameStarted.builder().playerIds(players).seed(42L).build());
+        for (final var player : players) {
+            roundEvents.add(GameEvent.APlayerBidDeclared.builder().playerId(player).bidDeclared(1).build());
+        }
+        for (final var player : players) {
+            roundEvents.add(GameEvent.APlayerTrickPlayed.builder().playerId(player).playedCard(deck.poll()).build());
+        }
+        roundEvents.add(GameEvent.NextTrickLeadPlayerChanged.builder()
+                .playerId(players.get(0)).newLeadPlayerId(players.get(1)).build());
+        roundEvents.add(GameEvent.PlayerHandChanged.builder()
+                .playerId(players.get(0)).returnCards(Set.of(deck.poll().getCardId(), deck.poll().getCardId())).build());
+        roundEvents.add(GameEvent.BidDeclareChanged.builder().changedPlayerId(players.get(0)).changedBid(2).build());
+
+        cborBytes = roundEvents.stream().map(cbor::toBinary).collect(Collectors.toList());
+        protobufBytes = roundEvents.stream().map(protobuf::toBinary).collect(Collectors.toList());
+        System.out.printf("bytes per event: jackson-cbor=%.1f, protobuf=%.1f%n",
+                cborBytes.stream().mapToInt(bytes -> bytes.length).average().orElse(0),
+                protobufBytes.stream().mapToInt(bytes -> bytes.length).average().orElse(0));
+    }
+
+    @TearDown
+    public void tearDown() {
+        system.terminate();
+    }
+
+    @Benchmark
+    public void cborToBinary(Blackhole blackhole) {
+        for (final var event : roundEvents) {
+            blackhole.consume(cbor.toBinary(event));
+        }
+    }
+
+    @Benchmark
+    public void protobufToBinary(Blackhole blackhole) {
+        for (final var event : roundEvents) {
+            blackhole.consume(protobuf.toBinary(event));
+        }
+    }
+
+    @Benchmark
+    public void cborFromBinary(Blackhole blackhole) throws Exception {
+        for (int i = 0; i < roundEvents.size(); i++) {
+            blackhole.consume(cbor.fromBinary(cborBytes.get(i), cbor.manifest(roundEvents.get(i))));
+        }
+    }
+
+    @Benchmark
+    public void protobufFromBinary(Blackhole blackhole) throws Exception {
+        for (int i = 0; i < roundEvents.size(); i++) {
+            blackhole.consume(protobuf.fromBinary(protobufBytes.get(i), protobuf.manifest(roundEvents.get(i))));
+        }
+    }
+
+}
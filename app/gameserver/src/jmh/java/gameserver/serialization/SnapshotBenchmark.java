@@ -0,0 +1,95 @@
+package gameserver.serialization;
+
+import akka.actor.ExtendedActorSystem;
+import akka.actor.typed.ActorSystem;
+import akka.actor.typed.javadsl.Adapter;
+import akka.actor.typed.javadsl.Behaviors;
+import com.typesafe.config.ConfigFactory;
+import gameserver.domain.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 6 人部屋, 拡張デッキの最終ラウンドのトリック中の状態の, スナップショットの書き込み (toBinary) と
+ * 復元 (fromBinary) の圧縮の有無による比較. 圧縮前後のバイト数はセットアップ時に標準出力へ出す.
+ * <p>
+ * 実行: ./gradlew :app:gameserver:jmh (gc プロファイラで 1 回あたりの割り当て量も出力される)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SnapshotBenchmark {
+
+    @Param({"off", "deflate"})
+    public String algorithm;
+
+    private ActorSystem<Void> system;
+    private GameProtobufSerializer serializer;
+    private GameState state;
+    private String manifest;
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        final var config = ConfigFactory.parseString(
+                "game-serialization.snapshot-compression { algorithm = " + algorithm + ", compress-larger-than = 2 KiB }");
+        // application.conf (クラスタの設定) は読まない
+        system = ActorSystem.create(Behaviors.empty(), "SnapshotBenchmark", config);
+        serializer = new GameProtobufSerializer((ExtendedActorSystem) Adapter.toClassic(system));
+
+        state = lateGameTrickPhase();
+        manifest = serializer.manifest(state);
+        bytes = serializer.toBinary(state);
+        System.out.printf("snapshot bytes (%s): %d%n", algorithm, bytes.length);
+    }
+
+    /**
+     * 9 ラウンド分の得点があり, 10 ラウンド目の最初のトリックで親がカードを出した状態.
+     */
+    private static GameState lateGameTrickPhase() {
+        final var playerIds = new ArrayList<PlayerId>();
+        for (int i = 1; i <= GameRule.ROOM_MAX_MAX_SIZE; i++) {
+            playerIds.add(new PlayerId("player" + i));
+        }
+        final var dealer = playerIds.get(0);
+        final var rule = new GameRule(GameRule.ROOM_MAX_MAX_SIZE, 10, GameRule.DeckType.EXPANSION);
+
+        final var scoreBoard = ScoreBoard.empty(playerIds);
+        for (int round = 1; round < rule.getNOfRounds(); round++) {
+            final var roundScore = new HashMap<PlayerId, Score>();
+            for (int i = 0; i < playerIds.size(); i++) {
+                roundScore.put(playerIds.get(i), new Score(round * 10 - i * 10, i == 0 ? 10 : 0));
+            }
+            scoreBoard.addRoundScore(roundScore);
+        }
+
+        final var biddingPhase = GameState.BiddingPhase.startRound(
+                dealer, rule.getNOfRounds(), rule, dealer, playerIds, scoreBoard, 42L);
+        playerIds.forEach(playerId -> biddingPhase.bid(playerId, 1));
+        final var trickPhase = biddingPhase.startTrick();
+        trickPhase.play(dealer, trickPhase.nextPlayer().getCards().values().iterator().next());
+        return trickPhase;
+    }
+
+    @TearDown
+    public void tearDown() {
+        system.terminate();
+    }
+
+    @Benchmark
+    public byte[] write() {
+        return serializer.toBinary(state);
+    }
+
+    @Benchmark
+    public Object recover() throws Exception {
+        return serializer.fromBinary(bytes, manifest);
+    }
+
+}
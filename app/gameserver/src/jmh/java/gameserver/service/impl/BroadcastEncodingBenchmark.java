@@ -0,0 +1,85 @@
+package gameserver.service.impl;
+
+import gameserver.domain.CardDeckProvider;
+import gameserver.domain.GameEvent;
+import gameserver.domain.PlayerId;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 6 人部屋の 1 トリック分 (全員のカードプレイと勝者の決定) のイベントを全接続へ送るときの,
+ * 接続ごとに変換していた以前の実装と, 部屋で一度だけ変換して共有する現在の実装の比較.
+ * <p>
+ * 実行: ./gradlew :app:gameserver:jmh (gc プロファイラで 1 トリックあたりの割り当て量も出力される)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BroadcastEncodingBenchmark {
+
+    private static final int ROOM_SIZE = 6;
+
+    private GameEventAdapter gameEventAdapter;
+    private GameEventBroadcastEncoder broadcastEncoder;
+    private List<PlayerId> players;
+    private List<GameEvent> trickEvents;
+
+    @Setup
+    public void setUp() {
+        final var cardAdapter = new CardAdapter();
+        final var gameRuleAdapter = new GameRuleAdapter();
+        final var scoreBoardAdapter = new ScoreBoardAdapter();
+        gameEventAdapter = new GameEventAdapter(
+                gameRuleAdapter,
+                cardAdapter,
+                scoreBoardAdapter,
+                new GameStateAdapter(gameRuleAdapter, cardAdapter, scoreBoardAdapter));
+        broadcastEncoder = new GameEventBroadcastEncoder(gameEventAdapter);
+
+        players = IntStream.range(0, ROOM_SIZE)
+                .mapToObj(i -> new PlayerId("player" + i))
+                .collect(Collectors.toList());
+        final var deck = CardDeckProvider.expansionDeck();
+        trickEvents = new ArrayList<>();
+        for (final var player : players) {
+            trickEvents.add(GameEvent.APlayerTrickPlayed.builder()
+                    .playerId(player)
+                    .playedCard(deck.poll())
+                    .build());
+        }
+        trickEvents.add(GameEvent.APlayerWon.builder()
+                .winnerId(players.get(0))
+                .card(deck.poll())
+                .trickBonus(0)
+                .build());
+    }
+
+    @Benchmark
+    public void adaptPerConnection(Blackhole blackhole) {
+        for (final var event : trickEvents) {
+            for (final var player : players) {
+                blackhole.consume(gameEventAdapter.adapt(player, event));
+            }
+        }
+    }
+
+    @Benchmark
+    public void encodeOncePerRoom(Blackhole blackhole) {
+        for (final var event : trickEvents) {
+            final var encoded = broadcastEncoder.encode(event);
+            for (final var player : players) {
+                blackhole.consume(gameEventAdapter.adapt(player, encoded));
+            }
+        }
+    }
+
+}
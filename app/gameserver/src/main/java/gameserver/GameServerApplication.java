@@ -1,18 +1,27 @@
 package gameserver;
 
+import akka.Done;
+import akka.actor.CoordinatedShutdown;
 import akka.actor.typed.ActorSystem;
+import akka.actor.typed.DispatcherSelector;
+import akka.actor.typed.Props;
 import akka.actor.typed.javadsl.Behaviors;
 import akka.http.javadsl.Http;
 import akka.http.javadsl.ServerBinding;
 import akka.management.cluster.bootstrap.ClusterBootstrap;
 import akka.management.javadsl.AkkaManagement;
 import com.typesafe.config.ConfigFactory;
-import dynamodbdao.GameRoomDynamoDBDao;
+import dynamodbdao.GameRoomDynamoDBAsyncDao;
+import dynamodbdao.GameRoomWriteBehindBuffer;
 import gameserver.actor.GameRoomActor;
-import gameserver.service.grpc.GameServerServiceHandlerFactory;
+import gameserver.actor.GameRoomMetrics;
+import gameserver.query.GameRoomProjection;
+import gameserver.service.grpc.GameServerServicePowerApiHandlerFactory;
 import gameserver.service.impl.*;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
 @Slf4j
@@ -38,8 +47,12 @@ public class GameServerApplication {
         //       Frontendのルームリスト表示
         //       GameBoard実装
         //       etc...
-        final var gameRoomDynamoDBDao = createGameRoomDynamoDBDao();
-        GameRoomActor.init(system, gameRoomDynamoDBDao);
+        final var gameRoomDynamoDBDao = createGameRoomDynamoDBAsyncDao();
+        final var gameRoomWriteBehindBuffer = createGameRoomWriteBehindBuffer(system, gameRoomDynamoDBDao);
+        final var gameRoomProjection = system.systemActorOf(
+                GameRoomProjection.create(gameRoomWriteBehindBuffer),
+                "gameRoomProjection",
+                DispatcherSelector.fromConfig(GameRoomProjection.DISPATCHER_PATH));
 
         final var cardAdapter = new CardAdapter();
         final var gameRuleAdapter = new GameRuleAdapter();
@@ -47,8 +60,17 @@ public class GameServerApplication {
         final var gameStateAdapter = new GameStateAdapter(gameRuleAdapter, cardAdapter, scoreBoardAdapter);
         final var gameEventAdapter = new GameEventAdapter(gameRuleAdapter, cardAdapter, scoreBoardAdapter, gameStateAdapter);
         final var gameCommandAdapter = new GameCommandAdapter(cardAdapter);
+        final var gameRoomMetrics = new GameRoomMetrics();
+        system.systemActorOf(gameRoomMetrics.deadLetterListener(), "gameRoomDeadLetters", Props.empty());
+        GameRoomActor.init(system, gameRoomProjection, new GameEventBroadcastEncoder(gameEventAdapter), gameRoomMetrics);
+        system.scheduler().scheduleAtFixedRate(
+                Duration.ofMinutes(1),
+                Duration.ofMinutes(1),
+                () -> log.info("Game rooms: {}", gameRoomMetrics.getStats()),
+                system.executionContext());
+
         final var service =
-                GameServerServiceHandlerFactory.create(
+                GameServerServicePowerApiHandlerFactory.create(
                         new GameRoomServiceImpl(system, gameCommandAdapter, gameRuleAdapter, gameEventAdapter),
                         system);
 
@@ -62,14 +84,31 @@ public class GameServerApplication {
         );
     }
 
-    private static GameRoomDynamoDBDao createGameRoomDynamoDBDao() {
+    private static GameRoomDynamoDBAsyncDao createGameRoomDynamoDBAsyncDao() {
         final var dynamodbConfig = ConfigFactory.load().getConfig("dynamodb.gameroom");
         final var tableName = dynamodbConfig.getString("table-name");
         final var endpoint = dynamodbConfig.getString("endpoint");
         final var accessKeyId = dynamodbConfig.getString("access-key-id");
         final var accessKeySecret = dynamodbConfig.getString("access-key-secret");
 
-        return new GameRoomDynamoDBDao(endpoint, accessKeyId, accessKeySecret, tableName);
+        return new GameRoomDynamoDBAsyncDao(endpoint, accessKeyId, accessKeySecret, tableName);
+    }
+
+    private static GameRoomWriteBehindBuffer createGameRoomWriteBehindBuffer(
+            ActorSystem<Void> system, GameRoomDynamoDBAsyncDao gameRoomDynamoDBDao
+    ) {
+        final var window = ConfigFactory.load().getDuration("dynamodb.gameroom.write-behind-window");
+        final var buffer = new GameRoomWriteBehindBuffer(gameRoomDynamoDBDao, window);
+
+        CoordinatedShutdown.get(system).addTask(
+                CoordinatedShutdown.PhaseBeforeActorSystemTerminate(),
+                "flush-game-room-writes",
+                () -> CompletableFuture.supplyAsync(() -> {
+                    buffer.close();
+                    return Done.getInstance();
+                }));
+
+        return buffer;
     }
 
 }
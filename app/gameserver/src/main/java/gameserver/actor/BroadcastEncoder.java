@@ -0,0 +1,21 @@
+package gameserver.actor;
+
+import gameserver.domain.GameEvent;
+
+/**
+ * 部屋の全接続へ送るイベントを, 送る前に一度だけエンコードする.
+ * <p>
+ * 誰が受け取っても内容が同じイベントは, エンコード済みのものを全接続で共有する.
+ * 受け取るプレイヤーによって内容が変わるイベントは, そのまま返して接続ごとに変換させる.
+ */
+@FunctionalInterface
+public interface BroadcastEncoder {
+
+    /**
+     * エンコードせずにそのまま送る. 接続側で従来通りドメインイベントを扱う場合 (テストなど) に使う.
+     */
+    BroadcastEncoder IDENTITY = gameEvent -> gameEvent;
+
+    GameEvent encode(GameEvent gameEvent);
+
+}
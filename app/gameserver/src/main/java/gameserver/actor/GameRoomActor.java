@@ -3,22 +3,25 @@ package gameserver.actor;
 import akka.actor.typed.ActorRef;
 import akka.actor.typed.ActorSystem;
 import akka.actor.typed.Behavior;
+import akka.actor.typed.PostStop;
 import akka.actor.typed.SupervisorStrategy;
 import akka.actor.typed.javadsl.ActorContext;
 import akka.actor.typed.javadsl.Behaviors;
+import akka.actor.typed.javadsl.TimerScheduler;
 import akka.cluster.sharding.typed.javadsl.ClusterSharding;
 import akka.cluster.sharding.typed.javadsl.Entity;
 import akka.cluster.sharding.typed.javadsl.EntityTypeKey;
 import akka.japi.function.Procedure;
 import akka.persistence.typed.*;
 import akka.persistence.typed.javadsl.*;
-import dynamodbdao.GameRoomDynamoDBDao;
 import gameserver.domain.*;
+import gameserver.query.GameRoomProjection;
 import gameserver.query.GameRoomQueryAdapter;
 
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -26,17 +29,32 @@ public class GameRoomActor
         extends EventSourcedBehavior<GameCommand, GameEvent, GameState> {
 
     private final Map<PlayerId, ActorRef<GameEvent>> activeConnections = new HashMap<>();
+    // イベントハンドラが積んだクライアント向けのイベント. 状態には含めず, コマンドの thenRun で一度だけ送り出す
+    private final List<GameEvent> outbox = new ArrayList<>();
 
     public static final EntityTypeKey<GameCommand> ENTITY_TYPE_KEY =
             EntityTypeKey.create(GameCommand.class, "GameRoomActorCommand");
+    static final int SNAPSHOT_EVERY_N_EVENTS = 50;
+    private static final String IDLE_TIMER_KEY = "idle";
 
     private final ActorContext<GameCommand> context;
-    private final GameRoomDynamoDBDao gameRoomDynamoDBDao;
+    private final TimerScheduler<GameCommand> timers;
+    private final ActorRef<GameRoomProjection.Command> projection;
+    private final BroadcastEncoder broadcastEncoder;
+    // シャーディング外 (テスト等) で起動した場合は null. その場合はパッシベートの代わりに停止する
+    private final ActorRef<ClusterSharding.ShardCommand> shard;
+    private final GameRoomMetrics metrics;
+    private final IdleTimeouts idleTimeouts;
     private final String gameRoomId;
 
     private GameRoomActor(
-            ActorContext<GameCommand> context, String gameRoomId,
-            GameRoomDynamoDBDao gameRoomDynamoDBDao
+            ActorContext<GameCommand> context,
+            TimerScheduler<GameCommand> timers,
+            String gameRoomId,
+            ActorRef<GameRoomProjection.Command> projection,
+            BroadcastEncoder broadcastEncoder,
+            ActorRef<ClusterSharding.ShardCommand> shard,
+            GameRoomMetrics metrics
     ) {
         super(
                 PersistenceId.of(ENTITY_TYPE_KEY.name(), gameRoomId),
@@ -44,26 +62,45 @@ public class GameRoomActor
                         .restartWithBackoff(Duration.ofMillis(200), Duration.ofSeconds(5), 0.1));
         this.gameRoomId = gameRoomId;
         this.context = context;
-        this.gameRoomDynamoDBDao = gameRoomDynamoDBDao;
-    }
-
-    public static void init(ActorSystem<?> system, GameRoomDynamoDBDao dao) {
+        this.timers = timers;
+        this.projection = projection;
+        this.broadcastEncoder = broadcastEncoder;
+        this.shard = shard;
+        this.metrics = metrics;
+        this.idleTimeouts = IdleTimeouts.fromConfig(context.getSystem().settings().config());
+    }
+
+    public static void init(
+            ActorSystem<?> system,
+            ActorRef<GameRoomProjection.Command> projection,
+            BroadcastEncoder broadcastEncoder,
+            GameRoomMetrics metrics
+    ) {
         ClusterSharding.get(system)
                 .init(Entity.of(
                         ENTITY_TYPE_KEY,
-                        entityContext -> GameRoomActor.create(entityContext.getEntityId(), dao)));
+                        entityContext -> GameRoomActor.create(
+                                entityContext.getEntityId(), projection, broadcastEncoder,
+                                entityContext.getShard(), metrics))
+                        .withStopMessage(GameCommand.Passivate.builder().build()));
     }
 
     @Override
     public SignalHandler<GameState> signalHandler() {
         return newSignalHandlerBuilder()
                 .onSignal(RecoveryCompleted.class, (state, sig) -> {
-                    if (state == null) {
+                    // リプレイ中に積まれたイベントは送らない
+                    outbox.clear();
+                    if (state == null || state instanceof GameState.Cleared) {
                         return;
                     }
 
-                    final var gameRoom = GameRoomQueryAdapter.adapt(gameRoomId, state);
-                    gameRoomDynamoDBDao.updateRoom(gameRoom);
+                    projectUpdated(state);
+                    startIdleTimerIfUnused(state);
+                })
+                .onSignal(PostStop.class, (state, sig) -> {
+                    metrics.roomStopped();
+                    projection.tell(new GameRoomProjection.RoomStopped(gameRoomId, context.getSelf()));
                 })
                 .onSignal(SnapshotCompleted.class, (state, sig) -> {
                     context.getLog().info("Snapshot Completed: {}", state);
@@ -80,12 +117,54 @@ public class GameRoomActor
                 .build();
     }
 
-    public static Behavior<GameCommand> create(String gameRoomId, GameRoomDynamoDBDao dao) {
-        return Behaviors.setup(ctx -> EventSourcedBehavior
-                .start(
-                        Behaviors.supervise(new GameRoomActor(ctx, gameRoomId, dao))
-                                .onFailure(SupervisorStrategy.restart()),
-                        ctx));
+    public static Behavior<GameCommand> create(String gameRoomId, ActorRef<GameRoomProjection.Command> projection) {
+        return create(gameRoomId, projection, BroadcastEncoder.IDENTITY);
+    }
+
+    public static Behavior<GameCommand> create(
+            String gameRoomId,
+            ActorRef<GameRoomProjection.Command> projection,
+            BroadcastEncoder broadcastEncoder
+    ) {
+        return create(gameRoomId, projection, broadcastEncoder, null, new GameRoomMetrics());
+    }
+
+    public static Behavior<GameCommand> create(
+            String gameRoomId,
+            ActorRef<GameRoomProjection.Command> projection,
+            BroadcastEncoder broadcastEncoder,
+            ActorRef<ClusterSharding.ShardCommand> shard,
+            GameRoomMetrics metrics
+    ) {
+        return Behaviors.setup(ctx -> Behaviors.withTimers(timers -> {
+            metrics.roomStarted();
+            projection.tell(new GameRoomProjection.RoomStarted(gameRoomId, ctx.getSelf()));
+            return EventSourcedBehavior
+                    .start(
+                            Behaviors.supervise(new GameRoomActor(
+                                    ctx, timers, gameRoomId, projection, broadcastEncoder, shard, metrics))
+                                    .onFailure(SupervisorStrategy.restart()),
+                            ctx);
+        }));
+    }
+
+    private void projectCreated(GameState state) {
+        projection.tell(new GameRoomProjection.RoomCreated(
+                gameRoomId, lastSequenceNumber(context), GameRoomQueryAdapter.adapt(gameRoomId, state)));
+    }
+
+    private void projectUpdated(GameState state) {
+        projection.tell(new GameRoomProjection.RoomUpdated(
+                gameRoomId, lastSequenceNumber(context), GameRoomQueryAdapter.adapt(gameRoomId, state)));
+    }
+
+    private void projectReprojected(GameState state) {
+        projection.tell(new GameRoomProjection.RoomReprojected(
+                gameRoomId, lastSequenceNumber(context), GameRoomQueryAdapter.adapt(gameRoomId, state)));
+    }
+
+    private void projectDeleted() {
+        projection.tell(new GameRoomProjection.RoomDeleted(gameRoomId, lastSequenceNumber(context)));
     }
 
     private void narrowcast(PlayerId playerId, GameEvent gameEvent) {
@@ -95,8 +174,30 @@ public class GameRoomActor
         }
     }
 
+    private void flushOutbox() {
+        outbox.forEach(this::broadcast);
+        outbox.clear();
+    }
+
     private void broadcast(GameEvent gameEvent) {
-        activeConnections.values().forEach(actorRef -> actorRef.tell(gameEvent));
+        if (activeConnections.isEmpty()) {
+            return;
+        }
+        // 全員に同じ内容のイベントは, 接続ごとではなく部屋で一度だけエンコードする
+        final var encoded = encode(gameEvent);
+        activeConnections.values().forEach(actorRef -> actorRef.tell(encoded));
+    }
+
+    /**
+     * エンコードに失敗しても部屋は止めず, そのまま送って接続ごとに変換させる.
+     */
+    private GameEvent encode(GameEvent gameEvent) {
+        try {
+            return broadcastEncoder.encode(gameEvent);
+        } catch (RuntimeException e) {
+            context.getLog().warn("Failed to encode a broadcast event, sending it as is: {}", gameEvent, e);
+            return gameEvent;
+        }
     }
 
     @Override
@@ -116,8 +217,12 @@ public class GameRoomActor
         builder.forAnyState()
                 .onCommand(GameCommand.NewConnection.class, this::onNewConnection)
                 .onCommand(GameCommand.CloseConnection.class, this::onCloseConnection)
+                .onCommand(GameCommand.ConnectionTerminated.class, this::onConnectionTerminated)
                 .onCommand(GameCommand.SnapshotRequest.class, this::onSnapshotRequest)
-                .onCommand(GameCommand.Store.class, store -> Effect().persist(GameEvent.Stored.builder().state(store.getState()).build()));
+                .onCommand(GameCommand.Reproject.class, this::onReproject)
+                .onCommand(GameCommand.Store.class, store -> Effect().persist(GameEvent.Stored.builder().state(store.getState()).build()))
+                .onCommand(GameCommand.IdleTimeout.class, this::onIdleTimeout)
+                .onCommand(GameCommand.Passivate.class, passivate -> Effect().stop());
 
         builder.forStateType(GameState.StartPhase.class)
                 .onCommand(GameCommand.Join.class, this::onJoin)
@@ -154,12 +259,13 @@ public class GameRoomActor
                 .gameRoomId(gameRoomId)
                 .gameRule(init.getGameRule())
                 .firstDealerId(init.getFirstDealerId())
+                .createdAt(System.currentTimeMillis())
                 .build();
         return Effect()
                 .persist(initialized)
                 .thenRun(newState -> {
-                    final var gameRoom = GameRoomQueryAdapter.adapt(gameRoomId, newState);
-                    gameRoomDynamoDBDao.putNewRoom(gameRoom);
+                    projectCreated(newState);
+                    startIdleTimerIfUnused(newState);
                 })
                 .thenReply(init.getResponse(), notUsed -> initialized);
     }
@@ -174,15 +280,22 @@ public class GameRoomActor
 
     private Effect<GameEvent, GameState> onCloseConnection(GameState state, GameCommand.CloseConnection connection) {
         return Effect().none()
-                .thenRun(() -> {
+                .thenRun(newState -> {
                     removeConnection(connection.getPlayerId(), connection.getPlayerRef());
+                    startIdleTimerIfUnused(newState);
                 });
     }
 
     private void addConnection(PlayerId playerId, ActorRef<GameEvent> ref) {
         final var currentRef = activeConnections.get(playerId);
         if (!ref.equals(currentRef)) {
+            if (currentRef != null) {
+                context.unwatch(currentRef);
+            }
             activeConnections.put(playerId, ref);
+            // CloseConnection 無しに切れた接続 (gRPC のストリームの切断等) を外すため
+            context.watchWith(ref, GameCommand.ConnectionTerminated.builder().playerId(playerId).playerRef(ref).build());
+            timers.cancel(IDLE_TIMER_KEY);
             ref.tell(GameEvent.ConnectionEstablished.builder().playerId(playerId).build());
         }
     }
@@ -191,10 +304,53 @@ public class GameRoomActor
         final var currentRef = activeConnections.get(playerId);
         if (ref.equals(currentRef)) {
             activeConnections.remove(playerId, currentRef);
+            context.unwatch(currentRef);
             currentRef.tell(GameEvent.ConnectionClosed.builder().playerId(playerId).build());
         }
     }
 
+    private Effect<GameEvent, GameState> onConnectionTerminated(GameState state, GameCommand.ConnectionTerminated terminated) {
+        return Effect().none()
+                .thenRun(newState -> {
+                    if (!activeConnections.remove(terminated.getPlayerId(), terminated.getPlayerRef())) {
+                        return;
+                    }
+                    metrics.connectionLost();
+                    broadcast(GameEvent.ConnectionLost.builder().playerId(terminated.getPlayerId()).build());
+                    startIdleTimerIfUnused(newState);
+                });
+    }
+
+    /**
+     * 接続が無くなった部屋は, 状態に応じた時間 ({@link IdleTimeouts}) が経ったらパッシベートする.
+     */
+    private void startIdleTimerIfUnused(GameState state) {
+        if (!activeConnections.isEmpty() || state == null || state instanceof GameState.Cleared) {
+            return;
+        }
+        timers.startSingleTimer(IDLE_TIMER_KEY, GameCommand.IdleTimeout.builder().build(), idleTimeouts.of(state));
+    }
+
+    /**
+     * スナップショットを取ってからパッシベートする. 次に起動したときはリプレイ無しで復元できる.
+     */
+    private Effect<GameEvent, GameState> onIdleTimeout(GameState state, GameCommand.IdleTimeout idleTimeout) {
+        if (!activeConnections.isEmpty()) {
+            return Effect().none();
+        }
+
+        final var passivated = Effect()
+                .persist(GameEvent.RoomPassivated.builder().build())
+                .thenRun(() -> {
+                    context.getLog().info("Passivating idle game room: {}", gameRoomId);
+                    metrics.roomPassivated();
+                });
+        if (shard == null) {
+            return passivated.thenStop();
+        }
+        return passivated.thenRun(() -> shard.tell(new ClusterSharding.Passivate<>(context.getSelf())));
+    }
+
     private Effect<GameEvent, GameState> onSnapshotRequest(GameState state, GameCommand.SnapshotRequest snapshotRequest) {
         return Effect().none()
                 .thenRun((newState) -> narrowcast(
@@ -202,6 +358,13 @@ public class GameRoomActor
                         GameEvent.GameSnapshot.builder().gameRoomId(gameRoomId).gameState(newState).build()));
     }
 
+    private Effect<GameEvent, GameState> onReproject(GameState state, GameCommand.Reproject reproject) {
+        if (state == null || state instanceof GameState.Cleared) {
+            return Effect().none();
+        }
+        return Effect().none().thenRun(this::projectReprojected);
+    }
+
     private Effect<GameEvent, GameState> whenInvalidInput(InputCheckResult.InvalidInput invalidInput, PlayerId sender) {
         final var activeConnection = activeConnections.get(sender);
         if (activeConnection == null) {
@@ -231,9 +394,7 @@ public class GameRoomActor
                     .persist(joined)
                     .thenRun(newState -> {
                         addConnection(join.getPlayerId(), join.getPlayerRef());
-
-                        final var gameRoom = GameRoomQueryAdapter.adapt(gameRoomId, newState);
-                        gameRoomDynamoDBDao.updateRoom(gameRoom);
+                        projectUpdated(newState);
 
                         narrowcast(joined.getPlayerId(), GameEvent.GameSnapshot.builder().gameRoomId(gameRoomId).gameState(newState).build());
                         broadcast(joined);
@@ -254,9 +415,19 @@ public class GameRoomActor
                     .playerId(leave.getPlayerId())
                     .build();
 
+            if (state.getPlayerIds().size() <= 1) {
+                return Effect()
+                        .persist(GameEvent.GameEnded.builder().build())
+                        .thenRun(() -> {
+                            projectDeleted();
+                            broadcast(left);
+                            removeConnection(leave.getPlayerId(), leave.getPlayerRef());
+                        })
+                        .thenStop();
+            }
+
             final Procedure<GameState> effect = leftState -> {
-                final var gameRoom = GameRoomQueryAdapter.adapt(gameRoomId, leftState);
-                gameRoomDynamoDBDao.updateRoom(gameRoom);
+                projectUpdated(leftState);
 
                 final var newDealerId = ((GameState.StartPhase) leftState).getDealerId();
                 if (newDealerId.equals(oldDealerId)) {
@@ -270,15 +441,9 @@ public class GameRoomActor
                 }
 
                 removeConnection(leave.getPlayerId(), leave.getPlayerRef());
+                startIdleTimerIfUnused(leftState);
             };
 
-            if (state.getPlayerIds().size() <= 1) {
-                return Effect()
-                        .persist(GameEvent.GameEnded.builder().build())
-                        .thenRun(effect)
-                        .thenStop();
-            }
-
             return Effect()
                     .persist(left)
                     .thenRun(effect);
@@ -304,16 +469,16 @@ public class GameRoomActor
         if (canStartBidResult.equals(InputCheckResult.ApplyableInput.INSTANCE)) {
             final var gameStarted = GameEvent.GameStarted.builder()
                     .playerIds(state.getPlayerIds())
+                    .seed(Deck.newSeed())
                     .build();
 
             return Effect()
                     .persist(gameStarted)
                     .thenRun(newState -> {
-                        final var gameRoom = GameRoomQueryAdapter.adapt(gameRoomId, newState);
-                        gameRoomDynamoDBDao.updateRoom(gameRoom);
+                        projectUpdated(newState);
 
                         broadcast(gameStarted);
-                        newState.getEventQueue().forEach(this::broadcast);
+                        flushOutbox();
                     });
         } else if (canStartBidResult instanceof InputCheckResult.InvalidInput) {
             return whenInvalidInput((InputCheckResult.InvalidInput) canStartBidResult, start.getPlayerId());
@@ -334,7 +499,7 @@ public class GameRoomActor
                     .persist(bidDeclared)
                     .thenRun(newState -> {
                         broadcast(bidDeclared);
-                        newState.getEventQueue().forEach(this::broadcast);
+                        flushOutbox();
                     });
         } else if (canBid instanceof InputCheckResult.InvalidInput) {
             return whenInvalidInput((InputCheckResult.InvalidInput) canBid, bidDeclare.getPlayerId());
@@ -355,11 +520,10 @@ public class GameRoomActor
                     .persist(played)
                     .thenRun(newState -> {
                         if (newState.getStateName() == GameStateType.GAME_FINISHED) {
-                            final var gameRoom = GameRoomQueryAdapter.adapt(gameRoomId, newState);
-                            gameRoomDynamoDBDao.updateRoom(gameRoom);
+                            projectUpdated(newState);
                         }
 
-                        newState.getEventQueue().forEach(this::broadcast);
+                        flushOutbox();
                     });
         } else if (canPlayCard instanceof InputCheckResult.InvalidInput) {
             return whenInvalidInput((InputCheckResult.InvalidInput) canPlayCard, playCard.getPlayerId());
@@ -382,7 +546,7 @@ public class GameRoomActor
                     .persist(nextTrickLeadPlayerChanged)
                     .thenRun(newState -> {
                         broadcast(nextTrickLeadPlayerChanged);
-                        newState.getEventQueue().forEach(this::broadcast);
+                        flushOutbox();
                     });
         } else if (canNextTrickLeadPlayerChange instanceof InputCheckResult.InvalidInput) {
             whenInvalidInput((InputCheckResult.InvalidInput) canNextTrickLeadPlayerChange, nextTrickLeadPlayerChange.getPlayerId());
@@ -403,7 +567,7 @@ public class GameRoomActor
                     .persist(playerHandChanged)
                     .thenRun(newState -> {
                         broadcast(playerHandChanged);
-                        newState.getEventQueue().forEach(this::broadcast);
+                        flushOutbox();
                     });
         } else if (canPlayerHandChange instanceof InputCheckResult.InvalidInput) {
             return whenInvalidInput((InputCheckResult.InvalidInput) canPlayerHandChange, playerHandChange.getPlayerId());
@@ -422,7 +586,7 @@ public class GameRoomActor
                     .persist(futurePredicated)
                     .thenRun(newState -> {
                         broadcast(futurePredicated);
-                        newState.getEventQueue().forEach(this::broadcast);
+                        flushOutbox();
                     });
         } else {
             final var exception = InputCheckResult.InvalidInput.builder()
@@ -445,7 +609,7 @@ public class GameRoomActor
                     .persist(bidDeclareChanged)
                     .thenRun(newState -> {
                         broadcast(bidDeclareChanged);
-                        newState.getEventQueue().forEach(this::broadcast);
+                        flushOutbox();
                     });
         } else if (canBidDeclareChange instanceof InputCheckResult.InvalidInput) {
             return whenInvalidInput((InputCheckResult.InvalidInput) canBidDeclareChange, bidDeclareChange.getPlayerId());
@@ -457,13 +621,14 @@ public class GameRoomActor
     private Effect<GameEvent, GameState> onReplayGame(GameState.FinishedPhase state, GameCommand.ReplayGame replayGame) {
         final var gameReplayed = GameEvent.GameReplayed.builder()
                 .gameWinnerId(state.getGameWinnerId())
+                .seed(Deck.newSeed())
                 .build();
 
         return Effect()
                 .persist(gameReplayed)
                 .thenRun(biddingPhase -> {
                     broadcast(gameReplayed);
-                    biddingPhase.getEventQueue().forEach(this::broadcast);
+                    flushOutbox();
                 });
     }
 
@@ -472,7 +637,7 @@ public class GameRoomActor
         return Effect()
                 .persist(gameEnded)
                 .thenRun(() -> {
-                    gameRoomDynamoDBDao.deleteRoom(gameRoomId);
+                    projectDeleted();
 
                     broadcast(gameEnded);
                 })
@@ -487,16 +652,19 @@ public class GameRoomActor
                 .onEvent(GameEvent.Initialized.class, initialized ->
                         GameState.StartPhase.empty(
                                 initialized.getGameRule(),
-                                initialized.getFirstDealerId()));
+                                initialized.getFirstDealerId(),
+                                initialized.getCreatedAt()));
         builder.forStateType(GameState.Cleared.class)
                 .onEvent(GameEvent.Initialized.class, initialized ->
                         GameState.StartPhase.empty(
                                 initialized.getGameRule(),
-                                initialized.getFirstDealerId()));
+                                initialized.getFirstDealerId(),
+                                initialized.getCreatedAt()));
 
         builder.forAnyState()
                 .onEvent(GameEvent.GameEnded.class, (s, e) -> GameState.Cleared.INSTANCE)
-                .onEvent(GameEvent.Stored.class, GameEvent.Stored::getState);
+                .onEvent(GameEvent.Stored.class, GameEvent.Stored::getState)
+                .onEvent(GameEvent.RoomPassivated.class, (state, passivated) -> state);
 
         builder.forStateType(GameState.StartPhase.class)
                 .onEvent(GameEvent.APlayerJoined.class, this::applyAPlayerJoined)
@@ -540,9 +708,9 @@ public class GameRoomActor
     }
 
     private GameState applyGameStarted(GameState.StartPhase state, GameEvent.GameStarted gameStarted) {
-        final var biddingPhase = state.startBidding();
-        biddingPhase.addGameEvent(extractRoundStartedEvent(biddingPhase));
-        biddingPhase.addGameEvent(GameEvent.BiddingStarted.builder()
+        final var biddingPhase = state.startBidding(gameStarted.getSeed());
+        outbox.add(extractRoundStartedEvent(biddingPhase));
+        outbox.add(GameEvent.BiddingStarted.builder()
                 .round(1)
                 .dealerId(state.getDealerId())
                 .build());
@@ -554,7 +722,7 @@ public class GameRoomActor
 
         if (state.canStartTrick()) {
             final var trickPhase = state.startTrick();
-            trickPhase.addGameEvent(GameEvent.TrickStarted.builder()
+            outbox.add(GameEvent.TrickStarted.builder()
                     .deck(trickPhase.getDeck().size())
                     .trick(trickPhase.getTrick())
                     .players(trickPhase.getPlayerIds().stream().map(trickPhase::getPlayerOf).collect(Collectors.toList()))
@@ -568,15 +736,14 @@ public class GameRoomActor
     private GameState applyAPlayerTrickPlayed(GameState.TrickPhase state, GameEvent.APlayerTrickPlayed aPlayerTrickPlayed) {
         state.play(aPlayerTrickPlayed.getPlayerId(), aPlayerTrickPlayed.getPlayedCard());
 
-        state.clearEventQueue();
-        state.addGameEvent(aPlayerTrickPlayed);
+        outbox.add(aPlayerTrickPlayed);
 
         if (state.isFinishedTrick()) {
             final var trickResult = state.judge();
 
             if (trickResult instanceof GameState.TrickPhase.APlayerWon) {
                 final var aPlayerWon = (GameState.TrickPhase.APlayerWon) trickResult;
-                state.addGameEvent(GameEvent.APlayerWon.builder()
+                outbox.add(GameEvent.APlayerWon.builder()
                         .winnerId(aPlayerWon.getWinnerId())
                         .trickBonus(aPlayerWon.getTrickBonus())
                         .card(aPlayerWon.getCard())
@@ -588,13 +755,13 @@ public class GameRoomActor
                 }
             } else if (trickResult instanceof GameState.TrickPhase.AllRanAway) {
                 final var allRanAway = (GameState.TrickPhase.AllRanAway) trickResult;
-                state.addGameEvent(GameEvent.AllRanAway.builder()
+                outbox.add(GameEvent.AllRanAway.builder()
                         .winnerId(allRanAway.getWinnerId())
                         .card(allRanAway.getCard())
                         .build());
             } else if (trickResult instanceof GameState.TrickPhase.KrakenAppeared) {
                 final var krakenAppeared = (GameState.TrickPhase.KrakenAppeared) trickResult;
-                state.addGameEvent(GameEvent.KrakenAppeared.builder()
+                outbox.add(GameEvent.KrakenAppeared.builder()
                         .mustHaveWon(krakenAppeared.getWinnerId())
                         .build());
             }
@@ -609,31 +776,28 @@ public class GameRoomActor
         state.prepareNextTrick(trickFinishResult);
         if (state.isRoundFinished()) {
             state.calcRoundScore();
-            state.addGameEvent(GameEvent.RoundFinished.builder()
+            outbox.add(GameEvent.RoundFinished.builder()
                     .roundScore(state.getScoreBoard().getLastRoundScore())
                     .build());
 
             if (state.isGameFinished()) {
-                state.addGameEvent(GameEvent.GameFinished.builder()
+                outbox.add(GameEvent.GameFinished.builder()
                         .gameWinnerId(state.getDealerId())
                         .scoreBoard(state.getScoreBoard())
                         .build());
 
-                final var finishedPhase = state.finish();
-                state.getEventQueue().forEach(finishedPhase::addGameEvent);
-                return finishedPhase;
+                return state.finish();
             }
 
             final var biddingPhase = state.nextBiddingPhase();
-            state.getEventQueue().forEach(biddingPhase::addGameEvent);
-            biddingPhase.addGameEvent(extractRoundStartedEvent(biddingPhase));
-            biddingPhase.addGameEvent(GameEvent.BiddingStarted.builder()
+            outbox.add(extractRoundStartedEvent(biddingPhase));
+            outbox.add(GameEvent.BiddingStarted.builder()
                     .round(biddingPhase.getRound())
                     .dealerId(biddingPhase.getDealerId())
                     .build());
             return biddingPhase;
         } else if (state.isFinishedTrick()) {
-            state.addGameEvent(GameEvent.TrickStarted.builder()
+            outbox.add(GameEvent.TrickStarted.builder()
                     .trick(state.getTrick())
                     .deck(state.getDeck().size())
                     .players(state.getPlayerIds().stream().map(state::getPlayerOf).collect(Collectors.toList()))
@@ -666,7 +830,7 @@ public class GameRoomActor
 
         if (piratesEvent instanceof PiratesEvent.DeclareBidChangeAvailable) {
             final var declareBidChangeAvailable = (PiratesEvent.DeclareBidChangeAvailable) piratesEvent;
-            state.addGameEvent(GameEvent.DeclareBidChangeAvailable.builder()
+            outbox.add(GameEvent.DeclareBidChangeAvailable.builder()
                     .playerId(declareBidChangeAvailable.getPlayerId())
                     .min(declareBidChangeAvailable.getMin())
                     .max(declareBidChangeAvailable.getMax())
@@ -681,7 +845,7 @@ public class GameRoomActor
 
         if (piratesEvent instanceof PiratesEvent.NextTrickLeadPlayerChangeableNotice) {
             final var nextTrickLeadPlayerChangeableNotice = (PiratesEvent.NextTrickLeadPlayerChangeableNotice) piratesEvent;
-            state.addGameEvent(GameEvent.NextTrickLeadPlayerChangeableNotice.builder()
+            outbox.add(GameEvent.NextTrickLeadPlayerChangeableNotice.builder()
                     .playerId(nextTrickLeadPlayerChangeableNotice.getPlayerId())
                     .build());
 
@@ -689,7 +853,7 @@ public class GameRoomActor
                     (PiratesEvent.NextTrickLeadPlayerChangeableNotice) piratesEvent, aPlayerWon);
         } else if (piratesEvent instanceof PiratesEvent.HandChangeAvailableNotice) {
             final var handChangeAvailableNotice = (PiratesEvent.HandChangeAvailableNotice) piratesEvent;
-            state.addGameEvent(GameEvent.HandChangeAvailableNotice.builder()
+            outbox.add(GameEvent.HandChangeAvailableNotice.builder()
                     .playerId(handChangeAvailableNotice.getPlayerId())
                     .drawCards(handChangeAvailableNotice.getDrawCards())
                     .build());
@@ -698,7 +862,7 @@ public class GameRoomActor
                     (PiratesEvent.HandChangeAvailableNotice) piratesEvent, aPlayerWon);
         } else if (piratesEvent instanceof PiratesEvent.FuturePredicateAvailable) {
             final var futurePredicateAvailable = (PiratesEvent.FuturePredicateAvailable) piratesEvent;
-            state.addGameEvent(GameEvent.FuturePredicateAvailable.builder()
+            outbox.add(GameEvent.FuturePredicateAvailable.builder()
                     .playerId(futurePredicateAvailable.getPlayerId())
                     .deckCard(state.getDeck().stream().map(Card::getCardId).collect(Collectors.toList()))
                     .build());
@@ -711,7 +875,6 @@ public class GameRoomActor
     }
 
     private GameState applyNextTrickLeadPlayerChanged(GameState.NextTrickLeadPlayerChanging state, GameEvent.NextTrickLeadPlayerChanged nextTrickLeadPlayerChanged) {
-        state.getTrickPhase().clearEventQueue();
         final var nextState = settleTrick(state.getTrickPhase(), state.getAPlayerWon());
         if (nextState instanceof GameState.TrickPhase) {
             final var trickPhase = (GameState.TrickPhase) nextState;
@@ -722,36 +885,51 @@ public class GameRoomActor
     }
 
     private GameState applyFuturePredicated(GameState.FuturePredicateWaiting state, GameEvent.FuturePredicated futurePredicated) {
-        state.getTrickPhase().clearEventQueue();
         return settleTrick(state.getTrickPhase(), state.getAPlayerWon());
     }
 
     private GameState applyHandChanged(GameState.HandChangeWaiting state, GameEvent.PlayerHandChanged playerHandChanged) {
         state.changeHand(playerHandChanged.getReturnCards());
-        state.getTrickPhase().clearEventQueue();
         return settleTrick(state.getTrickPhase(), state.getAPlayerWon());
     }
 
     private GameState applyBidDeclareChanged(GameState.BidDeclareChangeWaiting state, GameEvent.BidDeclareChanged bidDeclareChanged) {
         state.changeBid(bidDeclareChanged.getChangedPlayerId(), bidDeclareChanged.getChangedBid());
-        state.getTrickPhase().clearEventQueue();
         return settleTrick(state.getTrickPhase(), state.getAPlayerWon());
     }
 
     private GameState applyGameReplayed(GameState.FinishedPhase state, GameEvent.GameReplayed gameReplayed) {
-        final var biddingPhase = state.replayGame();
-        biddingPhase.addGameEvent(extractRoundStartedEvent(biddingPhase));
-        biddingPhase.addGameEvent(GameEvent.BiddingStarted.builder()
+        final var biddingPhase = state.replayGame(gameReplayed.getSeed());
+        outbox.add(extractRoundStartedEvent(biddingPhase));
+        outbox.add(GameEvent.BiddingStarted.builder()
                 .round(biddingPhase.getRound())
                 .dealerId(biddingPhase.getDealerId())
                 .build());
         return biddingPhase;
     }
 
+    /**
+     * ラウンドの境目 (ラウンド開始時と, ゲーム終了時) でスナップショットを取る.
+     * 復元時のリプレイは, 最後のラウンド開始からのビッドとカードプレイだけになる.
+     */
+    @Override
+    public boolean shouldSnapshot(GameState state, GameEvent event, long sequenceNr) {
+        return isRoundBoundary(state, event) || event instanceof GameEvent.RoomPassivated;
+    }
+
+    static boolean isRoundBoundary(GameState state, GameEvent event) {
+        // ビッド中の APlayerBidDeclared 以外で BiddingPhase, FinishedPhase になるのは, 前のフェーズから遷移したとき
+        return (state instanceof GameState.BiddingPhase || state instanceof GameState.FinishedPhase)
+                && !(event instanceof GameEvent.APlayerBidDeclared);
+    }
+
+    /**
+     * 1 ラウンドのイベントが多い場合 (6 人, 終盤のラウンド) でも, リプレイするイベント数を抑えるためのフォールバック.
+     */
     @Override
     public RetentionCriteria retentionCriteria() {
         return RetentionCriteria
-                .snapshotEvery(100, 2)
+                .snapshotEvery(SNAPSHOT_EVERY_N_EVENTS, 2)
                 .withDeleteEventsOnSnapshot();
     }
 
@@ -0,0 +1,99 @@
+package gameserver.actor;
+
+import akka.actor.DeadLetter;
+import akka.actor.typed.Behavior;
+import akka.actor.typed.eventstream.EventStream;
+import akka.actor.typed.javadsl.Behaviors;
+import gameserver.domain.GameEvent;
+import lombok.Value;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ノード上の部屋 (GameRoomActor) の数と, 1 部屋あたりのヒープの目安.
+ * <p>
+ * 1 部屋あたりのヒープは, 使用中のヒープを常駐している部屋の数で割った値で, 部屋以外の使用量も含む.
+ * 部屋の出入りが続くときに増え続けていないかを見るためのもの.
+ * <p>
+ * 切断済みの接続に送ってしまった GameEvent は dead letter として数える ({@link #deadLetterListener()}).
+ */
+public class GameRoomMetrics {
+
+    private final AtomicLong residentRooms = new AtomicLong();
+    private final AtomicLong startedRooms = new AtomicLong();
+    private final AtomicLong passivatedRooms = new AtomicLong();
+    private final AtomicLong lostConnections = new AtomicLong();
+    private final AtomicLong deadLetterEvents = new AtomicLong();
+
+    void roomStarted() {
+        residentRooms.incrementAndGet();
+        startedRooms.incrementAndGet();
+    }
+
+    void roomStopped() {
+        residentRooms.decrementAndGet();
+    }
+
+    void roomPassivated() {
+        passivatedRooms.incrementAndGet();
+    }
+
+    void connectionLost() {
+        lostConnections.incrementAndGet();
+    }
+
+    /**
+     * システムの dead letter のうち, 部屋から接続へ送った GameEvent を数えるアクター.
+     */
+    public Behavior<DeadLetter> deadLetterListener() {
+        return Behaviors.setup(ctx -> {
+            ctx.getSystem().eventStream().tell(new EventStream.Subscribe<>(DeadLetter.class, ctx.getSelf()));
+            return Behaviors.receiveMessage(deadLetter -> {
+                if (deadLetter.message() instanceof GameEvent) {
+                    deadLetterEvents.incrementAndGet();
+                }
+                return Behaviors.same();
+            });
+        });
+    }
+
+    public Stats getStats() {
+        final var runtime = Runtime.getRuntime();
+        final var usedHeapBytes = runtime.totalMemory() - runtime.freeMemory();
+        final var resident = residentRooms.get();
+        return new Stats(
+                resident,
+                startedRooms.get(),
+                passivatedRooms.get(),
+                lostConnections.get(),
+                deadLetterEvents.get(),
+                usedHeapBytes,
+                resident == 0 ? 0 : usedHeapBytes / resident);
+    }
+
+    @Value
+    public static class Stats {
+        long residentRooms;
+        long startedRooms;
+        long passivatedRooms;
+        long lostConnections;
+        long deadLetterEvents;
+        long usedHeapBytes;
+        /**
+         * 使用中のヒープ全体を常駐している部屋の数で割った値. 部屋以外の使用量も含む.
+         */
+        long heapBytesPerRoom;
+
+        @Override
+        public String toString() {
+            return "residentRooms=" + residentRooms +
+                    ", startedRooms=" + startedRooms +
+                    ", passivatedRooms=" + passivatedRooms +
+                    ", lostConnections=" + lostConnections +
+                    ", deadLetterEvents=" + deadLetterEvents +
+                    ", usedHeapBytes=" + usedHeapBytes +
+                    ", usedHeapBytesPerResidentRoom(including non-room usage)=" + heapBytesPerRoom;
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+package gameserver.actor;
+
+import com.typesafe.config.Config;
+import gameserver.domain.GameState;
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * 接続の無い部屋をパッシベートするまでの時間. 部屋の状態 (ロビー, ゲーム中, ゲーム終了後) ごとに設定する.
+ */
+@Value
+class IdleTimeouts {
+
+    static final String CONFIG_PATH = "game-room.idle-timeout";
+
+    Duration lobby;
+    Duration playing;
+    Duration finished;
+
+    /**
+     * 設定が無い場合 (テスト等) の値は application.conf と同じ.
+     */
+    static IdleTimeouts fromConfig(Config config) {
+        if (!config.hasPath(CONFIG_PATH)) {
+            return new IdleTimeouts(Duration.ofMinutes(10), Duration.ofMinutes(30), Duration.ofMinutes(5));
+        }
+        final var idleTimeout = config.getConfig(CONFIG_PATH);
+        return new IdleTimeouts(
+                idleTimeout.getDuration("lobby"),
+                idleTimeout.getDuration("playing"),
+                idleTimeout.getDuration("finished"));
+    }
+
+    Duration of(GameState state) {
+        if (state instanceof GameState.StartPhase) {
+            return lobby;
+        } else if (state instanceof GameState.FinishedPhase) {
+            return finished;
+        }
+        return playing;
+    }
+
+}
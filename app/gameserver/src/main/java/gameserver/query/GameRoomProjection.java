@@ -0,0 +1,199 @@
+package gameserver.query;
+
+import akka.actor.typed.ActorRef;
+import akka.actor.typed.Behavior;
+import akka.actor.typed.PreRestart;
+import akka.actor.typed.SupervisorStrategy;
+import akka.actor.typed.javadsl.AbstractBehavior;
+import akka.actor.typed.javadsl.ActorContext;
+import akka.actor.typed.javadsl.Behaviors;
+import akka.actor.typed.javadsl.Receive;
+import dynamodbdao.GameRoomWriteBehindBuffer;
+import dynamodbdao.beans.GameRoom;
+import gameserver.domain.GameCommand;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GameRoomActor から送られる部屋の変化を部屋一覧 (GameRoom テーブル) に書き込む, ノードごとのアクター.
+ * <p>
+ * タグ付きのイベントをジャーナルから読む Akka Projection ではなく, 各部屋が persist の後に tell で送ってくる.
+ * 書き込みはゲームの処理とは別の専用ディスパッチャで受け付け, 作成・更新・削除はすべて {@link GameRoomWriteBehindBuffer} に積む.
+ * 同じ部屋への書き込みは同じバッファの中で最後のものだけが残るため, 作成と削除の順序が入れ替わることはない.
+ * <p>
+ * 各部屋ごとに反映済みの sequenceNr をオフセットとして保持し, それ以下のものは読み飛ばす.
+ * 削除した部屋のオフセットも墓標として残すため, 削除より前の作成・更新が後から届いても部屋は復活しない.
+ * オフセットは最近の {@link #MAX_OFFSETS} 部屋分だけをメモリ上に持ち, 永続化はしない.
+ * <p>
+ * 処理中の例外で再起動しても, オフセットとこのノードで動いている部屋の一覧は残し,
+ * 動いている部屋すべてに状態を送り直させる ({@link GameCommand.Reproject}).
+ * <p>
+ * 制限: オフセットはノードごとのメモリ上にしか無い. ノードが落ちた場合, 一覧はその部屋が別のノードで復元されるまで古いままになる.
+ * また部屋が別のノードへ移った直後は, 移動前のノードのバッファに残っていた書き込みが,
+ * 移動先のノードの書き込みより後に反映されることがある (バッファのウィンドウ 1 回分). この場合も次の更新で正しくなる.
+ */
+public class GameRoomProjection extends AbstractBehavior<GameRoomProjection.Command> {
+
+    public static final String DISPATCHER_PATH = "game-room-projection.dispatcher";
+    static final int MAX_OFFSETS = 10_000;
+
+    public interface Command {
+        String getGameRoomId();
+    }
+
+    @Value
+    public static class RoomCreated implements Command {
+        @NonNull String gameRoomId;
+        long sequenceNr;
+        @NonNull GameRoom gameRoom;
+    }
+
+    @Value
+    public static class RoomUpdated implements Command {
+        @NonNull String gameRoomId;
+        long sequenceNr;
+        @NonNull GameRoom gameRoom;
+    }
+
+    /**
+     * 再起動後に送り直させた現在の状態. 反映済みのものと同じ sequenceNr でも書き込む.
+     */
+    @Value
+    public static class RoomReprojected implements Command {
+        @NonNull String gameRoomId;
+        long sequenceNr;
+        @NonNull GameRoom gameRoom;
+    }
+
+    @Value
+    public static class RoomDeleted implements Command {
+        @NonNull String gameRoomId;
+        long sequenceNr;
+    }
+
+    /**
+     * 部屋がこのノードで動き始めた. 再起動時に状態を送り直させる宛先として覚えておく.
+     */
+    @Value
+    public static class RoomStarted implements Command {
+        @NonNull String gameRoomId;
+        @NonNull ActorRef<GameCommand> room;
+    }
+
+    @Value
+    public static class RoomStopped implements Command {
+        @NonNull String gameRoomId;
+        @NonNull ActorRef<GameCommand> room;
+    }
+
+    private final GameRoomWriteBehindBuffer writeBehindBuffer;
+    private final Map<String, Long> offsets;
+    private final Map<String, ActorRef<GameCommand>> liveRooms;
+
+    private GameRoomProjection(
+            ActorContext<Command> context,
+            GameRoomWriteBehindBuffer writeBehindBuffer,
+            Map<String, Long> offsets,
+            Map<String, ActorRef<GameCommand>> liveRooms
+    ) {
+        super(context);
+        this.writeBehindBuffer = writeBehindBuffer;
+        this.offsets = offsets;
+        this.liveRooms = liveRooms;
+    }
+
+    public static Behavior<Command> create(GameRoomWriteBehindBuffer writeBehindBuffer) {
+        return Behaviors.setup(ctx -> {
+            // 再起動しても失われないよう, 監視 (supervise) の外側で持つ
+            final Map<String, Long> offsets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                    return size() > MAX_OFFSETS;
+                }
+            };
+            final Map<String, ActorRef<GameCommand>> liveRooms = new HashMap<>();
+            return Behaviors.supervise(
+                    Behaviors.<Command>setup(inner -> new GameRoomProjection(inner, writeBehindBuffer, offsets, liveRooms)))
+                    .onFailure(SupervisorStrategy.restart());
+        });
+    }
+
+    @Override
+    public Receive<Command> createReceive() {
+        return newReceiveBuilder()
+                .onMessage(RoomCreated.class, created -> update(created.getGameRoomId(), created.getSequenceNr(), created.getGameRoom()))
+                .onMessage(RoomUpdated.class, updated -> update(updated.getGameRoomId(), updated.getSequenceNr(), updated.getGameRoom()))
+                .onMessage(RoomReprojected.class, this::onRoomReprojected)
+                .onMessage(RoomDeleted.class, this::onRoomDeleted)
+                .onMessage(RoomStarted.class, this::onRoomStarted)
+                .onMessage(RoomStopped.class, this::onRoomStopped)
+                .onSignal(PreRestart.class, signal -> onPreRestart())
+                .build();
+    }
+
+    private Behavior<Command> update(String gameRoomId, long sequenceNr, GameRoom gameRoom) {
+        if (isProjected(gameRoomId, sequenceNr)) {
+            return this;
+        }
+
+        try {
+            writeBehindBuffer.update(gameRoom);
+            offsets.put(gameRoomId, sequenceNr);
+        } catch (Exception e) {
+            getContext().getLog().error("Failed to project a room update: {}", gameRoomId, e);
+        }
+        return this;
+    }
+
+    private Behavior<Command> onRoomReprojected(RoomReprojected reprojected) {
+        final var offset = offsets.get(reprojected.getGameRoomId());
+        if (offset != null && offset > reprojected.getSequenceNr()) {
+            return this;
+        }
+
+        offsets.remove(reprojected.getGameRoomId());
+        return update(reprojected.getGameRoomId(), reprojected.getSequenceNr(), reprojected.getGameRoom());
+    }
+
+    private Behavior<Command> onRoomDeleted(RoomDeleted roomDeleted) {
+        if (isProjected(roomDeleted.getGameRoomId(), roomDeleted.getSequenceNr())) {
+            return this;
+        }
+
+        try {
+            writeBehindBuffer.delete(roomDeleted.getGameRoomId());
+            // 墓標. これより前の作成・更新は読み飛ばす
+            offsets.put(roomDeleted.getGameRoomId(), roomDeleted.getSequenceNr());
+        } catch (Exception e) {
+            getContext().getLog().error("Failed to project a room deletion: {}", roomDeleted.getGameRoomId(), e);
+        }
+        return this;
+    }
+
+    private Behavior<Command> onRoomStarted(RoomStarted roomStarted) {
+        liveRooms.put(roomStarted.getGameRoomId(), roomStarted.getRoom());
+        return this;
+    }
+
+    private Behavior<Command> onRoomStopped(RoomStopped roomStopped) {
+        liveRooms.remove(roomStopped.getGameRoomId(), roomStopped.getRoom());
+        return this;
+    }
+
+    private Behavior<Command> onPreRestart() {
+        getContext().getLog().warn("Game room projection is restarting, reprojecting {} rooms", liveRooms.size());
+        final var reproject = GameCommand.Reproject.builder().build();
+        liveRooms.values().forEach(room -> room.tell(reproject));
+        return this;
+    }
+
+    private boolean isProjected(String gameRoomId, long sequenceNr) {
+        final var offset = offsets.get(gameRoomId);
+        return offset != null && offset >= sequenceNr;
+    }
+
+}
@@ -4,6 +4,7 @@ import dynamodbdao.beans.GameRoom;
 import gameserver.domain.GameState;
 import gameserver.domain.PlayerId;
 
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 public class GameRoomQueryAdapter {
@@ -20,6 +21,13 @@ public class GameRoomQueryAdapter {
                         .map(PlayerId::getValue)
                         .collect(Collectors.toList()));
         gameRoom.setGameState(gameState.getStateName().name());
+
+        // createdAt は参加受付中の部屋だけに付け, それ以外の部屋は GSI に載せない (スパースインデックス)
+        if (gameState instanceof GameState.StartPhase) {
+            final var startPhase = (GameState.StartPhase) gameState;
+            gameRoom.setCreatedAt(Optional.ofNullable(startPhase.getCreatedAt()).orElse(0L));
+            gameRoom.setVacancy(startPhase.getRule().getRoomSize() - startPhase.getPlayerIds().size());
+        }
         return gameRoom;
     }
 
@@ -0,0 +1,576 @@
+package gameserver.serialization;
+
+import akka.actor.ExtendedActorSystem;
+import akka.actor.typed.ActorRef;
+import akka.actor.typed.ActorRefResolver;
+import akka.actor.typed.javadsl.Adapter;
+import akka.serialization.SerializerWithStringManifest;
+import akka.serialization.jackson.JacksonObjectMapperProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import gameserver.domain.Card;
+import gameserver.domain.CardDeckProvider;
+import gameserver.domain.CardId;
+import gameserver.domain.GameCommand;
+import gameserver.domain.GameEvent;
+import gameserver.domain.GameRule;
+import gameserver.domain.GameState;
+import gameserver.domain.PlayerId;
+import gameserver.persistence.proto.*;
+import gameserver.service.impl.EncodedGameEvent;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * GameEvent と GameCommand の protobuf (GamePersistence.proto) によるシリアライザ.
+ * <p>
+ * マニフェストは型ごとに固定の短い名前で, 一度使った名前は変更しない.
+ * スキーマに無い型 (GameState と, それを含む Stored, GameSnapshot, Store 等) は Jackson CBOR で書く.
+ * この場合のマニフェストは GameState, GameEvent, GameCommand ごとの固定の名前で, 具体的な型はペイロード中の
+ * {@code @JsonSubTypes} の名前で判別するため, クラス名を変えても読める.
+ * 以前の {@value #JACKSON_MANIFEST_PREFIX} + クラス名のマニフェストも読める.
+ * スナップショット (GameState) は設定により {@link SnapshotCompression} で圧縮する.
+ * 別ノードの接続へ送る {@link EncodedGameEvent} は, gRPC のメッセージのバイト列をそのまま書く.
+ */
+public class GameProtobufSerializer extends SerializerWithStringManifest {
+
+    static final String JACKSON_MANIFEST_PREFIX = "j:";
+
+    static final String JACKSON_STATE = "j.state";
+    static final String JACKSON_EVENT = "j.event";
+    static final String JACKSON_COMMAND = "j.command";
+    // Cleared は @JsonSubTypes に無いシングルトンなので, 中身を書かずマニフェストだけで表す
+    static final String CLEARED = "j.state.cleared";
+
+    private static final Map<String, Class<?>> JACKSON_TYPES = Map.of(
+            JACKSON_STATE, GameState.class,
+            JACKSON_EVENT, GameEvent.class,
+            JACKSON_COMMAND, GameCommand.class);
+
+    private static final String INITIALIZED = "e.initialized";
+    private static final String A_PLAYER_JOINED = "e.a_player_joined";
+    private static final String A_PLAYER_LEFT = "e.a_player_left";
+    private static final String GAME_STARTED = "e.game_started";
+    private static final String A_PLAYER_BID_DECLARED = "e.a_player_bid_declared";
+    private static final String A_PLAYER_TRICK_PLAYED = "e.a_player_trick_played";
+    private static final String NEXT_TRICK_LEAD_PLAYER_CHANGED = "e.next_trick_lead_player_changed";
+    private static final String PLAYER_HAND_CHANGED = "e.player_hand_changed";
+    private static final String FUTURE_PREDICATED = "e.future_predicated";
+    private static final String BID_DECLARE_CHANGED = "e.bid_declare_changed";
+    private static final String GAME_REPLAYED = "e.game_replayed";
+    private static final String GAME_ENDED = "e.game_ended";
+    private static final String ROOM_PASSIVATED = "e.room_passivated";
+    private static final String ENCODED = "e.encoded";
+
+    private static final String INIT = "c.init";
+    private static final String PING = "c.ping";
+    private static final String NEW_CONNECTION = "c.new_connection";
+    private static final String CLOSE_CONNECTION = "c.close_connection";
+    private static final String JOIN = "c.join";
+    private static final String LEAVE = "c.leave";
+    private static final String GAME_START = "c.game_start";
+    private static final String BID_DECLARE = "c.bid_declare";
+    private static final String PLAY_CARD = "c.play_card";
+    private static final String NEXT_TRICK_LEAD_PLAYER_CHANGE = "c.next_trick_lead_player_change";
+    private static final String PLAYER_HAND_CHANGE = "c.player_hand_change";
+    private static final String FUTURE_PREDICATE_FINISH = "c.future_predicate_finish";
+    private static final String BID_DECLARE_CHANGE = "c.bid_declare_change";
+    private static final String REPLAY_GAME = "c.replay_game";
+    private static final String END_GAME = "c.end_game";
+    private static final String SNAPSHOT_REQUEST = "c.snapshot_request";
+
+    private final ActorRefResolver actorRefResolver;
+    private final ObjectMapper objectMapper;
+    private final SnapshotCompression snapshotCompression;
+
+    public GameProtobufSerializer(ExtendedActorSystem system) {
+        this.actorRefResolver = ActorRefResolver.get(Adapter.toTyped(system));
+        this.objectMapper = JacksonObjectMapperProvider.get(system)
+                .getOrCreate("jackson-cbor", Optional.of(new CBORFactory()));
+        this.snapshotCompression = SnapshotCompression.fromConfig(system.settings().config());
+    }
+
+    @Override
+    public int identifier() {
+        return 1001;
+    }
+
+    @Override
+    public String manifest(Object o) {
+        if (o instanceof GameEvent.Initialized) return INITIALIZED;
+        if (o instanceof GameEvent.APlayerJoined) return A_PLAYER_JOINED;
+        if (o instanceof GameEvent.APlayerLeft) return A_PLAYER_LEFT;
+        if (o instanceof GameEvent.GameStarted) return GAME_STARTED;
+        if (o instanceof GameEvent.APlayerBidDeclared) return A_PLAYER_BID_DECLARED;
+        if (o instanceof GameEvent.APlayerTrickPlayed) return A_PLAYER_TRICK_PLAYED;
+        if (o instanceof GameEvent.NextTrickLeadPlayerChanged) return NEXT_TRICK_LEAD_PLAYER_CHANGED;
+        if (o instanceof GameEvent.PlayerHandChanged) return PLAYER_HAND_CHANGED;
+        if (o instanceof GameEvent.FuturePredicated) return FUTURE_PREDICATED;
+        if (o instanceof GameEvent.BidDeclareChanged) return BID_DECLARE_CHANGED;
+        if (o instanceof GameEvent.GameReplayed) return GAME_REPLAYED;
+        if (o instanceof GameEvent.GameEnded) return GAME_ENDED;
+        if (o instanceof GameEvent.RoomPassivated) return ROOM_PASSIVATED;
+        if (o instanceof EncodedGameEvent) return ENCODED;
+
+        if (o instanceof GameCommand.Init) return INIT;
+        if (o instanceof GameCommand.Ping) return PING;
+        if (o instanceof GameCommand.NewConnection) return NEW_CONNECTION;
+        if (o instanceof GameCommand.CloseConnection) return CLOSE_CONNECTION;
+        if (o instanceof GameCommand.Join) return JOIN;
+        if (o instanceof GameCommand.Leave) return LEAVE;
+        if (o instanceof GameCommand.GameStart) return GAME_START;
+        if (o instanceof GameCommand.BidDeclare) return BID_DECLARE;
+        if (o instanceof GameCommand.PlayCard) return PLAY_CARD;
+        if (o instanceof GameCommand.NextTrickLeadPlayerChange) return NEXT_TRICK_LEAD_PLAYER_CHANGE;
+        if (o instanceof GameCommand.PlayerHandChange) return PLAYER_HAND_CHANGE;
+        if (o instanceof GameCommand.FuturePredicateFinish) return FUTURE_PREDICATE_FINISH;
+        if (o instanceof GameCommand.BidDeclareChange) return BID_DECLARE_CHANGE;
+        if (o instanceof GameCommand.ReplayGame) return REPLAY_GAME;
+        if (o instanceof GameCommand.EndGame) return END_GAME;
+        if (o instanceof GameCommand.SnapshotRequest) return SNAPSHOT_REQUEST;
+
+        if (o instanceof GameState.Cleared) return CLEARED;
+        if (o instanceof GameState) return JACKSON_STATE;
+        if (o instanceof GameEvent) return JACKSON_EVENT;
+        if (o instanceof GameCommand) return JACKSON_COMMAND;
+
+        throw new IllegalArgumentException("cannot serialize " + o.getClass().getName());
+    }
+
+    @Override
+    public byte[] toBinary(Object o) {
+        if (o instanceof GameEvent.Initialized) {
+            final var e = (GameEvent.Initialized) o;
+            final var builder = Initialized.newBuilder()
+                    .setGameRoomId(e.getGameRoomId())
+                    .setFirstDealerId(e.getFirstDealerId().getValue())
+                    .setGameRule(gameRule(e.getGameRule()));
+            if (e.getCreatedAt() != null) {
+                builder.setCreatedAt(e.getCreatedAt()).setHasCreatedAt(true);
+            }
+            return builder.build().toByteArray();
+        } else if (o instanceof GameEvent.APlayerJoined) {
+            final var e = (GameEvent.APlayerJoined) o;
+            return APlayerJoined.newBuilder().setPlayerId(e.getPlayerId().getValue()).build().toByteArray();
+        } else if (o instanceof GameEvent.APlayerLeft) {
+            final var e = (GameEvent.APlayerLeft) o;
+            return APlayerLeft.newBuilder().setPlayerId(e.getPlayerId().getValue()).build().toByteArray();
+        } else if (o instanceof GameEvent.GameStarted) {
+            final var e = (GameEvent.GameStarted) o;
+            return GameStarted.newBuilder()
+                    .addAllPlayerIds(e.getPlayerIds().stream().map(PlayerId::getValue).collect(Collectors.toList()))
+                    .setSeed(e.getSeed())
+                    .build().toByteArray();
+        } else if (o instanceof GameEvent.APlayerBidDeclared) {
+            final var e = (GameEvent.APlayerBidDeclared) o;
+            return APlayerBidDeclared.newBuilder()
+                    .setPlayerId(e.getPlayerId().getValue())
+                    .setBidDeclared(e.getBidDeclared())
+                    .build().toByteArray();
+        } else if (o instanceof GameEvent.APlayerTrickPlayed) {
+            final var e = (GameEvent.APlayerTrickPlayed) o;
+            return APlayerTrickPlayed.newBuilder()
+                    .setPlayerId(e.getPlayerId().getValue())
+                    .setPlayedCard(card(e.getPlayedCard()))
+                    .build().toByteArray();
+        } else if (o instanceof GameEvent.NextTrickLeadPlayerChanged) {
+            final var e = (GameEvent.NextTrickLeadPlayerChanged) o;
+            return NextTrickLeadPlayerChanged.newBuilder()
+                    .setPlayerId(e.getPlayerId().getValue())
+                    .setNewLeadPlayerId(e.getNewLeadPlayerId().getValue())
+                    .build().toByteArray();
+        } else if (o instanceof GameEvent.PlayerHandChanged) {
+            final var e = (GameEvent.PlayerHandChanged) o;
+            return PlayerHandChanged.newBuilder()
+                    .setPlayerId(e.getPlayerId().getValue())
+                    .addAllReturnCards(cardIds(e.getReturnCards()))
+                    .build().toByteArray();
+        } else if (o instanceof GameEvent.FuturePredicated) {
+            final var e = (GameEvent.FuturePredicated) o;
+            return FuturePredicated.newBuilder()
+                    .setPredicatedPlayerId(e.getPredicatedPlayerId().getValue())
+                    .build().toByteArray();
+        } else if (o instanceof GameEvent.BidDeclareChanged) {
+            final var e = (GameEvent.BidDeclareChanged) o;
+            return BidDeclareChanged.newBuilder()
+                    .setChangedPlayerId(e.getChangedPlayerId().getValue())
+                    .setChangedBid(e.getChangedBid())
+                    .build().toByteArray();
+        } else if (o instanceof GameEvent.GameReplayed) {
+            final var e = (GameEvent.GameReplayed) o;
+            return GameReplayed.newBuilder()
+                    .setGameWinnerId(e.getGameWinnerId().getValue())
+                    .setSeed(e.getSeed())
+                    .build().toByteArray();
+        } else if (o instanceof GameEvent.GameEnded) {
+            return GameEnded.getDefaultInstance().toByteArray();
+        } else if (o instanceof GameEvent.RoomPassivated) {
+            return RoomPassivated.getDefaultInstance().toByteArray();
+        } else if (o instanceof EncodedGameEvent) {
+            return ((EncodedGameEvent) o).getMessage().toByteArray();
+        }
+
+        if (o instanceof GameCommand.Init) {
+            final var c = (GameCommand.Init) o;
+            return InitCommand.newBuilder()
+                    .setFirstDealerId(c.getFirstDealerId().getValue())
+                    .setGameRule(gameRule(c.getGameRule()))
+                    .setResponse(actorRefResolver.toSerializationFormat(c.getResponse()))
+                    .build().toByteArray();
+        } else if (o instanceof GameCommand.Ping) {
+            final var c = (GameCommand.Ping) o;
+            return connection(c.getPlayerId(), c.getPlayerRef());
+        } else if (o instanceof GameCommand.NewConnection) {
+            final var c = (GameCommand.NewConnection) o;
+            return connection(c.getPlayerId(), c.getPlayerRef());
+        } else if (o instanceof GameCommand.CloseConnection) {
+            final var c = (GameCommand.CloseConnection) o;
+            return connection(c.getPlayerId(), c.getPlayerRef());
+        } else if (o instanceof GameCommand.Join) {
+            final var c = (GameCommand.Join) o;
+            return connection(c.getPlayerId(), c.getPlayerRef());
+        } else if (o instanceof GameCommand.Leave) {
+            final var c = (GameCommand.Leave) o;
+            return connection(c.getPlayerId(), c.getPlayerRef());
+        } else if (o instanceof GameCommand.BidDeclare) {
+            final var c = (GameCommand.BidDeclare) o;
+            return BidCommand.newBuilder().setPlayerId(c.getPlayerId().getValue()).setBid(c.getBid()).build().toByteArray();
+        } else if (o instanceof GameCommand.BidDeclareChange) {
+            final var c = (GameCommand.BidDeclareChange) o;
+            return BidCommand.newBuilder().setPlayerId(c.getPlayerId().getValue()).setBid(c.getBid()).build().toByteArray();
+        } else if (o instanceof GameCommand.PlayCard) {
+            final var c = (GameCommand.PlayCard) o;
+            return PlayCardCommand.newBuilder()
+                    .setPlayerId(c.getPlayerId().getValue())
+                    .setCard(card(c.getCard()))
+                    .build().toByteArray();
+        } else if (o instanceof GameCommand.NextTrickLeadPlayerChange) {
+            final var c = (GameCommand.NextTrickLeadPlayerChange) o;
+            return NextTrickLeadPlayerChangeCommand.newBuilder()
+                    .setPlayerId(c.getPlayerId().getValue())
+                    .setNewLeadPlayerId(c.getNewLeadPlayerId().getValue())
+                    .build().toByteArray();
+        } else if (o instanceof GameCommand.PlayerHandChange) {
+            final var c = (GameCommand.PlayerHandChange) o;
+            return PlayerHandChangeCommand.newBuilder()
+                    .setPlayerId(c.getPlayerId().getValue())
+                    .addAllReturnCards(cardIds(c.getReturnCards()))
+                    .build().toByteArray();
+        } else if (o instanceof GameCommand.GameStart
+                || o instanceof GameCommand.FuturePredicateFinish
+                || o instanceof GameCommand.ReplayGame
+                || o instanceof GameCommand.EndGame
+                || o instanceof GameCommand.SnapshotRequest) {
+            return PlayerCommand.newBuilder()
+                    .setPlayerId(((GameCommand) o).callerId().getValue())
+                    .build().toByteArray();
+        }
+
+        if (o instanceof GameState.Cleared) {
+            return new byte[0];
+        }
+
+        try {
+            final var bytes = objectMapper.writerFor(JACKSON_TYPES.get(manifest(o))).writeValueAsBytes(o);
+            return o instanceof GameState ? snapshotCompression.compress(bytes) : bytes;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("failed to serialize " + o.getClass().getName(), e);
+        }
+    }
+
+    @Override
+    public Object fromBinary(byte[] bytes, String manifest) throws NotSerializableException {
+        try {
+            return fromBinaryOrThrow(bytes, manifest);
+        } catch (IOException e) {
+            final var exception = new NotSerializableException("failed to deserialize, manifest=" + manifest);
+            exception.initCause(e);
+            throw exception;
+        }
+    }
+
+    /**
+     * Jackson で書いたマニフェストのクラス. 受け付けるのは GameState, GameEvent, GameCommand の実装だけで,
+     * クラスの初期化 (static イニシャライザ) は型を確かめてから行う.
+     */
+    static Class<?> jacksonClassOf(String manifest) throws NotSerializableException {
+        final var className = manifest.substring(JACKSON_MANIFEST_PREFIX.length());
+        final Class<?> clazz;
+        try {
+            clazz = Class.forName(className, false, GameProtobufSerializer.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new NotSerializableException("unknown class, manifest=" + manifest);
+        }
+        if (!GameState.class.isAssignableFrom(clazz)
+                && !GameEvent.class.isAssignableFrom(clazz)
+                && !GameCommand.class.isAssignableFrom(clazz)) {
+            throw new NotSerializableException("class is not allowed, manifest=" + manifest);
+        }
+        return clazz;
+    }
+
+    private Object fromBinaryOrThrow(byte[] bytes, String manifest) throws IOException {
+        if (manifest.startsWith(JACKSON_MANIFEST_PREFIX)) {
+            return objectMapper.readValue(SnapshotCompression.decompress(bytes), jacksonClassOf(manifest));
+        }
+        if (JACKSON_TYPES.containsKey(manifest)) {
+            return objectMapper.readValue(SnapshotCompression.decompress(bytes), JACKSON_TYPES.get(manifest));
+        }
+
+        switch (manifest) {
+            case CLEARED:
+                return GameState.Cleared.INSTANCE;
+            case INITIALIZED: {
+                final var e = Initialized.parseFrom(bytes);
+                return GameEvent.Initialized.builder()
+                        .gameRoomId(e.getGameRoomId())
+                        .firstDealerId(new PlayerId(e.getFirstDealerId()))
+                        .gameRule(gameRule(e.getGameRule()))
+                        .createdAt(e.getHasCreatedAt() ? e.getCreatedAt() : null)
+                        .build();
+            }
+            case A_PLAYER_JOINED:
+                return GameEvent.APlayerJoined.builder()
+                        .playerId(new PlayerId(APlayerJoined.parseFrom(bytes).getPlayerId()))
+                        .build();
+            case A_PLAYER_LEFT:
+                return GameEvent.APlayerLeft.builder()
+                        .playerId(new PlayerId(APlayerLeft.parseFrom(bytes).getPlayerId()))
+                        .build();
+            case GAME_STARTED: {
+                final var e = GameStarted.parseFrom(bytes);
+                return GameEvent.GameStarted.builder()
+                        .playerIds(e.getPlayerIdsList().stream().map(PlayerId::new).collect(Collectors.toList()))
+                        .seed(e.getSeed())
+                        .build();
+            }
+            case A_PLAYER_BID_DECLARED: {
+                final var e = APlayerBidDeclared.parseFrom(bytes);
+                return GameEvent.APlayerBidDeclared.builder()
+                        .playerId(new PlayerId(e.getPlayerId()))
+                        .bidDeclared(e.getBidDeclared())
+                        .build();
+            }
+            case A_PLAYER_TRICK_PLAYED: {
+                final var e = APlayerTrickPlayed.parseFrom(bytes);
+                return GameEvent.APlayerTrickPlayed.builder()
+                        .playerId(new PlayerId(e.getPlayerId()))
+                        .playedCard(card(e.getPlayedCard()))
+                        .build();
+            }
+            case NEXT_TRICK_LEAD_PLAYER_CHANGED: {
+                final var e = NextTrickLeadPlayerChanged.parseFrom(bytes);
+                return GameEvent.NextTrickLeadPlayerChanged.builder()
+                        .playerId(new PlayerId(e.getPlayerId()))
+                        .newLeadPlayerId(new PlayerId(e.getNewLeadPlayerId()))
+                        .build();
+            }
+            case PLAYER_HAND_CHANGED: {
+                final var e = PlayerHandChanged.parseFrom(bytes);
+                return GameEvent.PlayerHandChanged.builder()
+                        .playerId(new PlayerId(e.getPlayerId()))
+                        .returnCards(cardIds(e.getReturnCardsList()))
+                        .build();
+            }
+            case FUTURE_PREDICATED:
+                return GameEvent.FuturePredicated.builder()
+                        .predicatedPlayerId(new PlayerId(FuturePredicated.parseFrom(bytes).getPredicatedPlayerId()))
+                        .build();
+            case BID_DECLARE_CHANGED: {
+                final var e = BidDeclareChanged.parseFrom(bytes);
+                return GameEvent.BidDeclareChanged.builder()
+                        .changedPlayerId(new PlayerId(e.getChangedPlayerId()))
+                        .changedBid(e.getChangedBid())
+                        .build();
+            }
+            case GAME_REPLAYED: {
+                final var e = GameReplayed.parseFrom(bytes);
+                return GameEvent.GameReplayed.builder()
+                        .gameWinnerId(new PlayerId(e.getGameWinnerId()))
+                        .seed(e.getSeed())
+                        .build();
+            }
+            case GAME_ENDED:
+                return GameEvent.GameEnded.builder().build();
+            case ROOM_PASSIVATED:
+                return GameEvent.RoomPassivated.builder().build();
+            case ENCODED:
+                return new EncodedGameEvent(gameserver.service.grpc.GameEvent.parseFrom(bytes));
+
+            case INIT: {
+                final var c = InitCommand.parseFrom(bytes);
+                return GameCommand.Init.builder()
+                        .firstDealerId(new PlayerId(c.getFirstDealerId()))
+                        .gameRule(gameRule(c.getGameRule()))
+                        .response(actorRefResolver.resolveActorRef(c.getResponse()))
+                        .build();
+            }
+            case PING: {
+                final var c = ConnectionCommand.parseFrom(bytes);
+                return GameCommand.Ping.builder()
+                        .playerId(new PlayerId(c.getPlayerId())).playerRef(playerRef(c)).build();
+            }
+            case NEW_CONNECTION: {
+                final var c = ConnectionCommand.parseFrom(bytes);
+                return GameCommand.NewConnection.builder()
+                        .playerId(new PlayerId(c.getPlayerId())).playerRef(playerRef(c)).build();
+            }
+            case CLOSE_CONNECTION: {
+                final var c = ConnectionCommand.parseFrom(bytes);
+                return GameCommand.CloseConnection.builder()
+                        .playerId(new PlayerId(c.getPlayerId())).playerRef(playerRef(c)).build();
+            }
+            case JOIN: {
+                final var c = ConnectionCommand.parseFrom(bytes);
+                return GameCommand.Join.builder()
+                        .playerId(new PlayerId(c.getPlayerId())).playerRef(playerRef(c)).build();
+            }
+            case LEAVE: {
+                final var c = ConnectionCommand.parseFrom(bytes);
+                return GameCommand.Leave.builder()
+                        .playerId(new PlayerId(c.getPlayerId())).playerRef(playerRef(c)).build();
+            }
+            case BID_DECLARE: {
+                final var c = BidCommand.parseFrom(bytes);
+                return GameCommand.BidDeclare.builder().playerId(new PlayerId(c.getPlayerId())).bid(c.getBid()).build();
+            }
+            case BID_DECLARE_CHANGE: {
+                final var c = BidCommand.parseFrom(bytes);
+                return GameCommand.BidDeclareChange.builder().playerId(new PlayerId(c.getPlayerId())).bid(c.getBid()).build();
+            }
+            case PLAY_CARD: {
+                final var c = PlayCardCommand.parseFrom(bytes);
+                return GameCommand.PlayCard.builder()
+                        .playerId(new PlayerId(c.getPlayerId()))
+                        .card(card(c.getCard()))
+                        .build();
+            }
+            case NEXT_TRICK_LEAD_PLAYER_CHANGE: {
+                final var c = NextTrickLeadPlayerChangeCommand.parseFrom(bytes);
+                return GameCommand.NextTrickLeadPlayerChange.builder()
+                        .playerId(new PlayerId(c.getPlayerId()))
+                        .newLeadPlayerId(new PlayerId(c.getNewLeadPlayerId()))
+                        .build();
+            }
+            case PLAYER_HAND_CHANGE: {
+                final var c = PlayerHandChangeCommand.parseFrom(bytes);
+                return GameCommand.PlayerHandChange.builder()
+                        .playerId(new PlayerId(c.getPlayerId()))
+                        .returnCards(cardIds(c.getReturnCardsList()))
+                        .build();
+            }
+            case GAME_START:
+                return GameCommand.GameStart.builder().playerId(playerId(bytes)).build();
+            case FUTURE_PREDICATE_FINISH:
+                return GameCommand.FuturePredicateFinish.builder().predicatePlayerId(playerId(bytes)).build();
+            case REPLAY_GAME:
+                return GameCommand.ReplayGame.builder().playerId(playerId(bytes)).build();
+            case END_GAME:
+                return GameCommand.EndGame.builder().playerId(playerId(bytes)).build();
+            case SNAPSHOT_REQUEST:
+                return GameCommand.SnapshotRequest.builder().playerId(playerId(bytes)).build();
+            default:
+                throw new NotSerializableException("unknown manifest: " + manifest);
+        }
+    }
+
+    private byte[] connection(PlayerId playerId, ActorRef<GameEvent> playerRef) {
+        return ConnectionCommand.newBuilder()
+                .setPlayerId(playerId.getValue())
+                .setPlayerRef(actorRefResolver.toSerializationFormat(playerRef))
+                .build().toByteArray();
+    }
+
+    private ActorRef<GameEvent> playerRef(ConnectionCommand command) {
+        return actorRefResolver.resolveActorRef(command.getPlayerRef());
+    }
+
+    private static PlayerId playerId(byte[] bytes) throws InvalidProtocolBufferException {
+        return new PlayerId(PlayerCommand.parseFrom(bytes).getPlayerId());
+    }
+
+    private static PersistedGameRule gameRule(GameRule gameRule) {
+        return PersistedGameRule.newBuilder()
+                .setRoomSize(gameRule.getRoomSize())
+                .setNOfRounds(gameRule.getNOfRounds())
+                .setDeckType(gameRule.getDeckType().name())
+                .build();
+    }
+
+    private static GameRule gameRule(PersistedGameRule gameRule) {
+        return new GameRule(
+                gameRule.getRoomSize(),
+                gameRule.getNOfRounds(),
+                GameRule.DeckType.valueOf(gameRule.getDeckType()));
+    }
+
+    private static List<PersistedCardId> cardIds(Collection<CardId> cardIds) {
+        return cardIds.stream()
+                .map(cardId -> cardId.isRegistered()
+                        ? PersistedCardId.newBuilder().setIndex(cardId.getIndex()).build()
+                        : PersistedCardId.newBuilder().setId(cardId.getId()).build())
+                .collect(Collectors.toList());
+    }
+
+    private static Set<CardId> cardIds(List<PersistedCardId> cardIds) {
+        final var result = new HashSet<CardId>();
+        for (final var cardId : cardIds) {
+            result.add(cardId.getId().isEmpty() ? CardId.of(cardId.getIndex()) : CardId.of(cardId.getId()));
+        }
+        return result;
+    }
+
+    private PersistedCard card(Card card) {
+        final var builder = PersistedCard.newBuilder();
+        if (!card.getCardId().isRegistered()) {
+            try {
+                return builder
+                        .setUnregistered(ByteString.copyFrom(objectMapper.writerFor(Card.class).writeValueAsBytes(card)))
+                        .build();
+            } catch (IOException e) {
+                throw new IllegalArgumentException("failed to serialize card " + card.getCardId(), e);
+            }
+        }
+
+        builder.setIndex(card.getCardId().getIndex());
+        if (card instanceof Card.Tigress && ((Card.Tigress) card).getIsPirates() != null) {
+            builder.setTigressMode(((Card.Tigress) card).getIsPirates()
+                    ? PersistedCard.TigressMode.PIRATES
+                    : PersistedCard.TigressMode.ESCAPE);
+        } else if (card instanceof Card.RascalOfRoatan && ((Card.RascalOfRoatan) card).getBetScore() != null) {
+            builder.setBetScore(((Card.RascalOfRoatan) card).getBetScore()).setHasBetScore(true);
+        }
+        return builder.build();
+    }
+
+    private Card card(PersistedCard card) throws IOException {
+        if (!card.getUnregistered().isEmpty()) {
+            return objectMapper.readValue(card.getUnregistered().toByteArray(), Card.class);
+        }
+
+        final var catalogueCard = CardDeckProvider.cardOf(card.getIndex());
+        switch (card.getTigressMode()) {
+            case PIRATES:
+                return ((Card.Tigress) catalogueCard).withIsPirates(true);
+            case ESCAPE:
+                return ((Card.Tigress) catalogueCard).withIsPirates(false);
+            default:
+                break;
+        }
+        if (card.getHasBetScore()) {
+            return new Card.RascalOfRoatan(catalogueCard.getCardId(), card.getBetScore());
+        }
+        return catalogueCard;
+    }
+
+}
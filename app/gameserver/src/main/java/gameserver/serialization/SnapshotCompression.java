@@ -0,0 +1,102 @@
+package gameserver.serialization;
+
+import com.typesafe.config.Config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * スナップショット (GameState) の圧縮.
+ * <p>
+ * 圧縮したペイロードの先頭には {@link #DEFLATE_HEADER} を付ける.
+ * この値は CBOR の先頭には現れない (予約済みの追加情報) ため, GameProtobufSerializer が圧縮前に Jackson で書いた
+ * スナップショットもそのまま読める. jackson-cbor のシリアライザ ID で書かれたものはここを通らず, jackson-cbor が読む.
+ * 読み込み時は設定に関係なくヘッダで判別するので, 圧縮を off に戻しても既存のスナップショットは読める.
+ */
+final class SnapshotCompression {
+
+    static final String CONFIG_PATH = "game-serialization.snapshot-compression";
+
+    // CBOR のメジャータイプ 0, 追加情報 28
+    static final byte DEFLATE_HEADER = 0x1c;
+
+    enum Algorithm {
+        OFF,
+        DEFLATE,
+    }
+
+    private final Algorithm algorithm;
+    private final int compressLargerThan;
+
+    SnapshotCompression(Algorithm algorithm, int compressLargerThan) {
+        this.algorithm = algorithm;
+        this.compressLargerThan = compressLargerThan;
+    }
+
+    /**
+     * 設定が無い場合は圧縮しない.
+     */
+    static SnapshotCompression fromConfig(Config config) {
+        if (!config.hasPath(CONFIG_PATH)) {
+            return new SnapshotCompression(Algorithm.OFF, Integer.MAX_VALUE);
+        }
+        final var compression = config.getConfig(CONFIG_PATH);
+        return new SnapshotCompression(
+                Algorithm.valueOf(compression.getString("algorithm").toUpperCase()),
+                (int) Math.min(Integer.MAX_VALUE, compression.getBytes("compress-larger-than")));
+    }
+
+    byte[] compress(byte[] bytes) {
+        if (algorithm == Algorithm.OFF || bytes.length <= compressLargerThan) {
+            return bytes;
+        }
+
+        final var deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            final var out = new ByteArrayOutputStream(bytes.length / 2);
+            out.write(DEFLATE_HEADER);
+            final var buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static boolean isCompressed(byte[] bytes) {
+        return bytes.length > 0 && bytes[0] == DEFLATE_HEADER;
+    }
+
+    static byte[] decompress(byte[] bytes) throws IOException {
+        if (!isCompressed(bytes)) {
+            return bytes;
+        }
+
+        final var inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, 1, bytes.length - 1);
+            final var out = new ByteArrayOutputStream(bytes.length * 4);
+            final var buffer = new byte[4096];
+            while (!inflater.finished()) {
+                final var n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("truncated compressed snapshot");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IOException("broken compressed snapshot", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+}
@@ -3,11 +3,47 @@ package gameserver.service.impl;
 
 import gameserver.domain.Card;
 import gameserver.domain.CardId;
+import gameserver.domain.CardRegistry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public class CardAdapter {
 
-    public Card adapt(gameserver.service.grpc.Card card) {
-        final var cardId = new CardId(card.getCardId());
+    /**
+     * 文字列の ID を送ってくるクライアントと, インデックスを送ってくるクライアントの両方を受け付ける.
+     * 登録されていないカードは空を返す.
+     */
+    public static Optional<CardId> findCardId(String cardId, int cardIndex) {
+        return cardId.isEmpty() ? CardRegistry.find(cardIndex) : CardRegistry.find(cardId);
+    }
+
+    public static List<String> ids(Collection<CardId> cardIds) {
+        final var ids = new ArrayList<String>(cardIds.size());
+        for (final var cardId : cardIds) {
+            ids.add(cardId.getId());
+        }
+        return ids;
+    }
+
+    public static List<Integer> indexes(Collection<CardId> cardIds) {
+        final var indexes = new ArrayList<Integer>(cardIds.size());
+        for (final var cardId : cardIds) {
+            indexes.add(cardId.getIndex());
+        }
+        return indexes;
+    }
+
+    /**
+     * @return 登録されていないカードの場合は空
+     */
+    public Optional<Card> adapt(gameserver.service.grpc.Card card) {
+        return findCardId(card.getCardId(), card.getCardIndex()).map(cardId -> adapt(card, cardId));
+    }
+
+    private Card adapt(gameserver.service.grpc.Card card, CardId cardId) {
         switch (card.getCardCase()) {
             case KRAKEN:
                 return new Card.Kraken(cardId);
@@ -45,6 +81,7 @@ public class CardAdapter {
         final var bldr = gameserver.service.grpc.Card.newBuilder();
 
         bldr.setCardId(card.getCardId().getId());
+        bldr.setCardIndex(card.getCardId().getIndex());
         if (card instanceof Card.NumberCard) {
             final var numberCard = (Card.NumberCard) card;
             bldr.setNumberCard(gameserver.service.grpc.Card.NumberCard.newBuilder()
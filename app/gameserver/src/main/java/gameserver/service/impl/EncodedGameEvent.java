@@ -0,0 +1,36 @@
+package gameserver.service.impl;
+
+import gameserver.domain.GameEvent;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 一度だけ gRPC のメッセージに変換された, 全員に共通のイベント.
+ * <p>
+ * 同じノード上の接続へはシリアライズされずに同じインスタンスが届くため, メッセージは全接続で共有される.
+ * 別ノードの接続へ送る場合は, 変換前のイベントは含めずメッセージのバイト列だけを運ぶ
+ * ({@link gameserver.serialization.GameProtobufSerializer}).
+ */
+@ToString
+@EqualsAndHashCode
+public final class EncodedGameEvent implements GameEvent {
+
+    private final gameserver.service.grpc.GameEvent message;
+
+    public EncodedGameEvent(@NonNull gameserver.service.grpc.GameEvent message) {
+        this.message = message;
+    }
+
+    public gameserver.service.grpc.GameEvent getMessage() {
+        return message;
+    }
+
+    /**
+     * 接続のストリームを終わらせるイベント (GameEnded) かどうか.
+     */
+    public boolean isGameEnded() {
+        return message.hasGameEnded();
+    }
+
+}
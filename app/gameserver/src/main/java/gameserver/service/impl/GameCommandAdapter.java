@@ -1,12 +1,15 @@
 package gameserver.service.impl;
 
 import akka.actor.typed.ActorRef;
-import gameserver.domain.CardId;
+import gameserver.domain.CardRegistry;
 import gameserver.domain.GameCommand;
 import gameserver.domain.GameEvent;
+import gameserver.domain.InputCheckResult;
 import gameserver.domain.PlayerId;
 import lombok.RequiredArgsConstructor;
 
+import javax.annotation.Nullable;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 // TODO: snapshot制御がうまくいってないぽい
@@ -14,7 +17,11 @@ import java.util.stream.Collectors;
 public class GameCommandAdapter {
     private final CardAdapter cardAdapter;
 
-    public GameCommand adapt(ActorRef<GameEvent> conn, gameserver.service.grpc.GameCommand _gameCommand) {
+    /**
+     * @return 登録されていないカードが指定された場合は null. その場合は conn へ GameException を返している
+     */
+    public @Nullable
+    GameCommand adapt(ActorRef<GameEvent> conn, gameserver.service.grpc.GameCommand _gameCommand) {
         final var playerId = new PlayerId(_gameCommand.getPlayerId());
         switch (_gameCommand.getCmdCase()) {
             case JOIN:
@@ -37,9 +44,12 @@ public class GameCommandAdapter {
                         .build();
             case PLAY_CARD:
                 final var card = cardAdapter.adapt(_gameCommand.getPlayCard().getCard());
+                if (card.isEmpty()) {
+                    return rejectUnknownCard(conn, playerId, InputCheckResult.InvalidInputType.HAS_NOT_CARD);
+                }
                 return GameCommand.PlayCard.builder()
                         .playerId(playerId)
-                        .card(card)
+                        .card(card.get())
                         .build();
             case BID_DECLARE:
                 return GameCommand.BidDeclare.builder()
@@ -60,13 +70,16 @@ public class GameCommandAdapter {
                         .bid(_gameCommand.getBidDeclare().getBid())
                         .build();
             case PLAYER_HAND_CHANGE:
-                final var returnCards = _gameCommand.getPlayerHandChange()
-                        .getCardIdList().stream()
-                        .map(CardId::new)
-                        .collect(Collectors.toSet());
+                final var playerHandChange = _gameCommand.getPlayerHandChange();
+                final var returnCards = playerHandChange.getCardIdCount() > 0
+                        ? playerHandChange.getCardIdList().stream().map(CardRegistry::find).collect(Collectors.toList())
+                        : playerHandChange.getCardIndexList().stream().map(CardRegistry::find).collect(Collectors.toList());
+                if (returnCards.stream().anyMatch(Optional::isEmpty)) {
+                    return rejectUnknownCard(conn, playerId, InputCheckResult.InvalidInputType.RETURN_CARD_PLAYER_NOT_HAS);
+                }
                 return GameCommand.PlayerHandChange.builder()
                         .playerId(playerId)
-                        .returnCards(returnCards)
+                        .returnCards(returnCards.stream().map(Optional::get).collect(Collectors.toSet()))
                         .build();
             case FUTURE_PREDICATE_FINISH:
                 return GameCommand.FuturePredicateFinish.builder()
@@ -83,4 +96,19 @@ public class GameCommandAdapter {
         }
     }
 
+    /**
+     * 登録されていないカードの ID はドメインへ渡さず (プロセス内に割り当てず), 不正な入力として返す.
+     */
+    private static GameCommand rejectUnknownCard(
+            ActorRef<GameEvent> conn,
+            PlayerId playerId,
+            InputCheckResult.InvalidInputType invalidInputType
+    ) {
+        conn.tell(GameEvent.GameException.builder()
+                .playerId(playerId)
+                .invalidInputType(invalidInputType)
+                .build());
+        return null;
+    }
+
 }
@@ -1,6 +1,5 @@
 package gameserver.service.impl;
 
-import gameserver.domain.CardId;
 import gameserver.domain.GameEvent;
 import gameserver.domain.PlayerId;
 import lombok.RequiredArgsConstructor;
@@ -27,8 +26,35 @@ public class GameEventAdapter {
                 .build();
     }
 
+    /**
+     * 受け取るプレイヤーによって変換結果が変わるイベントかどうか.
+     * false のイベントは {@link #adapt(PlayerId, GameEvent)} の playerId に null を渡してよい.
+     */
+    public static boolean isPlayerSpecific(GameEvent gameEvent) {
+        return gameEvent instanceof GameEvent.ConnectionEstablished ||
+                gameEvent instanceof GameEvent.ConnectionClosed ||
+                gameEvent instanceof GameEvent.APlayerBidDeclared ||
+                gameEvent instanceof GameEvent.RoundStarted ||
+                gameEvent instanceof GameEvent.HandChangeAvailableNotice ||
+                gameEvent instanceof GameEvent.FuturePredicateAvailable ||
+                gameEvent instanceof GameEvent.GameSnapshot ||
+                gameEvent instanceof GameEvent.GameException;
+    }
+
     public @Nullable
     gameserver.service.grpc.GameEvent adapt(PlayerId playerId, GameEvent _gameEvent) {
+        return adapt(playerId, _gameEvent, GameStateAdapter.NO_DECK_CATALOGUE);
+    }
+
+    /**
+     * @param knownDeckCatalogueVersion 接続先のクライアントが保持しているカードカタログのバージョン. スナップショットにのみ影響する
+     */
+    public @Nullable
+    gameserver.service.grpc.GameEvent adapt(PlayerId playerId, GameEvent _gameEvent, int knownDeckCatalogueVersion) {
+        if (_gameEvent instanceof EncodedGameEvent) {
+            return ((EncodedGameEvent) _gameEvent).getMessage();
+        }
+
         final var bldr = gameserver.service.grpc.GameEvent.newBuilder();
 
         if (_gameEvent instanceof GameEvent.ConnectionEstablished) {
@@ -47,6 +73,11 @@ public class GameEventAdapter {
             bldr.setConnectionClosed(gameserver.service.grpc.GameEvent.ConnectionClosed.newBuilder()
                     .setPlayerId(connectionClosed.getPlayerId().getValue())
                     .build());
+        } else if (_gameEvent instanceof GameEvent.ConnectionLost) {
+            final var connectionLost = (GameEvent.ConnectionLost) _gameEvent;
+            bldr.setConnectionLost(gameserver.service.grpc.GameEvent.ConnectionLost.newBuilder()
+                    .setPlayerId(connectionLost.getPlayerId().getValue())
+                    .build());
         } else if (_gameEvent instanceof GameEvent.APlayerJoined) {
             final var aPlayerJoined = (GameEvent.APlayerJoined) _gameEvent;
             bldr.setAPlayerJoined(gameserver.service.grpc.GameEvent.APlayerJoined.newBuilder()
@@ -88,13 +119,14 @@ public class GameEventAdapter {
             final var roundStarted = (GameEvent.RoundStarted) _gameEvent;
             final var cardIds = roundStarted
                     .getPlayers().stream().filter(player -> player.getPlayerId().equals(playerId)).limit(1)
-                    .flatMap(player -> player.getCardIds().stream().map(CardId::getId))
+                    .flatMap(player -> player.getCardIds().stream())
                     .collect(Collectors.toList());
 
             bldr.setRoundStarted(gameserver.service.grpc.GameEvent.RoundStarted.newBuilder()
                     .setRound(roundStarted.getRound())
                     .setDeck(roundStarted.getDeck())
-                    .addAllCard(cardIds)
+                    .addAllCard(CardAdapter.ids(cardIds))
+                    .addAllCardIndex(CardAdapter.indexes(cardIds))
                     .addAllJoinedPlayers(roundStarted.getPlayers().stream()
                             .map(player -> gameserver.service.grpc.GameEvent.RoundStarted.JoinedPlayer.newBuilder()
                                     .setPlayerId(player.getPlayerId().getValue())
@@ -162,9 +194,9 @@ public class GameEventAdapter {
                     .setPlayerId(handChangeAvailableNotice.getPlayerId().getValue());
 
             if (handChangeAvailableNotice.getPlayerId().equals(playerId)) {
-                final var drawCards = handChangeAvailableNotice.getDrawCards()
-                        .stream().map(CardId::getId).collect(Collectors.toList());
-                noticeBldr.addAllDrawCards(drawCards);
+                final var drawCards = handChangeAvailableNotice.getDrawCards();
+                noticeBldr.addAllDrawCards(CardAdapter.ids(drawCards));
+                noticeBldr.addAllDrawCardIndex(CardAdapter.indexes(drawCards));
             }
             bldr.setHandChangeAvailableNotice(noticeBldr.build());
         } else if (_gameEvent instanceof GameEvent.FuturePredicateAvailable) {
@@ -174,9 +206,9 @@ public class GameEventAdapter {
                     .setPlayerId(futurePredicateAvailable.getPlayerId().getValue());
 
             if (futurePredicateAvailable.getPlayerId().equals(playerId)) {
-                final var deckCards = futurePredicateAvailable.getDeckCard()
-                        .stream().map(CardId::getId).collect(Collectors.toList());
-                noticeBldr.addAllDeckCard(deckCards);
+                final var deckCards = futurePredicateAvailable.getDeckCard();
+                noticeBldr.addAllDeckCard(CardAdapter.ids(deckCards));
+                noticeBldr.addAllDeckCardIndex(CardAdapter.indexes(deckCards));
             }
             bldr.setFuturePredicateAvailable(noticeBldr.build());
         } else if (_gameEvent instanceof GameEvent.RoundFinished) {
@@ -194,11 +226,11 @@ public class GameEventAdapter {
                     .build());
         } else if (_gameEvent instanceof GameEvent.PlayerHandChanged) {
             final var playerHandChanged = (GameEvent.PlayerHandChanged) _gameEvent;
-            final var returnCards = playerHandChanged.getReturnCards()
-                    .stream().map(CardId::getId).collect(Collectors.toList());
+            final var returnCards = playerHandChanged.getReturnCards();
             bldr.setPlayerHandChanged(gameserver.service.grpc.GameEvent.PlayerHandChanged.newBuilder()
                     .setPlayerId(playerHandChanged.getPlayerId().getValue())
-                    .addAllReturnCards(returnCards)
+                    .addAllReturnCards(CardAdapter.ids(returnCards))
+                    .addAllReturnCardIndex(CardAdapter.indexes(returnCards))
                     .build());
         } else if (_gameEvent instanceof GameEvent.FuturePredicated) {
             final var futurePredicated = (GameEvent.FuturePredicated) _gameEvent;
@@ -227,7 +259,8 @@ public class GameEventAdapter {
             bldr.setGameEnded(gameserver.service.grpc.GameEvent.GameEnded.newBuilder().build());
         } else if (_gameEvent instanceof GameEvent.GameSnapshot) {
             final var snapshot = (GameEvent.GameSnapshot) _gameEvent;
-            final var state = gameStateAdapter.adapt(snapshot.getGameRoomId(), playerId, snapshot.getGameState());
+            final var state = gameStateAdapter.adapt(
+                    snapshot.getGameRoomId(), playerId, snapshot.getGameState(), knownDeckCatalogueVersion);
             bldr.setGameSnapshot(gameserver.service.grpc.GameEvent.GameSnapshot.newBuilder()
                     .setGameState(state));
         } else if (_gameEvent instanceof GameEvent.GameException) {
@@ -0,0 +1,21 @@
+package gameserver.service.impl;
+
+import gameserver.actor.BroadcastEncoder;
+import gameserver.domain.GameEvent;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class GameEventBroadcastEncoder implements BroadcastEncoder {
+
+    private final GameEventAdapter gameEventAdapter;
+
+    @Override
+    public GameEvent encode(GameEvent gameEvent) {
+        if (GameEventAdapter.isPlayerSpecific(gameEvent)) {
+            return gameEvent;
+        }
+        final var message = gameEventAdapter.adapt(null, gameEvent);
+        return message == null ? gameEvent : new EncodedGameEvent(message);
+    }
+
+}
@@ -3,6 +3,8 @@ package gameserver.service.impl;
 import akka.NotUsed;
 import akka.actor.typed.ActorSystem;
 import akka.cluster.sharding.typed.javadsl.ClusterSharding;
+import akka.grpc.GrpcServiceException;
+import akka.grpc.javadsl.Metadata;
 import akka.stream.OverflowStrategy;
 import akka.stream.javadsl.Sink;
 import akka.stream.javadsl.Source;
@@ -12,8 +14,9 @@ import gameserver.domain.GameCommand;
 import gameserver.domain.GameEvent;
 import gameserver.domain.PlayerId;
 import gameserver.service.grpc.CreateRoom;
-import gameserver.service.grpc.GameServerService;
+import gameserver.service.grpc.GameServerServicePowerApi;
 import gameserver.service.grpc.Initialized;
+import io.grpc.Status;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -21,14 +24,18 @@ import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @RequiredArgsConstructor
-public class GameRoomServiceImpl implements GameServerService {
+public class GameRoomServiceImpl implements GameServerServicePowerApi {
 
     private static final int ACTOR_SOURCE_BUFFER_SIZE = 100;
     private static final Duration INITIAL_CONNECTION_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration MAX_CREATE_TIMEOUT = Duration.ofSeconds(10);
     private static final Duration KEEP_ALIVE_MESSAGE_DURATION = Duration.ofSeconds(5);
 
     private final ActorSystem<?> system;
@@ -37,7 +44,7 @@ public class GameRoomServiceImpl implements GameServerService {
     private final GameEventAdapter gameEventAdapter;
 
     @Override
-    public CompletionStage<Initialized> create(CreateRoom in) {
+    public CompletionStage<Initialized> create(CreateRoom in, Metadata metadata) {
         log.info("New Create Request: {}", in);
         final var sharding = ClusterSharding.get(system);
 
@@ -47,17 +54,73 @@ public class GameRoomServiceImpl implements GameServerService {
                 sharding.entityRefFor(GameRoomActor.ENTITY_TYPE_KEY, gameRoomId);
 
         final var playerId = new PlayerId(in.getPlayerId());
+        final var timeout = createTimeout(metadata);
+        if (timeout.isZero()) {
+            // ask は 0 の timeout を受け付けないため, 既に過ぎている deadline はここで返す
+            return CompletableFuture.failedFuture(new GrpcServiceException(
+                    Status.DEADLINE_EXCEEDED.withDescription("grpc-timeout has already expired")));
+        }
         return gameRoomActorRef.<GameEvent.Initialized>ask(res -> GameCommand.Init.builder()
                         .gameRule(gameRule)
                         .firstDealerId(playerId)
                         .response(res)
                         .build(),
-                Duration.ofSeconds(10))
+                timeout)
                 .thenApply(gameEventAdapter::adapt);
     }
 
+    /**
+     * クライアントが deadline を指定していれば (grpc-timeout ヘッダ), それを超えて待たないようにする.
+     * 既に過ぎている deadline ("0m" 等) は {@link Duration#ZERO} になる.
+     */
+    static Duration createTimeout(Metadata metadata) {
+        return metadata.getText("grpc-timeout")
+                .flatMap(GameRoomServiceImpl::parseGrpcTimeout)
+                .filter(timeout -> timeout.compareTo(MAX_CREATE_TIMEOUT) < 0)
+                .orElse(MAX_CREATE_TIMEOUT);
+    }
+
+    /**
+     * grpc-timeout の値 (例: "500m", "3S") を解釈する. 解釈できなければ empty.
+     */
+    static Optional<Duration> parseGrpcTimeout(String grpcTimeout) {
+        if (grpcTimeout.length() < 2 || grpcTimeout.length() > 9) {
+            return Optional.empty();
+        }
+
+        final long value;
+        try {
+            value = Long.parseLong(grpcTimeout.substring(0, grpcTimeout.length() - 1));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+        if (value < 0) {
+            return Optional.empty();
+        }
+
+        switch (grpcTimeout.charAt(grpcTimeout.length() - 1)) {
+            case 'H':
+                return Optional.of(Duration.ofHours(value));
+            case 'M':
+                return Optional.of(Duration.ofMinutes(value));
+            case 'S':
+                return Optional.of(Duration.ofSeconds(value));
+            case 'm':
+                return Optional.of(Duration.ofMillis(value));
+            case 'u':
+                return Optional.of(Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(value)));
+            case 'n':
+                return Optional.of(Duration.ofNanos(value));
+            default:
+                return Optional.empty();
+        }
+    }
+
     @Override
-    public Source<gameserver.service.grpc.GameEvent, NotUsed> connect(Source<gameserver.service.grpc.GameCommand, NotUsed> in) {
+    public Source<gameserver.service.grpc.GameEvent, NotUsed> connect(
+            Source<gameserver.service.grpc.GameCommand, NotUsed> in,
+            Metadata metadata
+    ) {
         log.info("New Connection Found");
         final var sharding = ClusterSharding.get(system);
 
@@ -71,6 +134,9 @@ public class GameRoomServiceImpl implements GameServerService {
                     final var gameRoomId = cmd.getGameRoomId();
                     final var gameRoomActorRef =
                             sharding.entityRefFor(GameRoomActor.ENTITY_TYPE_KEY, gameRoomId);
+                    // スナップショットの deck を省略できるよう, クライアントが保持しているカタログのバージョンを覚えておく
+                    final var knownDeckCatalogueVersion = new AtomicInteger(
+                            cmd.getNewConnection().getKnownDeckCatalogueVersion());
 
                     final var connectionActorSource =
                             ActorSource.actorRef(
@@ -104,18 +170,26 @@ public class GameRoomServiceImpl implements GameServerService {
 
                     headAndTail.second().to(Sink.foreach(_gameCommand -> {
                         log.info("raw command: {}", _gameCommand);
+                        if (_gameCommand.hasSnapshotRequest()) {
+                            knownDeckCatalogueVersion.set(_gameCommand.getSnapshotRequest().getKnownDeckCatalogueVersion());
+                        }
                         final var gameCommand = gameCommandAdapter.adapt(connectionRef, _gameCommand);
-                        gameRoomActorRef.tell(gameCommand);
+                        if (gameCommand != null) {
+                            gameRoomActorRef.tell(gameCommand);
+                        }
                     })).run(system);
 
                     return actorSource
-                            .map(event -> gameEventAdapter.adapt(playerId, event))
+                            .map(event -> gameEventAdapter.adapt(playerId, event, knownDeckCatalogueVersion.get()))
                             .filter(Objects::nonNull);
                 })
                 .keepAlive(KEEP_ALIVE_MESSAGE_DURATION, this::keepAliveEventSupplier);
     }
 
     private boolean actorSourceCompletionMatcher(GameEvent gameEvent) {
+        if (gameEvent instanceof EncodedGameEvent) {
+            return ((EncodedGameEvent) gameEvent).isGameEnded();
+        }
         return gameEvent instanceof GameEvent.GameEnded ||
                 gameEvent instanceof GameEvent.ConnectionClosed;
     }
@@ -1,29 +1,67 @@
 package gameserver.service.impl;
 
 import gameserver.domain.Card;
-import gameserver.domain.CardId;
+import gameserver.domain.CardDeckProvider;
+import gameserver.domain.GameRule;
 import gameserver.domain.GameState;
 import gameserver.domain.PlayerId;
-import lombok.RequiredArgsConstructor;
 
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
-@RequiredArgsConstructor
 public class GameStateAdapter {
 
+    /**
+     * スナップショットに載せるカードカタログ (deck) のバージョン. カードの内容を変えたら上げる.
+     */
+    public static final int DECK_CATALOGUE_VERSION = 1;
+    /**
+     * クライアントがカタログを保持していないことを表す.
+     */
+    public static final int NO_DECK_CATALOGUE = 0;
+
     private final GameRuleAdapter gameRuleAdapter;
     private final CardAdapter cardAdapter;
     private final ScoreBoardAdapter scoreBoardAdapter;
+    // カタログはデッキの種類ごとに固定なので, 一度だけ変換して使い回す
+    private final Map<GameRule.DeckType, List<gameserver.service.grpc.Card>> deckCatalogues;
+
+    public GameStateAdapter(
+            GameRuleAdapter gameRuleAdapter,
+            CardAdapter cardAdapter,
+            ScoreBoardAdapter scoreBoardAdapter
+    ) {
+        this.gameRuleAdapter = gameRuleAdapter;
+        this.cardAdapter = cardAdapter;
+        this.scoreBoardAdapter = scoreBoardAdapter;
+        this.deckCatalogues = new EnumMap<>(GameRule.DeckType.class);
+        for (final var deckType : GameRule.DeckType.values()) {
+            final var catalogue = CardDeckProvider.catalogue(deckType).stream()
+                    .map(cardAdapter::adapt)
+                    .collect(Collectors.toUnmodifiableList());
+            deckCatalogues.put(deckType, catalogue);
+        }
+    }
 
     public gameserver.service.grpc.GameState adapt(String gameRoomId, PlayerId myPlayerId, GameState gameState) {
-        final var deck = gameState.getRule().provideNewDeck().stream()
-                .map(cardAdapter::adapt)
-                .collect(Collectors.toList());
+        return adapt(gameRoomId, myPlayerId, gameState, NO_DECK_CATALOGUE);
+    }
 
+    /**
+     * @param knownDeckCatalogueVersion クライアントが保持しているカタログのバージョン. {@link #DECK_CATALOGUE_VERSION} と一致すれば deck を省略する
+     */
+    public gameserver.service.grpc.GameState adapt(
+            String gameRoomId, PlayerId myPlayerId, GameState gameState, int knownDeckCatalogueVersion
+    ) {
         final var bldr = gameserver.service.grpc.GameState.newBuilder();
         bldr.setGameRoomId(gameRoomId);
         bldr.setRoomOwnerId(gameState.getRoomOwnerId().getValue());
-        bldr.addAllDeck(deck);
+        bldr.setDeckCatalogueVersion(DECK_CATALOGUE_VERSION);
+        if (knownDeckCatalogueVersion != DECK_CATALOGUE_VERSION) {
+            bldr.addAllDeck(deckCatalogues.get(gameState.getRule().getDeckType()));
+        }
 
         if (gameState instanceof GameState.StartPhase) {
             final var startPhase = (GameState.StartPhase) gameState;
@@ -49,9 +87,7 @@ public class GameStateAdapter {
                                 .build();
                     }).collect(Collectors.toList());
             final var myPlayer = biddingPhase.getIdToPlayer().get(myPlayerId);
-            final var cards = myPlayer
-                    .getCards().keySet().stream().map(CardId::getId)
-                    .collect(Collectors.toList());
+            final var cards = myPlayer.getCards().keySet();
 
             bldr.setBiddingPhase(gameserver.service.grpc.GameState.BiddingPhase.newBuilder()
                     .setGameRule(gameRule)
@@ -59,7 +95,8 @@ public class GameStateAdapter {
                     .setDeck(biddingPhase.getDeck().size())
                     .setDealerId(biddingPhase.getDealerId().getValue())
                     .addAllBiddingPlayers(biddingPlayers)
-                    .addAllCard(cards)
+                    .addAllCard(CardAdapter.ids(cards))
+                    .addAllCardIndex(CardAdapter.indexes(cards))
                     .setMyBid(myPlayer.getDeclaredBid() != null ? myPlayer.getDeclaredBid() : -1)
                     .setScoreBoard(scoreBoardAdapter.adapt(biddingPhase.getScoreBoard()))
                     .build());
@@ -77,14 +114,17 @@ public class GameStateAdapter {
             final var waiting = (GameState.HandChangeWaiting) gameState;
             bldr.setHandChangeWaiting(gameserver.service.grpc.GameState.HandChangeWaiting.newBuilder()
                     .setChangingPlayerId(waiting.getChangingPlayerId().getValue())
-                    .addAllDrawCards(waiting.getDrawCardIds().stream().map(CardId::getId).collect(Collectors.toList()))
+                    .addAllDrawCards(CardAdapter.ids(waiting.getDrawCardIds()))
+                    .addAllDrawCardIndex(CardAdapter.indexes(waiting.getDrawCardIds()))
                     .setTrickPhase(adapt(myPlayerId, waiting.getTrickPhase()))
                     .build());
         } else if (gameState instanceof GameState.FuturePredicateWaiting) {
             final var waiting = (GameState.FuturePredicateWaiting) gameState;
+            final var deckCardIds = waiting.getTrickPhase().getDeck().stream().map(Card::getCardId).collect(Collectors.toList());
             bldr.setFuturePredicateWaiting(gameserver.service.grpc.GameState.FuturePredicateWaiting.newBuilder()
                     .setPredicatingPlayerId(waiting.getPredicatingPlayerId().getValue())
-                    .addAllDeckCards(waiting.getTrickPhase().getDeck().stream().map(Card::getCardId).map(CardId::getId).collect(Collectors.toList()))
+                    .addAllDeckCards(CardAdapter.ids(deckCardIds))
+                    .addAllDeckCardIndex(CardAdapter.indexes(deckCardIds))
                     .setTrickPhase(adapt(myPlayerId, waiting.getTrickPhase()))
                     .build());
         } else if (gameState instanceof GameState.BidDeclareChangeWaiting) {
@@ -134,9 +174,7 @@ public class GameStateAdapter {
                 .collect(Collectors.toList());
         final var scoreBoard = scoreBoardAdapter.adapt(trickPhase.getScoreBoard());
         final var myPlayer = trickPhase.getPlayerOf(playerId);
-        final var cards = myPlayer
-                .getCards().keySet().stream().map(CardId::getId)
-                .collect(Collectors.toList());
+        final var cards = myPlayer.getCards().keySet();
 
         final var bldr = gameserver.service.grpc.GameState.TrickPhase.newBuilder()
                 .setGameRule(gameRule)
@@ -144,7 +182,8 @@ public class GameStateAdapter {
                 .setDealerId(trickPhase.getDealerId().getValue())
                 .setNextPlayerId(trickPhase.nextPlayer().getPlayerId().getValue())
                 .addAllTrickPlayers(trickPlayers)
-                .addAllCard(cards)
+                .addAllCard(CardAdapter.ids(cards))
+                .addAllCardIndex(CardAdapter.indexes(cards))
                 .addAllField(field)
                 .setTrick(trickPhase.getTrick())
                 .setScoreBoard(scoreBoard)
@@ -3,9 +3,16 @@ package gameserver.actor;
 import akka.actor.testkit.typed.javadsl.TestKitJunitResource;
 import akka.actor.testkit.typed.javadsl.TestProbe;
 import akka.actor.typed.ActorRef;
-import dynamodbdao.GameRoomDynamoDBDao;
+import akka.actor.typed.javadsl.Behaviors;
+import dynamodbdao.GameRoomDynamoDBAsyncDao;
+import dynamodbdao.GameRoomWriteBehindBuffer;
+import dynamodbdao.UnprocessedWrites;
+import dynamodbdao.beans.GameRoom;
 import gameserver.domain.*;
+import gameserver.query.GameRoomProjection;
 import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.After;
+import org.junit.Before;
 import org.junit.ClassRule;
 import org.junit.Rule;
 import org.junit.Test;
@@ -13,21 +20,27 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class GameRoomActorTest {
 
     @Rule
     public MockitoRule rule = MockitoJUnit.rule();
     @Mock
-    private GameRoomDynamoDBDao dao;
+    private GameRoomDynamoDBAsyncDao dao;
 
     @ClassRule
     public static final TestKitJunitResource testKit = new TestKitJunitResource(
@@ -36,8 +49,31 @@ public class GameRoomActorTest {
                     "akka.persistence.snapshot-store.local.dir = \"target/snapshot-" + UUID.randomUUID().toString() + "\"  \n"
     );
 
+    private GameRoomWriteBehindBuffer writeBehindBuffer;
+    private ActorRef<GameRoomProjection.Command> projection;
+
     private static AtomicInteger counter = new AtomicInteger();
 
+    @Before
+    public void setUp() {
+        when(dao.batchWrite(any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(new UnprocessedWrites(List.of(), List.of())));
+        writeBehindBuffer = new GameRoomWriteBehindBuffer(dao, Duration.ofMillis(50));
+        projection = testKit.spawn(GameRoomProjection.create(writeBehindBuffer));
+    }
+
+    @After
+    public void tearDown() {
+        writeBehindBuffer.close();
+    }
+
+    private void verifyProjectedRoomUpdates(long expected) {
+        testKit.createTestProbe().awaitAssert(Duration.ofSeconds(3), () -> {
+            assertThat(writeBehindBuffer.getStats().getSubmittedWrites()).isEqualTo(expected);
+            return null;
+        });
+    }
+
     private static String newGameRoomId() {
         return "gameRoom-" + counter.incrementAndGet();
     }
@@ -47,7 +83,7 @@ public class GameRoomActorTest {
     @Test
     public void initialize() {
         final var gameRoomId = newGameRoomId();
-        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(gameRoomId, dao));
+        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(gameRoomId, projection));
         final TestProbe<GameEvent> probe = testKit.createTestProbe();
 
         final var dealer = new PlayerId("dealer");
@@ -66,14 +102,31 @@ public class GameRoomActorTest {
                     assertThat(e.getGameRule()).isEqualTo(gameRule);
                 });
 
-        verify(dao, times(1)).putNewRoom(any());
+        verifyProjectedRoomUpdates(1);
+        verify(dao, timeout(3000).atLeastOnce()).batchWrite(argThat(puts -> !puts.isEmpty()), any());
+    }
+
+    @Test
+    public void deletedRoomIsNotRecreatedByLateCreation() {
+        final var gameRoomId = newGameRoomId();
+        final var gameRoom = new GameRoom();
+        gameRoom.setGameRoomId(gameRoomId);
+
+        // the deletion arrives before the creation it follows
+        projection.tell(new GameRoomProjection.RoomDeleted(gameRoomId, 5));
+        projection.tell(new GameRoomProjection.RoomCreated(gameRoomId, 1, gameRoom));
+        projection.tell(new GameRoomProjection.RoomUpdated(gameRoomId, 4, gameRoom));
+
+        verify(dao, timeout(3000).atLeastOnce()).batchWrite(any(), argThat(ids -> ids.contains(gameRoomId)));
+        verifyProjectedRoomUpdates(1);
+        verify(dao, never()).batchWrite(argThat(puts -> !puts.isEmpty()), any());
     }
 
     ///////////////////////////// START PHASE /////////////////////////////
 
     @Test
     public void tooManyParticipantsAndAlreadyJoinedOnStartPhase() {
-        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), dao));
+        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), projection));
         final TestProbe<GameEvent> dealerProbe = testKit.createTestProbe();
         final TestProbe<GameEvent> participantProbe = testKit.createTestProbe();
         final TestProbe<GameEvent> participant2Probe = testKit.createTestProbe();
@@ -121,7 +174,7 @@ public class GameRoomActorTest {
 
     @Test
     public void cantLeavePlayerNotExistsOnStartPhase() {
-        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), dao));
+        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), projection));
         final TestProbe<GameEvent> probe = testKit.createTestProbe();
 
         final var dealer = new PlayerId("dealer");
@@ -144,7 +197,7 @@ public class GameRoomActorTest {
 
     @Test
     public void playerCanParticipantAndLeaveOnStartPhase() {
-        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), dao));
+        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), projection));
         final TestProbe<GameEvent> probe = testKit.createTestProbe();
         final TestProbe<GameEvent> participantProbe = testKit.createTestProbe();
 
@@ -177,12 +230,12 @@ public class GameRoomActorTest {
 
         participantProbe.expectMessage(GameEvent.ConnectionClosed.builder().playerId(participant).build());
 
-        verify(dao, times(2)).updateRoom(any());
+        verifyProjectedRoomUpdates(2);
     }
 
     @Test
     public void changeDealerOnStartPhase() {
-        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), dao));
+        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), projection));
         final TestProbe<GameEvent> probe = testKit.createTestProbe();
 
         final var dealer = new PlayerId("dealer");
@@ -218,9 +271,39 @@ public class GameRoomActorTest {
                 });
     }
 
+    @Test
+    public void evictTerminatedConnection() {
+        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), projection));
+        final TestProbe<GameEvent> probe = testKit.createTestProbe();
+        final ActorRef<GameEvent> participantConnection = testKit.spawn(Behaviors.<GameEvent>ignore());
+
+        final var dealer = new PlayerId("dealer");
+        final var participant = new PlayerId("participant");
+        final var gameRule = new GameRule(5, 3, GameRule.DeckType.STANDARD);
+        final var playerIds = new ArrayList<>(List.of(dealer, participant));
+        final var state = GameState.StartPhase.builder().dealerId(dealer).playerIds(playerIds).rule(gameRule).build();
+
+        gameRoom.tell(GameCommand.Store.builder().state(state).build());
+        gameRoom.tell(GameCommand.NewConnection.builder().playerId(dealer).playerRef(probe.getRef()).build());
+        gameRoom.tell(GameCommand.NewConnection.builder().playerId(participant).playerRef(participantConnection).build());
+        probe.expectMessageClass(GameEvent.ConnectionEstablished.class);
+        probe.expectMessageClass(GameEvent.GameSnapshot.class);
+
+        // the participant's stream died without CloseConnection
+        testKit.stop(participantConnection);
+        probe.expectMessage(GameEvent.ConnectionLost.builder().playerId(participant).build());
+        probe.expectNoMessage();
+
+        // the participant can connect again
+        final TestProbe<GameEvent> participantProbe = testKit.createTestProbe();
+        gameRoom.tell(GameCommand.NewConnection.builder().playerId(participant).playerRef(participantProbe.getRef()).build());
+        participantProbe.expectMessageClass(GameEvent.ConnectionEstablished.class);
+        participantProbe.expectMessageClass(GameEvent.GameSnapshot.class);
+    }
+
     @Test
     public void notEnoughPeopleAtTheStartOnStartPhase() {
-        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), dao));
+        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), projection));
         final TestProbe<GameEvent> probe = testKit.createTestProbe();
 
         final var dealer = new PlayerId("dealer");
@@ -246,7 +329,7 @@ public class GameRoomActorTest {
 
     @Test
     public void canStartOnStartPhase() {
-        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), dao));
+        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), projection));
         final TestProbe<GameEvent> probe = testKit.createTestProbe();
         final TestProbe<GameEvent> participantProbe = testKit.createTestProbe();
 
@@ -288,13 +371,78 @@ public class GameRoomActorTest {
 
         probe.expectMessageClass(GameEvent.BiddingStarted.class);
         participantProbe.expectMessageClass(GameEvent.BiddingStarted.class);
+
+        // events of the previous command are not sent again
+        gameRoom.tell(GameCommand.BidDeclare.builder().playerId(dealer).bid(0).build());
+        probe.expectMessageClass(GameEvent.APlayerBidDeclared.class);
+        probe.expectNoMessage();
+    }
+
+    @Test
+    public void recoveredRoomDoesNotBroadcastReplayedEvents() {
+        final var gameRoomId = newGameRoomId();
+        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(gameRoomId, projection));
+        final TestProbe<GameEvent> probe = testKit.createTestProbe();
+
+        final var dealer = new PlayerId("dealer");
+        final var participant = new PlayerId("participant");
+        final var gameRule = new GameRule(5, 3, GameRule.DeckType.STANDARD);
+        final var playerIds = new ArrayList<>(List.of(dealer, participant));
+        final var state = GameState.StartPhase.builder().dealerId(dealer).playerIds(playerIds).rule(gameRule).build();
+
+        gameRoom.tell(GameCommand.Store.builder().state(state).build());
+        gameRoom.tell(GameCommand.NewConnection.builder().playerId(dealer).playerRef(probe.getRef()).build());
+        probe.expectMessageClass(GameEvent.ConnectionEstablished.class);
+        probe.expectMessageClass(GameEvent.GameSnapshot.class);
+
+        gameRoom.tell(GameCommand.GameStart.builder().playerId(dealer).build());
+        probe.expectMessageClass(GameEvent.GameStarted.class);
+        probe.expectMessageClass(GameEvent.RoundStarted.class);
+        probe.expectMessageClass(GameEvent.BiddingStarted.class);
+        testKit.stop(gameRoom);
+
+        // recover from the journal
+        final ActorRef<GameCommand> recovered = testKit.spawn(GameRoomActor.create(gameRoomId, projection));
+        recovered.tell(GameCommand.NewConnection.builder().playerId(dealer).playerRef(probe.getRef()).build());
+        probe.expectMessageClass(GameEvent.ConnectionEstablished.class);
+        probe.expectMessageClass(GameEvent.GameSnapshot.class);
+        probe.expectNoMessage();
+
+        recovered.tell(GameCommand.BidDeclare.builder().playerId(dealer).bid(0).build());
+        probe.expectMessageClass(GameEvent.APlayerBidDeclared.class);
+        probe.expectNoMessage();
+    }
+
+    @Test
+    public void snapshotOnRoundBoundary() {
+        final var dealer = new PlayerId("dealer");
+        final var participant = new PlayerId("participant");
+        final var gameRule = new GameRule(5, 3, GameRule.DeckType.STANDARD);
+        final var playerIds = new ArrayList<>(List.of(dealer, participant));
+        final var biddingPhase = GameState.BiddingPhase.newGame(dealer, gameRule, dealer, playerIds, 42L);
+        final var finishedPhase = GameState.FinishedPhase.builder()
+                .roomOwnerId(dealer).rule(gameRule).lastWinnerId(dealer).playerIds(playerIds)
+                .scoreBoard(ScoreBoard.empty(playerIds)).build();
+        final var gameStarted = GameEvent.GameStarted.builder().playerIds(playerIds).seed(0L).build();
+        final var bidDeclared = GameEvent.APlayerBidDeclared.builder().playerId(dealer).bidDeclared(0).build();
+        final var trickPlayed = GameEvent.APlayerTrickPlayed.builder()
+                .playerId(dealer).playedCard(new Card.Escape.StandardEscape(new CardId("1"))).build();
+
+        assertThat(GameRoomActor.isRoundBoundary(biddingPhase, gameStarted)).isTrue();
+        assertThat(GameRoomActor.isRoundBoundary(biddingPhase, trickPlayed)).isTrue();
+        assertThat(GameRoomActor.isRoundBoundary(finishedPhase, trickPlayed)).isTrue();
+        assertThat(GameRoomActor.isRoundBoundary(biddingPhase, bidDeclared)).isFalse();
+
+        biddingPhase.bid(dealer, 0);
+        biddingPhase.bid(participant, 0);
+        assertThat(GameRoomActor.isRoundBoundary(biddingPhase.startTrick(), bidDeclared)).isFalse();
     }
 
     ///////////////////////////// BIDDING PHASE /////////////////////////////
 
     @Test
     public void canBidDeclareAndStartTrickPhaseOnBiddingPhase() {
-        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), dao));
+        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), projection));
         final TestProbe<GameEvent> probe = testKit.createTestProbe();
         final TestProbe<GameEvent> participantProbe = testKit.createTestProbe();
 
@@ -303,7 +451,7 @@ public class GameRoomActorTest {
 
         final var gameRule = new GameRule(5, 3, GameRule.DeckType.STANDARD);
         final var playerIds = new ArrayList<>(List.of(dealer, participant));
-        final var state = GameState.BiddingPhase.newGame(dealer, gameRule, dealer, playerIds);
+        final var state = GameState.BiddingPhase.newGame(dealer, gameRule, dealer, playerIds, 42L);
 
         gameRoom.tell(GameCommand.Store.builder().state(state).build());
         gameRoom.tell(GameCommand.NewConnection.builder().playerId(dealer).playerRef(probe.getRef()).build());
@@ -343,7 +491,7 @@ public class GameRoomActorTest {
 
     @Test
     public void bidDeclaredPlayerNotParticipantOrInvalidBidValueOnBiddingPhase() {
-        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), dao));
+        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), projection));
         final TestProbe<GameEvent> probe = testKit.createTestProbe();
 
         final var dealer = new PlayerId("dealer");
@@ -351,7 +499,7 @@ public class GameRoomActorTest {
 
         final var gameRule = new GameRule(5, 3, GameRule.DeckType.STANDARD);
         final var playerIds = new ArrayList<>(List.of(dealer, participant));
-        final var state = GameState.BiddingPhase.newGame(dealer, gameRule, dealer, playerIds);
+        final var state = GameState.BiddingPhase.newGame(dealer, gameRule, dealer, playerIds, 42L);
 
         gameRoom.tell(GameCommand.Store.builder().state(state).build());
         gameRoom.tell(GameCommand.NewConnection.builder().playerId(dealer).playerRef(probe.getRef()).build());
@@ -383,7 +531,7 @@ public class GameRoomActorTest {
     @Test
     public void canPlayCardOnTrickPhase() {
         Arrays.stream(GameRule.DeckType.values()).forEach(rule -> {
-            final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), dao));
+            final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), projection));
             final TestProbe<GameEvent> probe = testKit.createTestProbe();
 
             final var dealer = new PlayerId("dealer");
@@ -391,7 +539,7 @@ public class GameRoomActorTest {
 
             final var gameRule = new GameRule(5, 3, rule);
             final var playerIds = new ArrayList<>(List.of(dealer, participant));
-            final var state = GameState.BiddingPhase.newGame(dealer, gameRule, dealer, playerIds);
+            final var state = GameState.BiddingPhase.newGame(dealer, gameRule, dealer, playerIds, 42L);
             state.bid(dealer, 0);
             state.bid(participant, 1);
             final var trickState = state.startTrick();
@@ -448,7 +596,7 @@ public class GameRoomActorTest {
     @Test
     public void canPlayCardAndFinishGameOnTrickPhaseLastRound() {
         Arrays.stream(GameRule.DeckType.values()).forEach(rule -> {
-            final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), dao));
+            final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), projection));
             final TestProbe<GameEvent> probe = testKit.createTestProbe();
 
             final var dealer = new PlayerId("dealer");
@@ -460,7 +608,7 @@ public class GameRoomActorTest {
             scoreBoard.addRoundScore(Map.of(dealer, new Score(-10, 0), participant, new Score(-10, 0)));
             scoreBoard.addRoundScore(Map.of(dealer, new Score(20, 0), participant, new Score(-20, 0)));
             final var state =
-                    GameState.BiddingPhase.startRound(dealer, 3, gameRule, dealer, playerIds, scoreBoard);
+                    GameState.BiddingPhase.startRound(dealer, 3, gameRule, dealer, playerIds, scoreBoard, 42L);
             state.bid(dealer, 0);
             state.bid(participant, 2);
             final var trickState = state.startTrick();
@@ -561,7 +709,7 @@ public class GameRoomActorTest {
                     .isEqualTo(scoreBoard.getLastRoundScore());
         });
 
-        verify(dao, times(2)).updateRoom(any());
+        verifyProjectedRoomUpdates(2);
     }
 
     // TODO: add exceptional cases
@@ -570,7 +718,7 @@ public class GameRoomActorTest {
 
     @Test
     public void transitionFromTrickPhaseToNextTrickLeadPlayerChanging() {
-        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), dao));
+        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), projection));
         final TestProbe<GameEvent> probe = testKit.createTestProbe();
 
         final var dealer = new PlayerId("dealer");
@@ -582,7 +730,7 @@ public class GameRoomActorTest {
         scoreBoard.addRoundScore(Map.of(dealer, new Score(-10, 0), participant, new Score(-10, 0)));
         scoreBoard.addRoundScore(Map.of(dealer, new Score(20, 0), participant, new Score(-20, 0)));
         final var state =
-                GameState.BiddingPhase.startRound(dealer, 3, gameRule, dealer, playerIds, scoreBoard);
+                GameState.BiddingPhase.startRound(dealer, 3, gameRule, dealer, playerIds, scoreBoard, 42L);
         state.bid(dealer, 0);
         state.bid(participant, 2);
         final var trickState = state.startTrick();
@@ -653,7 +801,7 @@ public class GameRoomActorTest {
 
     @Test
     public void transitionFromTrickPhaseToPlayerHandChanging() {
-        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), dao));
+        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), projection));
         final TestProbe<GameEvent> probe = testKit.createTestProbe();
 
         final var dealer = new PlayerId("dealer");
@@ -665,7 +813,7 @@ public class GameRoomActorTest {
         scoreBoard.addRoundScore(Map.of(dealer, new Score(-10, 0), participant, new Score(-10, 0)));
         scoreBoard.addRoundScore(Map.of(dealer, new Score(20, 0), participant, new Score(-20, 0)));
         final var state =
-                GameState.BiddingPhase.startRound(dealer, 3, gameRule, dealer, playerIds, scoreBoard);
+                GameState.BiddingPhase.startRound(dealer, 3, gameRule, dealer, playerIds, scoreBoard, 42L);
         state.bid(dealer, 0);
         state.bid(participant, 2);
         state.getDeck().clear();
@@ -755,7 +903,7 @@ public class GameRoomActorTest {
 
     @Test
     public void transitionFromTrickPhaseToBidDeclareChanging() {
-        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), dao));
+        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), projection));
         final TestProbe<GameEvent> probe = testKit.createTestProbe();
 
         final var dealer = new PlayerId("dealer");
@@ -767,7 +915,7 @@ public class GameRoomActorTest {
         scoreBoard.addRoundScore(Map.of(dealer, new Score(-10, 0), participant, new Score(-10, 0)));
         scoreBoard.addRoundScore(Map.of(dealer, new Score(20, 0), participant, new Score(-20, 0)));
         final var state =
-                GameState.BiddingPhase.startRound(dealer, 3, gameRule, dealer, playerIds, scoreBoard);
+                GameState.BiddingPhase.startRound(dealer, 3, gameRule, dealer, playerIds, scoreBoard, 42L);
         state.bid(dealer, 0);
         state.bid(participant, 2);
         final var trickState = state.startTrick();
@@ -828,7 +976,7 @@ public class GameRoomActorTest {
 
     @Test
     public void transitionFromTrickPhaseToFuturePredicating() {
-        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), dao));
+        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), projection));
         final TestProbe<GameEvent> probe = testKit.createTestProbe();
 
         final var dealer = new PlayerId("dealer");
@@ -840,7 +988,7 @@ public class GameRoomActorTest {
         scoreBoard.addRoundScore(Map.of(dealer, new Score(-10, 0), participant, new Score(-10, 0)));
         scoreBoard.addRoundScore(Map.of(dealer, new Score(20, 0), participant, new Score(-20, 0)));
         final var state =
-                GameState.BiddingPhase.startRound(dealer, 3, gameRule, dealer, playerIds, scoreBoard);
+                GameState.BiddingPhase.startRound(dealer, 3, gameRule, dealer, playerIds, scoreBoard, 42L);
         state.bid(dealer, 0);
         state.bid(participant, 2);
         final var currentDeck = new LinkedList<>(List.of(new Card.Skulking(new CardId("sk")), new Card.StandardEscape(new CardId("es"))));
@@ -904,7 +1052,7 @@ public class GameRoomActorTest {
 
     @Test
     public void canEndGameOnFinishedPhase() {
-        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), dao));
+        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), projection));
         final TestProbe<GameEvent> probe = testKit.createTestProbe();
 
         final var dealer = new PlayerId("dealer");
@@ -941,7 +1089,7 @@ public class GameRoomActorTest {
 
     @Test
     public void canReplayGameOnFinishedPhase() {
-        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), dao));
+        final ActorRef<GameCommand> gameRoom = testKit.spawn(GameRoomActor.create(newGameRoomId(), projection));
         final TestProbe<GameEvent> probe = testKit.createTestProbe();
 
         final var dealer = new PlayerId("dealer");
@@ -968,8 +1116,8 @@ public class GameRoomActorTest {
 
         // replay game
         gameRoom.tell(GameCommand.ReplayGame.builder().playerId(dealer).build());
-        probe.expectMessage(GameEvent.GameReplayed.builder()
-                .gameWinnerId(dealer).build());
+        final var gameReplayed = probe.expectMessageClass(GameEvent.GameReplayed.class);
+        assertThat(gameReplayed.getGameWinnerId()).isEqualTo(dealer);
 
         final var roundStarted = probe.receiveMessage();
         assertThat(roundStarted).asInstanceOf(InstanceOfAssertFactories.type(GameEvent.RoundStarted.class))
@@ -0,0 +1,125 @@
+package gameserver.actor;
+
+import akka.actor.testkit.typed.javadsl.TestKitJunitResource;
+import akka.actor.testkit.typed.javadsl.TestProbe;
+import akka.actor.typed.ActorRef;
+import akka.actor.typed.javadsl.Behaviors;
+import gameserver.domain.*;
+import gameserver.query.GameRoomProjection;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 接続の無くなった部屋のパッシベートと, 部屋の作成・放棄が続く場合に常駐する部屋とヒープが増え続けないこと.
+ * <p>
+ * ヒープは GC を促した後の使用量で, 最初の波の後を基準に {@link #HEAP_GROWTH_TOLERANCE_BYTES} までの増加を許す.
+ * 部屋が解放されずに残る場合 (波ごとに増え続ける場合) を検出するための粗い上限で, 厳密な計測ではない.
+ */
+public class GameRoomPassivationTest {
+
+    @ClassRule
+    public static final TestKitJunitResource testKit = new TestKitJunitResource(
+            "akka.persistence.journal.plugin = \"akka.persistence.journal.inmem\" \n" +
+                    "akka.persistence.snapshot-store.plugin = \"akka.persistence.snapshot-store.local\"  \n" +
+                    "akka.persistence.snapshot-store.local.dir = \"target/snapshot-" + UUID.randomUUID().toString() + "\"  \n" +
+                    "game-room.idle-timeout { lobby = 200ms, playing = 1s, finished = 200ms } \n"
+    );
+
+    private static final AtomicInteger counter = new AtomicInteger();
+    private static final long HEAP_GROWTH_TOLERANCE_BYTES = 32L * 1024 * 1024;
+
+    private final ActorRef<GameRoomProjection.Command> projection = testKit.spawn(Behaviors.<GameRoomProjection.Command>ignore());
+    private final PlayerId dealer = new PlayerId("dealer");
+    private final GameRule gameRule = new GameRule(5, 3, GameRule.DeckType.STANDARD);
+
+    private static String newGameRoomId() {
+        return "passivationRoom-" + counter.incrementAndGet();
+    }
+
+    private static long usedHeapAfterGc() {
+        final var runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private ActorRef<GameCommand> createRoom(String gameRoomId, GameRoomMetrics metrics) {
+        final ActorRef<GameCommand> gameRoom = testKit.spawn(
+                GameRoomActor.create(gameRoomId, projection, BroadcastEncoder.IDENTITY, null, metrics));
+        final TestProbe<GameEvent.Initialized> initProbe = testKit.createTestProbe();
+        gameRoom.tell(GameCommand.Init.builder()
+                .firstDealerId(dealer).gameRule(gameRule).response(initProbe.getRef()).build());
+        initProbe.expectMessageClass(GameEvent.Initialized.class);
+        return gameRoom;
+    }
+
+    @Test
+    public void passivateAfterLastConnectionClosed() {
+        final var gameRoomId = newGameRoomId();
+        final var metrics = new GameRoomMetrics();
+        final var gameRoom = createRoom(gameRoomId, metrics);
+        final TestProbe<GameEvent> probe = testKit.createTestProbe();
+
+        gameRoom.tell(GameCommand.NewConnection.builder().playerId(dealer).playerRef(probe.getRef()).build());
+        probe.expectMessageClass(GameEvent.ConnectionEstablished.class);
+        probe.expectMessageClass(GameEvent.GameSnapshot.class);
+
+        // not passivated while connected
+        probe.expectNoMessage(Duration.ofMillis(500));
+
+        gameRoom.tell(GameCommand.CloseConnection.builder().playerId(dealer).playerRef(probe.getRef()).build());
+        probe.expectMessageClass(GameEvent.ConnectionClosed.class);
+        probe.expectTerminated(gameRoom);
+        assertThat(metrics.getStats().getPassivatedRooms()).isEqualTo(1);
+        assertThat(metrics.getStats().getResidentRooms()).isEqualTo(0);
+
+        // restored from the snapshot taken on passivation
+        final var restored = testKit.spawn(GameRoomActor.create(gameRoomId, projection));
+        restored.tell(GameCommand.NewConnection.builder().playerId(dealer).playerRef(probe.getRef()).build());
+        probe.expectMessageClass(GameEvent.ConnectionEstablished.class);
+        final var snapshot = probe.expectMessageClass(GameEvent.GameSnapshot.class);
+        assertThat(snapshot.getGameState()).isInstanceOf(GameState.StartPhase.class);
+        assertThat(snapshot.getGameState().getRoomOwnerId()).isEqualTo(dealer);
+    }
+
+    @Test
+    public void residentRoomsAndHeapPlateauUnderChurn() {
+        final var metrics = new GameRoomMetrics();
+        final var waves = 5;
+        final var roomsPerWave = 50;
+        final var heapAfterWave = new ArrayList<Long>();
+
+        for (int wave = 0; wave < waves; wave++) {
+            final List<ActorRef<GameCommand>> rooms = new ArrayList<>();
+            for (int i = 0; i < roomsPerWave; i++) {
+                rooms.add(createRoom(newGameRoomId(), metrics));
+            }
+            assertThat(metrics.getStats().getResidentRooms()).isLessThanOrEqualTo(roomsPerWave);
+
+            // rooms nobody connected to are passivated after the lobby timeout
+            final TestProbe<GameEvent> probe = testKit.createTestProbe();
+            rooms.forEach(room -> probe.expectTerminated(room, Duration.ofSeconds(5)));
+            assertThat(metrics.getStats().getResidentRooms()).isEqualTo(0);
+
+            heapAfterWave.add(usedHeapAfterGc());
+        }
+
+        testKit.system().log().info("used heap after each wave (bytes): {}", heapAfterWave);
+        // memory levels off: no wave ends with noticeably more heap than the first one
+        final var baseline = heapAfterWave.get(0);
+        assertThat(heapAfterWave.subList(1, waves))
+                .allSatisfy(usedHeap -> assertThat(usedHeap).isLessThanOrEqualTo(baseline + HEAP_GROWTH_TOLERANCE_BYTES));
+        assertThat(metrics.getStats().getStartedRooms()).isEqualTo(waves * roomsPerWave);
+        assertThat(metrics.getStats().getPassivatedRooms()).isEqualTo(waves * roomsPerWave);
+    }
+
+}
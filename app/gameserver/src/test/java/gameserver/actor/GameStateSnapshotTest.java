@@ -0,0 +1,121 @@
+package gameserver.actor;
+
+import akka.actor.testkit.typed.javadsl.TestKitJunitResource;
+import akka.actor.typed.javadsl.Adapter;
+import akka.serialization.Serialization;
+import akka.serialization.SerializationExtension;
+import akka.serialization.Serializers;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import gameserver.domain.*;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 状態の種類ごとのスナップショットのサイズ.
+ * スナップショットには通知用のイベントや, 他のフィールドから計算できる値を含めない.
+ */
+public class GameStateSnapshotTest {
+
+    @ClassRule
+    public static final TestKitJunitResource testKit = new TestKitJunitResource();
+
+    private static final Set<String> TRANSIENT_FIELDS = Set.of(
+            "eventQueue", "stateName", "lastTrick", "roundFinished", "gameFinished", "finishedTrick",
+            "gameWinnerId", "lastRoundScore", "bonusPoint");
+
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+
+    @Test
+    public void snapshotSizeByStateType() throws Exception {
+        final var serialization = SerializationExtension.get(Adapter.toClassic(testKit.system()));
+
+        final var sizes = new LinkedHashMap<String, Integer>();
+        for (final var entry : states().entrySet()) {
+            final var bytes = serialization.findSerializerFor(entry.getValue()).toBinary(entry.getValue());
+            sizes.put(entry.getKey(), bytes.length);
+
+            assertThat(fieldNames(bytes)).as(entry.getKey()).doesNotContainAnyElementsOf(TRANSIENT_FIELDS);
+            assertThat(deserialize(serialization, entry.getValue(), bytes)).isInstanceOf(entry.getValue().getClass());
+        }
+
+        testKit.system().log().info("snapshot size by state type (bytes): {}", sizes);
+    }
+
+    /**
+     * 6 人, 拡張デッキの最終ラウンドで, 各状態を 1 つずつ.
+     */
+    private static Map<String, GameState> states() {
+        final var playerIds = new ArrayList<PlayerId>();
+        for (int i = 1; i <= GameRule.ROOM_MAX_MAX_SIZE; i++) {
+            playerIds.add(new PlayerId("player" + i));
+        }
+        final var dealer = playerIds.get(0);
+        final var rule = new GameRule(GameRule.ROOM_MAX_MAX_SIZE, 10, GameRule.DeckType.EXPANSION);
+
+        final var states = new LinkedHashMap<String, GameState>();
+        states.put("start_phase", GameState.StartPhase.builder()
+                .dealerId(dealer).playerIds(playerIds).rule(rule).createdAt(0L).build());
+
+        final var biddingPhase = GameState.BiddingPhase.startRound(
+                dealer, rule.getNOfRounds(), rule, dealer, playerIds, ScoreBoard.empty(), 42L);
+        states.put("bidding_phase", biddingPhase);
+
+        playerIds.forEach(playerId -> biddingPhase.bid(playerId, 1));
+        final var trickPhase = biddingPhase.startTrick();
+        final var leadCard = trickPhase.nextPlayer().getCards().values().iterator().next();
+        trickPhase.play(dealer, leadCard);
+        states.put("trick_phase", trickPhase);
+
+        final var aPlayerWon = GameState.TrickPhase.APlayerWon.builder()
+                .winnerId(dealer).card(leadCard).trickBonus(0).build();
+        states.put("next_trick_lead_player_changing", GameState.NextTrickLeadPlayerChanging.builder()
+                .trickPhase(trickPhase).changingPlayerId(dealer).aPlayerWon(aPlayerWon).build());
+        states.put("hand_change_waiting", GameState.HandChangeWaiting.builder()
+                .trickPhase(trickPhase).changingPlayerId(dealer).aPlayerWon(aPlayerWon)
+                .drawCardIds(List.of(trickPhase.getDeck().get(0).getCardId(), trickPhase.getDeck().get(1).getCardId()))
+                .build());
+        states.put("future_predicate_waiting", GameState.FuturePredicateWaiting.builder()
+                .trickPhase(trickPhase).predicatingPlayerId(dealer).aPlayerWon(aPlayerWon).build());
+        states.put("bid_declare_change_waiting", GameState.BidDeclareChangeWaiting.builder()
+                .trickPhase(trickPhase).changingPlayerId(dealer).aPlayerWon(aPlayerWon).build());
+
+        states.put("finished_phase", GameState.FinishedPhase.builder()
+                .roomOwnerId(dealer).rule(rule).lastWinnerId(dealer).playerIds(playerIds)
+                .scoreBoard(trickPhase.getScoreBoard()).build());
+        return states;
+    }
+
+    private static Object deserialize(Serialization serialization, GameState state, byte[] bytes) {
+        final var serializer = serialization.findSerializerFor(state);
+        return serialization.deserialize(bytes, serializer.identifier(),
+                Serializers.manifestFor(serializer, state)).get();
+    }
+
+    private Set<String> fieldNames(byte[] bytes) throws Exception {
+        final var names = new HashSet<String>();
+        collectFieldNames(cbor.readTree(bytes), names);
+        return names;
+    }
+
+    private static void collectFieldNames(JsonNode node, Set<String> names) {
+        node.fields().forEachRemaining(field -> {
+            names.add(field.getKey());
+            collectFieldNames(field.getValue(), names);
+        });
+        if (node.isArray()) {
+            node.forEach(element -> collectFieldNames(element, names));
+        }
+    }
+
+}
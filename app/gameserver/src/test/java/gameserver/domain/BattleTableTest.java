@@ -0,0 +1,111 @@
+package gameserver.domain;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BattleTableTest {
+
+    /**
+     * 両方のデッキの全カード. タイグレスは海賊・逃走の両方を含める.
+     */
+    private static List<Card> allCards() {
+        final var cards = new LinkedHashMap<CardId, Card>();
+        CardDeckProvider.standardDeck().forEach(card -> cards.put(card.getCardId(), card));
+        CardDeckProvider.expansionDeck().forEach(card -> cards.put(card.getCardId(), card));
+
+        final var all = new ArrayList<Card>();
+        cards.values().forEach(card -> {
+            if (card instanceof Card.Tigress) {
+                all.add(((Card.Tigress) card).withIsPirates(true));
+                all.add(((Card.Tigress) card).withIsPirates(false));
+            } else {
+                all.add(card);
+            }
+        });
+        return all;
+    }
+
+    /**
+     * 種類ごとに 1 枚ずつ.
+     */
+    private static List<Card> oneCardPerKind() {
+        final var byKind = new LinkedHashMap<Integer, Card>();
+        allCards().forEach(card -> byKind.putIfAbsent(BattleTable.kindOf(card), card));
+        return new ArrayList<>(byKind.values());
+    }
+
+    @Test
+    public void sameOutcomeAsCardBattleForEveryPair() {
+        final var cards = allCards();
+        for (final var winner : cards) {
+            for (final var next : cards) {
+                assertThat(BattleTable.keeps(BattleTable.kindOf(winner), BattleTable.kindOf(next)))
+                        .as("%s vs %s", winner, next)
+                        .isEqualTo(winner.battle(next));
+            }
+        }
+        assertThat(oneCardPerKind()).hasSize(BattleTable.KINDS);
+    }
+
+    @Test
+    public void sameResultAsSequentialBattleForEveryTrickUpToThreeCards() {
+        final var cards = oneCardPerKind();
+        for (final var a : cards) {
+            assertSameResult(List.of(a));
+            for (final var b : cards) {
+                assertSameResult(List.of(a, b));
+                for (final var c : cards) {
+                    assertSameResult(List.of(a, b, c));
+                }
+            }
+        }
+    }
+
+    private static void assertSameResult(List<Card> field) {
+        final var kinds = field.stream().mapToInt(BattleTable::kindOf).toArray();
+        final var judged = BattleTable.judge(kinds, kinds.length);
+
+        assertThat(BattleTable.winner(judged)).as("%s", field).isEqualTo(sequentialWinner(field, false));
+        assertThat(BattleTable.winnerWithoutKraken(judged)).as("%s", field).isEqualTo(sequentialWinner(field, true));
+
+        var firstMermaid = BattleTable.NONE;
+        var piratesCount = 0;
+        var baseBonus = 0;
+        for (int i = 0; i < field.size(); i++) {
+            final var card = field.get(i);
+            if (card instanceof Card.Pirates) {
+                piratesCount++;
+            } else if (card instanceof Card.Mermaid && firstMermaid == BattleTable.NONE) {
+                firstMermaid = i;
+            } else if (card instanceof Card.NumberCard) {
+                baseBonus += ((Card.NumberCard) card).getBonusPoint();
+            }
+        }
+        assertThat(BattleTable.firstMermaid(judged)).isEqualTo(firstMermaid);
+        assertThat(BattleTable.piratesCount(judged)).isEqualTo(piratesCount);
+        assertThat(BattleTable.baseBonus(judged)).isEqualTo(baseBonus);
+    }
+
+    /**
+     * 以前の TrickPhase の判定と同じく, 場の勝者と次のカードを {@link Card#battle(Card)} で順に比べる.
+     */
+    private static int sequentialWinner(List<Card> field, boolean withoutKraken) {
+        var winner = BattleTable.NONE;
+        for (int i = 0; i < field.size(); i++) {
+            final var next = field.get(i);
+            if (withoutKraken && next instanceof Card.Kraken) {
+                continue;
+            }
+            if (winner == BattleTable.NONE || !field.get(winner).battle(next)) {
+                winner = i;
+            }
+        }
+        return winner;
+    }
+
+}
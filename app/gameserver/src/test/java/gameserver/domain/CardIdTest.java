@@ -0,0 +1,90 @@
+package gameserver.domain;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CardIdTest {
+
+    private final ObjectMapper mapper = new ObjectMapper(new CBORFactory());
+
+    @Test
+    public void registryCoversEveryDeck() {
+        assertThat(CardRegistry.size()).isLessThanOrEqualTo(Byte.MAX_VALUE);
+        assertThat(CardRegistry.cardIdsOf(GameRule.DeckType.STANDARD)).containsExactlyElementsOf(
+                CardDeckProvider.standardDeck().stream().map(Card::getCardId).collect(Collectors.toList()));
+        assertThat(CardRegistry.cardIdsOf(GameRule.DeckType.EXPANSION)).containsExactlyElementsOf(
+                CardDeckProvider.expansionDeck().stream().map(Card::getCardId).collect(Collectors.toList()));
+
+        final var indexes = new HashSet<Integer>();
+        CardDeckProvider.expansionDeck().forEach(card -> {
+            assertThat(card.getCardId().isRegistered()).isTrue();
+            assertThat(CardId.of(card.getCardId().getIndex())).isSameAs(card.getCardId());
+            indexes.add(card.getCardId().getIndex());
+        });
+        assertThat(indexes).hasSize(CardDeckProvider.expansionDeck().size());
+    }
+
+    @Test
+    public void internById() {
+        assertThat(CardId.of("kraken")).isSameAs(CardId.of("kraken"));
+        assertThat(new CardId("kraken")).isEqualTo(CardId.of("kraken"));
+        assertThat(new CardId("test-card")).isEqualTo(new CardId("test-card"));
+        assertThat(new CardId("test-card").isRegistered()).isFalse();
+    }
+
+    @Test
+    public void findOnlyRegisteredCards() {
+        assertThat(CardRegistry.find("kraken")).containsSame(CardId.of("kraken"));
+        assertThat(CardRegistry.find(CardId.of("kraken").getIndex())).containsSame(CardId.of("kraken"));
+
+        // unknown ids from clients are not interned
+        for (int i = 0; i < CardRegistry.MAX_CARDS; i++) {
+            assertThat(CardRegistry.find("bogus-card-" + i)).isEmpty();
+        }
+        assertThat(CardRegistry.find(CardRegistry.size())).isEmpty();
+        assertThat(CardRegistry.find(-1)).isEmpty();
+        assertThat(new CardId("test-card-after-lookups").isRegistered()).isFalse();
+    }
+
+    @Test
+    public void serializeRegisteredCardAsIndex() throws Exception {
+        final var cardId = CardId.of("number:BLACK:14");
+
+        assertThat(mapper.readTree(mapper.writeValueAsBytes(cardId)).isInt()).isTrue();
+        assertThat(mapper.readValue(mapper.writeValueAsBytes(cardId), CardId.class)).isSameAs(cardId);
+
+        final var testCardId = new CardId("test-card");
+        assertThat(mapper.readValue(mapper.writeValueAsBytes(testCardId), CardId.class)).isEqualTo(testCardId);
+    }
+
+    @Test
+    public void readLegacyFormat() throws Exception {
+        final var legacy = mapper.writeValueAsBytes(Map.of("id", "skulking"));
+
+        assertThat(mapper.readValue(legacy, CardId.class)).isSameAs(CardId.of("skulking"));
+    }
+
+    @Test
+    public void roundTripHand() throws Exception {
+        final var player = new Player(new PlayerId("player1"));
+        final var hand = new HashMap<CardId, Card>();
+        List.of(Card.Kraken.newInstance(), Card.Skulking.newInstance(), new Card.StandardEscape(new CardId("es")))
+                .forEach(card -> hand.put(card.getCardId(), card));
+        player.setCards(hand);
+
+        final var restored = mapper.readValue(mapper.writeValueAsBytes(player), Player.class);
+
+        assertThat(restored.getCards()).isEqualTo(hand);
+        assertThat(restored.hasCard(CardId.of("kraken"))).isTrue();
+    }
+
+}
@@ -0,0 +1,94 @@
+package gameserver.domain;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DeckTest {
+
+    private final ObjectMapper mapper = new ObjectMapper(new CBORFactory());
+
+    @Test
+    public void shuffledDeckSharesCatalogueCards() {
+        final var catalogue = CardDeckProvider.catalogue(GameRule.DeckType.EXPANSION);
+        final var deck = Deck.shuffled(GameRule.DeckType.EXPANSION, 42L);
+
+        assertThat(deck).containsExactlyInAnyOrderElementsOf(catalogue);
+
+        final var top = deck.get(0);
+        assertThat(deck.pop()).isSameAs(top);
+        assertThat(deck).hasSize(catalogue.size() - 1).doesNotContain(top);
+        assertThat(catalogue).anySatisfy(card -> assertThat(card).isSameAs(top));
+    }
+
+    @Test
+    public void replaceCards() {
+        final var deck = Deck.shuffled(GameRule.DeckType.STANDARD, 42L);
+        final var testCard = new Card.Skulking(new CardId("test-skulking"));
+
+        deck.clear();
+        deck.addAll(List.of(testCard, Card.Kraken.newInstance()));
+
+        assertThat(deck.pop()).isSameAs(testCard);
+        assertThat(deck.pop()).isEqualTo(Card.Kraken.newInstance());
+        assertThat(deck).isEmpty();
+    }
+
+    @Test
+    public void rejectCardDifferingFromCatalogue() {
+        final var deck = Deck.of(List.of());
+        final var tigress = Card.Tigress.newInstance();
+
+        assertThatThrownBy(() -> deck.add(tigress.withIsPirates(true)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(CardDeckProvider.cardOf(tigress.getCardId().getIndex())).isEqualTo(tigress);
+
+        deck.add(tigress);
+        assertThat(deck.pop()).isSameAs(CardDeckProvider.cardOf(tigress.getCardId().getIndex()));
+    }
+
+    @Test
+    public void sameSeedSameOrder() {
+        final var deck = Deck.shuffled(GameRule.DeckType.EXPANSION, 42L);
+
+        assertThat(Deck.shuffled(GameRule.DeckType.EXPANSION, 42L)).containsExactlyElementsOf(deck);
+        assertThat(Deck.shuffled(GameRule.DeckType.EXPANSION, 43L)).isNotEqualTo(deck);
+    }
+
+    @Test
+    public void serializeSeedAndCursor() throws Exception {
+        final var deck = Deck.shuffled(GameRule.DeckType.EXPANSION, 42L);
+        deck.pop();
+        deck.pop();
+
+        final var bytes = mapper.writeValueAsBytes(deck);
+        assertThat(mapper.readTree(bytes).get("cursor").asInt()).isEqualTo(2);
+        assertThat(mapper.readValue(bytes, Deck.class)).containsExactlyElementsOf(deck);
+    }
+
+    @Test
+    public void serializeRemainingIndexes() throws Exception {
+        final var deck = Deck.of(Deck.shuffled(GameRule.DeckType.EXPANSION, 42L));
+        deck.pop();
+
+        final var bytes = mapper.writeValueAsBytes(deck);
+        assertThat(mapper.readTree(bytes).size()).isEqualTo(deck.size());
+        assertThat(mapper.readTree(bytes).get(0).isInt()).isTrue();
+        assertThat(mapper.readValue(bytes, Deck.class)).containsExactlyElementsOf(deck);
+    }
+
+    @Test
+    public void readLegacyCardList() throws Exception {
+        final var cards = List.of(Card.Skulking.newInstance(), Card.Tigress.newInstance());
+        final var legacy = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, Card.class))
+                .writeValueAsBytes(cards);
+
+        assertThat(mapper.readValue(legacy, Deck.class)).containsExactlyElementsOf(cards);
+    }
+
+}
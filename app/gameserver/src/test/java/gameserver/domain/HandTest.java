@@ -0,0 +1,53 @@
+package gameserver.domain;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HandTest {
+
+    private final Card green14 = new Card.NumberCard(CardId.of("number:GREEN:14"), 14, Card.NumberCard.CardColor.GREEN);
+    private final Card black1 = new Card.NumberCard(CardId.of("number:BLACK:1"), 1, Card.NumberCard.CardColor.BLACK);
+    private final Card kraken = Card.Kraken.newInstance();
+
+    @Test
+    public void trackCardsAndColors() {
+        final var hand = new Hand();
+        List.of(green14, black1, kraken).forEach(hand::add);
+
+        assertThat(hand.size()).isEqualTo(3);
+        assertThat(hand.has(kraken.getCardId())).isTrue();
+        assertThat(hand.hasColor(Card.NumberCard.CardColor.GREEN)).isTrue();
+        assertThat(hand.hasColor(Card.NumberCard.CardColor.YELLOW)).isFalse();
+
+        assertThat(hand.removeCard(green14.getCardId())).isSameAs(green14);
+        assertThat(hand.removeCard(green14.getCardId())).isNull();
+        assertThat(hand.size()).isEqualTo(2);
+        assertThat(hand.has(green14.getCardId())).isFalse();
+        assertThat(hand.hasColor(Card.NumberCard.CardColor.GREEN)).isFalse();
+        assertThat(hand.hasColor(Card.NumberCard.CardColor.BLACK)).isTrue();
+    }
+
+    @Test
+    public void behaveAsMap() {
+        final var testCard = new Card.StandardEscape(new CardId("test-escape"));
+        final var expected = new HashMap<CardId, Card>(Map.of(
+                green14.getCardId(), green14,
+                kraken.getCardId(), kraken,
+                testCard.getCardId(), testCard));
+
+        final var hand = new Hand(expected);
+
+        assertThat(hand).isEqualTo(expected);
+        assertThat(hand.get(testCard.getCardId())).isSameAs(testCard);
+        assertThat(hand.keySet()).containsExactly(green14.getCardId(), kraken.getCardId(), testCard.getCardId());
+
+        hand.keySet().removeIf(cardId -> cardId.equals(kraken.getCardId()));
+        assertThat(hand).containsOnlyKeys(green14.getCardId(), testCard.getCardId());
+    }
+
+}
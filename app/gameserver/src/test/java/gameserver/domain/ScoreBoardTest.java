@@ -0,0 +1,83 @@
+package gameserver.domain;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ScoreBoardTest {
+
+    private final ObjectMapper mapper = new ObjectMapper(new CBORFactory());
+
+    private final PlayerId dealer = new PlayerId("dealer");
+    private final PlayerId participant = new PlayerId("participant");
+
+    private ScoreBoard scoreBoard() {
+        final var scoreBoard = ScoreBoard.empty(List.of(dealer, participant));
+        scoreBoard.addRoundScore(Map.of(dealer, new Score(-10, 0), participant, new Score(-10, 0)));
+        scoreBoard.addRoundScore(Map.of(dealer, new Score(20, 0), participant, new Score(-20, 0)));
+        scoreBoard.addRoundScore(Map.of(dealer, new Score(-30, 0), participant, new Score(40, 20)));
+        return scoreBoard;
+    }
+
+    @Test
+    public void runningTotalsAndLeader() {
+        final var scoreBoard = ScoreBoard.empty(List.of(dealer, participant));
+        assertThat(scoreBoard.getLeaderId()).isNull();
+
+        scoreBoard.addRoundScore(Map.of(dealer, new Score(20, 10), participant, new Score(-10, 0)));
+        assertThat(scoreBoard.getLeaderId()).isEqualTo(dealer);
+
+        scoreBoard.addRoundScore(Map.of(dealer, new Score(-30, 0), participant, new Score(40, 20)));
+        assertThat(scoreBoard.getTotal(dealer)).isEqualTo(0);
+        assertThat(scoreBoard.getTotal(participant)).isEqualTo(50);
+        assertThat(scoreBoard.getLeaderId()).isEqualTo(participant);
+        assertThat(scoreBoard.getTotals()).isEqualTo(Map.of(dealer, 0, participant, 50));
+        assertThat(scoreBoard.getLastRoundScore())
+                .isEqualTo(Map.of(dealer, new Score(-30, 0), participant, new Score(40, 20)));
+    }
+
+    @Test
+    public void seatOnFirstScore() {
+        final var scoreBoard = ScoreBoard.empty();
+        scoreBoard.addRoundScore(Map.of(dealer, new Score(10, 0)));
+        scoreBoard.addRoundScore(Map.of(dealer, new Score(10, 0), participant, new Score(30, 0)));
+
+        assertThat(scoreBoard.getRoundScores()).containsExactly(
+                Map.of(dealer, new Score(10, 0)),
+                Map.of(dealer, new Score(10, 0), participant, new Score(30, 0)));
+        assertThat(scoreBoard.getLeaderId()).isEqualTo(participant);
+    }
+
+    @Test
+    public void serializeRoundsBySeat() throws Exception {
+        final var scoreBoard = scoreBoard();
+
+        final var bytes = mapper.writeValueAsBytes(scoreBoard);
+        final var tree = mapper.readTree(bytes);
+        assertThat(tree.get("players").get(0).asText()).isEqualTo("dealer");
+        assertThat(tree.get("scores").get(2).get(1).asInt()).isEqualTo(40);
+        assertThat(tree.get("bonuses").get(2).get(1).asInt()).isEqualTo(20);
+
+        final var actual = mapper.readValue(bytes, ScoreBoard.class);
+        assertThat(actual).isEqualTo(scoreBoard);
+        assertThat(actual.getTotal(participant)).isEqualTo(30);
+    }
+
+    @Test
+    public void readLegacyRoundScores() throws Exception {
+        final var legacy = mapper.writeValueAsBytes(Map.of("roundScores", List.of(
+                Map.of("PlayerId(value=dealer)", Map.of("score", 20, "bonus", 0),
+                        "PlayerId(value=participant)", Map.of("score", -10, "bonus", 0)))));
+
+        final var actual = mapper.readValue(legacy, ScoreBoard.class);
+        assertThat(actual.getLastRoundScore())
+                .isEqualTo(Map.of(dealer, new Score(20, 0), participant, new Score(-10, 0)));
+        assertThat(actual.getLeaderId()).isEqualTo(dealer);
+    }
+
+}
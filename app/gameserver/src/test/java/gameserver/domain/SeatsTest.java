@@ -0,0 +1,59 @@
+package gameserver.domain;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SeatsTest {
+
+    private final ObjectMapper mapper = new ObjectMapper(new CBORFactory());
+
+    private final Player player1 = new Player(new PlayerId("player1"));
+    private final Player player2 = new Player(new PlayerId("player2"));
+    private final Player player3 = new Player(new PlayerId("player3"));
+
+    @Test
+    public void rotateAndNext() {
+        final var seats = Seats.of(List.of(player1, player2, player3));
+
+        seats.rotateTo(player2.getPlayerId());
+        assertThat(seats.lead()).isSameAs(player2);
+        assertThat(seats).containsExactly(player2, player3, player1);
+
+        seats.next();
+        seats.next();
+        assertThat(seats.lead()).isSameAs(player1);
+        assertThat(seats).containsExactly(player1, player2, player3);
+
+        assertThat(seats.playerOf(player3.getPlayerId())).isSameAs(player3);
+        assertThat(seats.playerOf(new PlayerId("unknown"))).isNull();
+        assertThatThrownBy(() -> seats.rotateTo(new PlayerId("unknown")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void serializeSeatsAndLead() throws Exception {
+        final var seats = Seats.of(List.of(player1, player2, player3));
+        seats.rotateTo(player3.getPlayerId());
+
+        final var actual = mapper.readValue(mapper.writeValueAsBytes(seats), Seats.class);
+        assertThat(actual).containsExactlyElementsOf(seats);
+        assertThat(actual.playerOf(player2.getPlayerId())).isEqualTo(player2);
+    }
+
+    @Test
+    public void readLegacyPlayerList() throws Exception {
+        final var legacy = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, Player.class))
+                .writeValueAsBytes(List.of(player2, player3, player1));
+
+        final var actual = mapper.readValue(legacy, Seats.class);
+        assertThat(actual).containsExactly(player2, player3, player1);
+        assertThat(actual.lead()).isEqualTo(player2);
+    }
+
+}
@@ -0,0 +1,216 @@
+package gameserver.serialization;
+
+import akka.actor.testkit.typed.javadsl.TestKitJunitResource;
+import akka.actor.typed.javadsl.Adapter;
+import akka.serialization.Serialization;
+import akka.serialization.SerializationExtension;
+import akka.serialization.Serializers;
+import akka.serialization.jackson.JacksonCborSerializer;
+import com.typesafe.config.ConfigFactory;
+import gameserver.domain.*;
+import gameserver.service.impl.EncodedGameEvent;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.io.NotSerializableException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GameProtobufSerializerTest {
+
+    // 本番と同じバインディングで読み書きする
+    @ClassRule
+    public static final TestKitJunitResource testKit = new TestKitJunitResource(
+            ConfigFactory.parseResources("serialization.conf"));
+
+    private final PlayerId dealer = new PlayerId("dealer");
+    private final PlayerId participant = new PlayerId("participant");
+    private final GameRule rule = new GameRule(2, 10, GameRule.DeckType.EXPANSION);
+
+    private Serialization serialization() {
+        return SerializationExtension.get(Adapter.toClassic(testKit.system()));
+    }
+
+    private Object roundTrip(Object o) {
+        final var serialization = serialization();
+        final var serializer = serialization.findSerializerFor(o);
+        assertThat(serializer).isInstanceOf(GameProtobufSerializer.class);
+
+        final var bytes = serialization.serialize(o).get();
+        return serialization.deserialize(bytes, serializer.identifier(), Serializers.manifestFor(serializer, o)).get();
+    }
+
+    private List<GameEvent> journalEvents() {
+        final var deck = CardDeckProvider.expansionDeck();
+        final var tigress = (Card.Tigress) deck.stream().filter(card -> card instanceof Card.Tigress).findFirst().orElseThrow();
+        final var rascal = deck.stream().filter(card -> card instanceof Card.RascalOfRoatan).findFirst().orElseThrow();
+        final var numberCard = deck.stream().filter(card -> card instanceof Card.NumberCard).findFirst().orElseThrow();
+
+        return List.of(
+                GameEvent.Initialized.builder()
+                        .gameRoomId("room").firstDealerId(dealer).gameRule(rule).createdAt(1L).build(),
+                GameEvent.Initialized.builder()
+                        .gameRoomId("room").firstDealerId(dealer).gameRule(rule).build(),
+                GameEvent.APlayerJoined.builder().playerId(participant).build(),
+                GameEvent.APlayerLeft.builder().playerId(participant).build(),
+                GameEvent.GameStarted.builder().playerIds(List.of(dealer, participant)).seed(42L).build(),
+                GameEvent.APlayerBidDeclared.builder().playerId(dealer).bidDeclared(2).build(),
+                GameEvent.APlayerTrickPlayed.builder().playerId(dealer).playedCard(numberCard).build(),
+                GameEvent.APlayerTrickPlayed.builder().playerId(dealer).playedCard(tigress.withIsPirates(false)).build(),
+                GameEvent.APlayerTrickPlayed.builder()
+                        .playerId(dealer).playedCard(new Card.RascalOfRoatan(rascal.getCardId(), 10)).build(),
+                GameEvent.NextTrickLeadPlayerChanged.builder().playerId(dealer).newLeadPlayerId(participant).build(),
+                GameEvent.PlayerHandChanged.builder()
+                        .playerId(dealer).returnCards(Set.of(numberCard.getCardId(), tigress.getCardId())).build(),
+                GameEvent.FuturePredicated.builder().predicatedPlayerId(dealer).build(),
+                GameEvent.BidDeclareChanged.builder().changedPlayerId(dealer).changedBid(1).build(),
+                GameEvent.GameReplayed.builder().gameWinnerId(dealer).seed(43L).build(),
+                GameEvent.GameEnded.builder().build(),
+                GameEvent.RoomPassivated.builder().build());
+    }
+
+    @Test
+    public void roundTripJournalEvents() {
+        for (final var event : journalEvents()) {
+            assertThat(roundTrip(event)).isEqualTo(event);
+        }
+    }
+
+    @Test
+    public void roundTripCommands() {
+        final var playerRef = testKit.<GameEvent>createTestProbe().getRef();
+        final var commands = List.<GameCommand>of(
+                GameCommand.Init.builder().firstDealerId(dealer).gameRule(rule)
+                        .response(testKit.<GameEvent.Initialized>createTestProbe().getRef()).build(),
+                GameCommand.Ping.builder().playerId(dealer).playerRef(playerRef).build(),
+                GameCommand.NewConnection.builder().playerId(dealer).playerRef(playerRef).build(),
+                GameCommand.CloseConnection.builder().playerId(dealer).playerRef(playerRef).build(),
+                GameCommand.Join.builder().playerId(dealer).playerRef(playerRef).build(),
+                GameCommand.Leave.builder().playerId(dealer).playerRef(playerRef).build(),
+                GameCommand.GameStart.builder().playerId(dealer).build(),
+                GameCommand.BidDeclare.builder().playerId(dealer).bid(3).build(),
+                GameCommand.PlayCard.builder().playerId(dealer).card(CardDeckProvider.cardOf(0)).build(),
+                GameCommand.NextTrickLeadPlayerChange.builder().playerId(dealer).newLeadPlayerId(participant).build(),
+                GameCommand.PlayerHandChange.builder().playerId(dealer).returnCards(Set.of(CardId.of(0))).build(),
+                GameCommand.FuturePredicateFinish.builder().predicatePlayerId(dealer).build(),
+                GameCommand.BidDeclareChange.builder().playerId(dealer).bid(0).build(),
+                GameCommand.ReplayGame.builder().playerId(dealer).build(),
+                GameCommand.EndGame.builder().playerId(dealer).build(),
+                GameCommand.SnapshotRequest.builder().playerId(dealer).build());
+
+        for (final var command : commands) {
+            assertThat(roundTrip(command)).isEqualTo(command);
+        }
+    }
+
+    @Test
+    public void fallbackToJacksonForStatesAndPublishOnlyEvents() {
+        final var state = GameState.StartPhase.builder()
+                .dealerId(dealer).playerIds(new ArrayList<>(List.of(dealer, participant))).rule(rule).createdAt(0L).build();
+        final var publishOnly = GameEvent.RoomDealerChanged.builder().oldDealer(dealer).newDealer(participant).build();
+
+        final var serializer = serialization().findSerializerFor(state);
+        // fixed manifests, the concrete type is resolved by the @JsonSubTypes name in the payload
+        assertThat(Serializers.manifestFor(serializer, state)).isEqualTo(GameProtobufSerializer.JACKSON_STATE);
+        assertThat(Serializers.manifestFor(serializer, publishOnly)).isEqualTo(GameProtobufSerializer.JACKSON_EVENT);
+        assertThat(roundTrip(state)).isInstanceOf(GameState.StartPhase.class);
+        assertThat(roundTrip(publishOnly)).isEqualTo(publishOnly);
+        assertThat(roundTrip(GameState.Cleared.INSTANCE)).isSameAs(GameState.Cleared.INSTANCE);
+    }
+
+    @Test
+    public void readLegacyClassNameManifest() {
+        final var serialization = serialization();
+        final var publishOnly = GameEvent.RoomDealerChanged.builder().oldDealer(dealer).newDealer(participant).build();
+        final var serializer = serialization.findSerializerFor(publishOnly);
+
+        final var read = serialization.deserialize(
+                serializer.toBinary(publishOnly), serializer.identifier(), "j:" + GameEvent.RoomDealerChanged.class.getName());
+        assertThat(read.get()).isEqualTo(publishOnly);
+    }
+
+    @Test
+    public void encodedEventCarriesOnlyTheMessage() {
+        final var message = gameserver.service.grpc.GameEvent.newBuilder()
+                .setGameEnded(gameserver.service.grpc.GameEvent.GameEnded.newBuilder().build())
+                .build();
+        final var encoded = new EncodedGameEvent(message);
+
+        assertThat(serialization().serialize(encoded).get()).isEqualTo(message.toByteArray());
+        assertThat(roundTrip(encoded)).isEqualTo(encoded);
+    }
+
+    @Test
+    public void rejectJacksonManifestOfOtherClasses() {
+        final var serialization = serialization();
+        final var identifier = serialization.findSerializerFor(GameEvent.GameEnded.builder().build()).identifier();
+
+        for (final var className : List.of("java.util.HashMap", "gameserver.domain.PlayerId", "no.such.Class")) {
+            final var result = serialization.deserialize("{}".getBytes(), identifier, "j:" + className);
+            assertThat(result.isFailure()).isTrue();
+            assertThat(result.failed().get()).isInstanceOf(NotSerializableException.class);
+        }
+    }
+
+    @Test
+    public void readEventsAndStatesWrittenByJacksonCbor() {
+        final var serialization = serialization();
+        final var cbor = new JacksonCborSerializer(serialization.system(), "jackson-cbor");
+        final var state = GameState.StartPhase.builder()
+                .dealerId(dealer).playerIds(new ArrayList<>(List.of(dealer, participant))).rule(rule).createdAt(0L).build();
+
+        final var written = new ArrayList<Object>(journalEvents());
+        written.add(state);
+        for (final var o : written) {
+            // journal and snapshot rows written before the switch keep the jackson-cbor serializer id
+            final var read = serialization.deserialize(cbor.toBinary(o), cbor.identifier(), cbor.manifest(o));
+            assertThat(read.isSuccess()).as("%s", o).isTrue();
+            assertThat(read.get()).isEqualTo(o);
+        }
+    }
+
+    @Test
+    public void resaveSnapshotWrittenByJacksonCbor() {
+        final var serialization = serialization();
+        final var cbor = new JacksonCborSerializer(serialization.system(), "jackson-cbor");
+        final var playerIds = new ArrayList<PlayerId>();
+        for (int i = 1; i <= GameRule.ROOM_MAX_MAX_SIZE; i++) {
+            playerIds.add(new PlayerId("player" + i));
+        }
+        final var snapshotRule = new GameRule(GameRule.ROOM_MAX_MAX_SIZE, 10, GameRule.DeckType.EXPANSION);
+        final GameState state = GameState.BiddingPhase.startRound(
+                playerIds.get(0), snapshotRule.getNOfRounds(), snapshotRule, playerIds.get(0), playerIds,
+                ScoreBoard.empty(playerIds), 42L);
+
+        // a snapshot row from before the switch is read by jackson-cbor through its serializer id
+        final var recovered = serialization.deserialize(cbor.toBinary(state), cbor.identifier(), cbor.manifest(state)).get();
+        assertThat(recovered).usingRecursiveComparison().isEqualTo(state);
+
+        // the next snapshot of the recovered room is written by game-protobuf, possibly compressed
+        final var serializer = serialization.findSerializerFor(recovered);
+        assertThat(serializer).isInstanceOf(GameProtobufSerializer.class);
+        final var resaved = serialization.deserialize(
+                serialization.serialize(recovered).get(), serializer.identifier(), Serializers.manifestFor(serializer, recovered)).get();
+        assertThat(resaved).usingRecursiveComparison().isEqualTo(state);
+    }
+
+    @Test
+    public void smallerThanJacksonCbor() {
+        final var serialization = serialization();
+        final var cbor = new JacksonCborSerializer(serialization.system(), "jackson-cbor");
+
+        int protobufBytes = 0;
+        int cborBytes = 0;
+        for (final var event : journalEvents()) {
+            protobufBytes += serialization.serialize(event).get().length;
+            cborBytes += cbor.toBinary(event).length;
+        }
+
+        testKit.system().log().info("journal events (bytes): protobuf={}, jackson-cbor={}", protobufBytes, cborBytes);
+        assertThat(protobufBytes).isLessThan(cborBytes);
+    }
+
+}
@@ -0,0 +1,48 @@
+package gameserver.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.typesafe.config.ConfigFactory;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SnapshotCompressionTest {
+
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+
+    private final SnapshotCompression compression = SnapshotCompression.fromConfig(ConfigFactory.parseString(
+            "game-serialization.snapshot-compression { algorithm = deflate, compress-larger-than = 1 KiB }"));
+
+    @Test
+    public void compressOnlyLargerThanThreshold() throws Exception {
+        final var small = cbor.writeValueAsBytes(Map.of("deck", "small"));
+        final var large = cbor.writeValueAsBytes(Map.of("deck", String.join(",", Collections.nCopies(500, "card"))));
+
+        assertThat(compression.compress(small)).isSameAs(small);
+
+        final var compressed = compression.compress(large);
+        assertThat(compressed[0]).isEqualTo(SnapshotCompression.DEFLATE_HEADER);
+        assertThat(compressed.length).isLessThan(large.length);
+        assertThat(SnapshotCompression.decompress(compressed)).isEqualTo(large);
+    }
+
+    @Test
+    public void readUncompressedSnapshot() throws Exception {
+        final var uncompressed = cbor.writeValueAsBytes(Map.of("deck", "small"));
+
+        assertThat(SnapshotCompression.isCompressed(uncompressed)).isFalse();
+        assertThat(SnapshotCompression.decompress(uncompressed)).isSameAs(uncompressed);
+    }
+
+    @Test
+    public void offWithoutConfig() {
+        final var large = new byte[64 * 1024];
+
+        assertThat(SnapshotCompression.fromConfig(ConfigFactory.empty()).compress(large)).isSameAs(large);
+    }
+
+}
@@ -0,0 +1,25 @@
+package gameserver.service.impl;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GameRoomServiceImplTest {
+
+    @Test
+    public void parseGrpcTimeout() {
+        assertThat(GameRoomServiceImpl.parseGrpcTimeout("3S")).contains(Duration.ofSeconds(3));
+        assertThat(GameRoomServiceImpl.parseGrpcTimeout("500m")).contains(Duration.ofMillis(500));
+        assertThat(GameRoomServiceImpl.parseGrpcTimeout("2000000u")).contains(Duration.ofSeconds(2));
+        assertThat(GameRoomServiceImpl.parseGrpcTimeout("1H")).contains(Duration.ofHours(1));
+        assertThat(GameRoomServiceImpl.parseGrpcTimeout("S")).isEqualTo(Optional.empty());
+        assertThat(GameRoomServiceImpl.parseGrpcTimeout("10x")).isEqualTo(Optional.empty());
+        assertThat(GameRoomServiceImpl.parseGrpcTimeout("123456789S")).isEqualTo(Optional.empty());
+        assertThat(GameRoomServiceImpl.parseGrpcTimeout("0m")).contains(Duration.ZERO);
+        assertThat(GameRoomServiceImpl.parseGrpcTimeout("-1m")).isEqualTo(Optional.empty());
+    }
+
+}
@@ -0,0 +1,42 @@
+package gameserver.service.impl;
+
+import gameserver.domain.CardDeckProvider;
+import gameserver.domain.GameRule;
+import gameserver.domain.GameState;
+import gameserver.domain.PlayerId;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GameStateAdapterTest {
+
+    private final GameStateAdapter adapter = new GameStateAdapter(
+            new GameRuleAdapter(),
+            new CardAdapter(),
+            new ScoreBoardAdapter());
+
+    private final PlayerId player1 = new PlayerId("player1");
+    private final GameState state = GameState.StartPhase.empty(
+            new GameRule(4, 10, GameRule.DeckType.EXPANSION), player1);
+
+    @Test
+    public void includeDeckCatalogueUnlessClientHoldsIt() {
+        final var withDeck = adapter.adapt("gameRoom1", player1, state);
+        assertThat(withDeck.getDeckCatalogueVersion()).isEqualTo(GameStateAdapter.DECK_CATALOGUE_VERSION);
+        assertThat(withDeck.getDeckCount()).isEqualTo(CardDeckProvider.expansionDeck().size());
+
+        final var withoutDeck = adapter.adapt("gameRoom1", player1, state, GameStateAdapter.DECK_CATALOGUE_VERSION);
+        assertThat(withoutDeck.getDeckCatalogueVersion()).isEqualTo(GameStateAdapter.DECK_CATALOGUE_VERSION);
+        assertThat(withoutDeck.getDeckCount()).isZero();
+        assertThat(withoutDeck.getStartPhase()).isEqualTo(withDeck.getStartPhase());
+    }
+
+    @Test
+    public void reuseDeckCatalogue() {
+        final var first = adapter.adapt("gameRoom1", player1, state);
+        final var second = adapter.adapt("gameRoom1", player1, state);
+
+        assertThat(second.getDeck(0)).isSameAs(first.getDeck(0));
+    }
+
+}
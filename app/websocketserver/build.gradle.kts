@@ -17,8 +17,10 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-webflux")
     implementation("org.springframework.boot:spring-boot-starter-security")
     implementation("org.springframework.boot:spring-boot-starter-freemarker")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("org.springframework.session:spring-session-core")
     implementation("com.github.derjust:spring-data-dynamodb:5.1.0")
+    implementation("com.github.ben-manes.caffeine:caffeine")
 
     implementation(platform("com.typesafe.akka:akka-bom_$ScalaBinary:2.6.14"))
     implementation("com.typesafe.akka:akka-actor-typed_$ScalaBinary")
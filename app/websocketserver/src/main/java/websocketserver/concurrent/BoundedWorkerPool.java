@@ -0,0 +1,93 @@
+package websocketserver.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * イベントループで実行してはいけない処理 (ブロッキング I/O や重い計算) を流すための, スレッド数とキュー長に上限のあるワーカープール.
+ * <p>
+ * キューが溢れた場合は {@link RejectedExecutionException} で即座に拒否する.
+ * キュー待ち時間・実行時間・キュー長・拒否数を "websocketserver.worker.*" として pool タグ付きで記録する.
+ */
+public class BoundedWorkerPool implements Executor {
+
+    private final ThreadPoolExecutor executor;
+    private final Timer queueWait;
+    private final Timer execution;
+    private final Counter rejected;
+
+    public BoundedWorkerPool(String name, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        final var threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    final var thread = new Thread(runnable, name + "-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.queueWait = Timer.builder("websocketserver.worker.queue.wait")
+                .tag("pool", name)
+                .register(meterRegistry);
+        this.execution = Timer.builder("websocketserver.worker.execution")
+                .tag("pool", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("websocketserver.worker.rejected")
+                .tag("pool", name)
+                .register(meterRegistry);
+        Gauge.builder("websocketserver.worker.queue.depth", executor, e -> e.getQueue().size())
+                .tag("pool", name)
+                .register(meterRegistry);
+        Gauge.builder("websocketserver.worker.active", executor, ThreadPoolExecutor::getActiveCount)
+                .tag("pool", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        final var enqueuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                queueWait.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                execution.record(command);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * supplier をプールで実行する. 拒否された場合は {@link RejectedExecutionException} で失敗した future を返す.
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, this);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+}
@@ -3,7 +3,7 @@ package websocketserver.config;
 import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
-import dynamodbdao.GameRoomDynamoDBDao;
+import dynamodbdao.GameRoomDynamoDBAsyncDao;
 import lombok.extern.slf4j.Slf4j;
 import org.socialsignin.spring.data.dynamodb.repository.config.EnableDynamoDBRepositories;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -42,10 +42,10 @@ public class DynamoDBConfig {
     }
 
     @Bean
-    public GameRoomDynamoDBDao gameRoomDynamoDBDao(
+    public GameRoomDynamoDBAsyncDao gameRoomDynamoDBAsyncDao(
             DynamoDBSetting dynamoDBSetting
     ) {
-        return new GameRoomDynamoDBDao(
+        return new GameRoomDynamoDBAsyncDao(
                 dynamoDBSetting.getEndpoint(),
                 dynamoDBSetting.getAccessKeyId(),
                 dynamoDBSetting.getAccessKeySecret(),
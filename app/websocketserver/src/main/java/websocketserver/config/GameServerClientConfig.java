@@ -4,10 +4,13 @@ import akka.actor.typed.ActorSystem;
 import akka.actor.typed.javadsl.Behaviors;
 import akka.grpc.GrpcClientSettings;
 import gameserver.service.grpc.GameServerServiceClient;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import websocketserver.setting.GameServerClientSetting;
 
 @Configuration
+@EnableConfigurationProperties(GameServerClientSetting.class)
 public class GameServerClientConfig {
 
     @Bean(destroyMethod = "terminate")
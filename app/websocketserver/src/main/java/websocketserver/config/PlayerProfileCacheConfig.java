@@ -0,0 +1,44 @@
+package websocketserver.config;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import websocketserver.service.GamePlayerProfileCache;
+import websocketserver.setting.PlayerProfileCacheSetting;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+@EnableConfigurationProperties(PlayerProfileCacheSetting.class)
+public class PlayerProfileCacheConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService playerProfileLoaderExecutor(
+            PlayerProfileCacheSetting playerProfileCacheSetting
+    ) {
+        final var threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(playerProfileCacheSetting.getLoaderThreads(), runnable -> {
+            final var thread = new Thread(runnable, "player-profile-loader-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Bean
+    public GamePlayerProfileCache gamePlayerProfileCache(
+            AmazonDynamoDB amazonDynamoDB,
+            ExecutorService playerProfileLoaderExecutor,
+            PlayerProfileCacheSetting playerProfileCacheSetting
+    ) {
+        return new GamePlayerProfileCache(
+                new DynamoDBMapper(amazonDynamoDB),
+                playerProfileLoaderExecutor,
+                playerProfileCacheSetting.getMaximumSize(),
+                playerProfileCacheSetting.getExpireAfterWrite());
+    }
+
+}
@@ -26,9 +26,12 @@ import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import websocketserver.auth.Role;
+import websocketserver.concurrent.BoundedWorkerPool;
 import websocketserver.repository.GamePlayerRepository;
 import websocketserver.service.GamePlayerReactiveUserDetailsService;
+import websocketserver.setting.PlayerLookupSetting;
 
 import java.net.URI;
 
@@ -54,11 +57,19 @@ public class WebFluxSecurityConfig {
     @Bean
     public SecurityWebFilterChain springSecurityFilterChain(
             GamePlayerRepository gamePlayerRepository,
+            BoundedWorkerPool playerLookupPool,
+            BoundedWorkerPool passwordHashingPool,
+            PlayerLookupSetting playerLookupSetting,
             ServerCsrfTokenRepository serverCsrfTokenRepository,
             ServerSecurityContextRepository serverSecurityContextRepository,
             ServerHttpSecurity http
     ) {
-        final var reactiveUserDetailsService = new GamePlayerReactiveUserDetailsService(gamePlayerRepository);
+        final var reactiveUserDetailsService = new GamePlayerReactiveUserDetailsService(
+                gamePlayerRepository,
+                playerLookupPool,
+                playerLookupSetting.getMaximumSize(),
+                playerLookupSetting.getPositiveTtl(),
+                playerLookupSetting.getNegativeTtl());
         final var logoutSuccessHandler = new RedirectServerLogoutSuccessHandler();
         logoutSuccessHandler.setLogoutSuccessUrl(URI.create("/"));
         final var securityContextServerLogoutHandler = new SecurityContextServerLogoutHandler();
@@ -91,7 +102,7 @@ public class WebFluxSecurityConfig {
                                         ServerWebExchangeMatchers.pathMatchers(HttpMethod.DELETE, "/players/mypage", "/gameserver"))))
 
                 .addFilterAt(
-                        authenticationWebFilter(reactiveUserDetailsService, serverSecurityContextRepository),
+                        authenticationWebFilter(reactiveUserDetailsService, passwordHashingPool, serverSecurityContextRepository),
                         SecurityWebFiltersOrder.AUTHENTICATION)
                 .addFilterAfter(csrfFilter(), SecurityWebFiltersOrder.CSRF);
         return http.build();
@@ -99,10 +110,13 @@ public class WebFluxSecurityConfig {
 
     private AuthenticationWebFilter authenticationWebFilter(
             ReactiveUserDetailsService reactiveUserDetailsService,
+            BoundedWorkerPool passwordHashingPool,
             ServerSecurityContextRepository serverSecurityContextRepository
     ) {
-        final var authenticationWebFilter = new AuthenticationWebFilter(
-                new UserDetailsRepositoryReactiveAuthenticationManager(reactiveUserDetailsService));
+        final var authenticationManager = new UserDetailsRepositoryReactiveAuthenticationManager(reactiveUserDetailsService);
+        // パスワードの照合 (bcrypt) はイベントループから切り離し, 上限のある専用プールで行う
+        authenticationManager.setScheduler(Schedulers.fromExecutor(passwordHashingPool));
+        final var authenticationWebFilter = new AuthenticationWebFilter(authenticationManager);
 
         authenticationWebFilter.setRequiresAuthenticationMatcher(ServerWebExchangeMatchers.pathMatchers("/login"));
         authenticationWebFilter.setAuthenticationFailureHandler(new RedirectServerAuthenticationFailureHandler("/login"));
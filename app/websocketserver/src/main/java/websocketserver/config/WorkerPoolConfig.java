@@ -0,0 +1,39 @@
+package websocketserver.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import websocketserver.concurrent.BoundedWorkerPool;
+import websocketserver.setting.PasswordHashingSetting;
+import websocketserver.setting.PlayerLookupSetting;
+
+@Configuration
+@EnableConfigurationProperties({PlayerLookupSetting.class, PasswordHashingSetting.class})
+public class WorkerPoolConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public BoundedWorkerPool playerLookupPool(
+            PlayerLookupSetting playerLookupSetting,
+            MeterRegistry meterRegistry
+    ) {
+        return new BoundedWorkerPool(
+                "player-lookup",
+                playerLookupSetting.getThreads(),
+                playerLookupSetting.getQueueCapacity(),
+                meterRegistry);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public BoundedWorkerPool passwordHashingPool(
+            PasswordHashingSetting passwordHashingSetting,
+            MeterRegistry meterRegistry
+    ) {
+        return new BoundedWorkerPool(
+                "password-hashing",
+                passwordHashingSetting.getThreads(),
+                passwordHashingSetting.getQueueCapacity(),
+                meterRegistry);
+    }
+
+}
@@ -8,12 +8,14 @@ import org.springframework.ui.Model;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.WebSession;
+import reactor.core.publisher.Mono;
 import websocketserver.service.GamePlayerService;
 import websocketserver.viewmodel.GamePlayerViewModel;
 
 import javax.validation.constraints.NotNull;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @RestController
 @RequiredArgsConstructor
@@ -25,20 +27,20 @@ public class GamePlayerController {
 
     @PostMapping("/register")
     @ResponseStatus(HttpStatus.CREATED)
-    public UserRegisterResponse registerPlayer(
+    public Mono<UserRegisterResponse> registerPlayer(
             WebSession webSession,
             @RequestBody UserRegisterRequest userRegisterRequest
     ) {
-        final var createdPlayer = gamePlayerService.createPlayer(
+        return Mono.defer(() -> Mono.fromFuture(gamePlayerService.createPlayer(
                 userRegisterRequest.getPlayerName(),
-                userRegisterRequest.getPlayerPassword()
-        );
-
-        webSession.save();
-        return new UserRegisterResponse(new GamePlayerViewModel(
-                createdPlayer.getPlayerId(),
-                createdPlayer.getPlayerDisplayName(),
-                createdPlayer.getIconUrl()));
+                userRegisterRequest.getPlayerPassword())))
+                .map(createdPlayer -> {
+                    webSession.save();
+                    return new UserRegisterResponse(new GamePlayerViewModel(
+                            createdPlayer.getPlayerId(),
+                            createdPlayer.getPlayerDisplayName(),
+                            createdPlayer.getIconUrl()));
+                });
     }
 
     @GetMapping("/mypage")
@@ -47,17 +49,16 @@ public class GamePlayerController {
     }
 
     @PostMapping("/")
-    public GetPlayersResponse getPlayers(
+    public Mono<GetPlayersResponse> getPlayers(
             @RequestBody GetPlayersRequest getPlayersRequest
     ) {
-        final var gamePlayers = new ArrayList<GamePlayerViewModel>();
-        gamePlayerService.getPlayers(getPlayersRequest.getPlayerIds())
-                .forEach(gamePlayer -> gamePlayers.add(new GamePlayerViewModel(
-                        gamePlayer.getPlayerId(),
-                        gamePlayer.getPlayerDisplayName(),
-                        gamePlayer.getIconUrl())));
-
-        return new GetPlayersResponse(gamePlayers);
+        final var playerIds = getPlayersRequest.getPlayerIds();
+        return Mono.defer(() -> Mono.fromFuture(gamePlayerService.getPlayerProfiles(playerIds)))
+                .map(playerIdToProfile -> new GetPlayersResponse(playerIds.stream()
+                        .distinct()
+                        .map(playerIdToProfile::get)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList())));
     }
 
     @Value
@@ -1,22 +1,31 @@
 package websocketserver.controller;
 
-import dynamodbdao.GameRoomDynamoDBDao;
+import dynamodbdao.GameRoomDynamoDBAsyncDao;
+import dynamodbdao.GameRoomPage;
 import dynamodbdao.beans.GameRoom;
 import gameserver.domain.GameRule;
 import gameserver.service.grpc.CreateRoom;
 import gameserver.service.grpc.GameServerServiceClient;
+import gameserver.service.grpc.Initialized;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import websocketserver.exception.BadRequestException;
 import websocketserver.model.GamePlayer;
 import websocketserver.service.GamePlayerService;
+import websocketserver.setting.GameServerClientSetting;
 import websocketserver.viewmodel.GamePlayerViewModel;
 import websocketserver.viewmodel.GameRoomViewModel;
 
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -28,53 +37,57 @@ public class GameRoomController {
     @NonNull
     private final GameServerServiceClient gameServerServiceClient;
     @NonNull
-    private final GameRoomDynamoDBDao gameRoomDynamoDBDao;
+    private final GameRoomDynamoDBAsyncDao gameRoomDynamoDBDao;
     @NonNull
     private final GamePlayerService gamePlayerService;
+    @NonNull
+    private final GameServerClientSetting gameServerClientSetting;
 
     @PostMapping("/")
-    public GetGameRoomsResponse getGameRooms(
+    public Mono<GetGameRoomsResponse> getGameRooms(
             @RequestBody GetGameRoomsRequest request
     ) {
-        final var dynamoGameRooms = gameRoomDynamoDBDao.select(
+        return Mono.defer(() -> Mono.fromFuture(gameRoomDynamoDBDao.selectJoinable(
                 request.getLimit(),
-                request.getExclusiveStartKey());
-
-        final var playerIds = dynamoGameRooms.stream()
-                .flatMap(gameRoom ->
-                        Stream.concat(
-                                Stream.of(gameRoom.getRoomOwnerId()),
-                                gameRoom.getJoinedPlayerIds().stream()))
-                .distinct()
-                .collect(Collectors.toList());
-
-        final var playerIdToPlayer = new HashMap<String, GamePlayer>();
-        gamePlayerService.getPlayers(playerIds).forEach(player -> {
-            playerIdToPlayer.put(player.getPlayerId(), player);
-        });
-
-        final var gameRooms = dynamoGameRooms.stream().map(gameRoom -> {
+                request.getExclusiveStartKey())))
+                .onErrorMap(IllegalArgumentException.class, e -> new BadRequestException())
+                .flatMap(gameRoomPage -> {
+                    final var playerIds = gameRoomPage.getGameRooms().stream()
+                            .flatMap(gameRoom ->
+                                    Stream.concat(
+                                            Stream.of(gameRoom.getRoomOwnerId()),
+                                            gameRoom.getJoinedPlayerIds().stream()))
+                            .distinct()
+                            .collect(Collectors.toList());
+
+                    return Mono.fromFuture(gamePlayerService.getPlayerProfiles(playerIds))
+                            .map(playerIdToPlayer -> toGetGameRoomsResponse(gameRoomPage, playerIdToPlayer));
+                });
+    }
+
+    private GetGameRoomsResponse toGetGameRoomsResponse(
+            GameRoomPage gameRoomPage,
+            Map<String, GamePlayerViewModel> playerIdToPlayer
+    ) {
+        final var gameRooms = gameRoomPage.getGameRooms().stream().map(gameRoom -> {
             final var joinedPlayers = gameRoom.getJoinedPlayerIds().stream()
-                    .map(playerId -> new GamePlayerViewModel(
-                            playerId,
-                            playerIdToPlayer.get(playerId).getPlayerDisplayName(),
-                            playerIdToPlayer.get(playerId).getIconUrl()))
+                    .map(playerIdToPlayer::get)
                     .collect(Collectors.toList());
 
             return new GameRoomViewModel(
                     gameRoom.getGameRoomId(),
                     gameRoom.getRoomOwnerId(),
-                    playerIdToPlayer.get(gameRoom.getRoomOwnerId()).getPlayerDisplayName(),
+                    playerIdToPlayer.get(gameRoom.getRoomOwnerId()).getDisplayName(),
                     playerIdToPlayer.get(gameRoom.getRoomOwnerId()).getIconUrl(),
                     gameRoom.getGameState(),
                     joinedPlayers);
         }).collect(Collectors.toList());
 
-        return new GetGameRoomsResponse(gameRooms);
+        return new GetGameRoomsResponse(gameRooms, gameRoomPage.getNextCursor());
     }
 
     @PostMapping("/create")
-    public String createGameRoom(
+    public Mono<String> createGameRoom(
             @AuthenticationPrincipal GamePlayer gamePlayer,
             @RequestBody GameRule gameRule
     ) {
@@ -91,7 +104,7 @@ public class GameRoomController {
                 throw new IllegalArgumentException("illegal deck type specified");
         }
 
-        final var res = gameServerServiceClient.create(CreateRoom.newBuilder()
+        final var createRoom = CreateRoom.newBuilder()
                 .setPlayerId(gamePlayer.getPlayerId())
                 .setGameRule(gameserver.service.grpc.GameRule.newBuilder()
                         .setRoomSize(gameRule.getRoomSize())
@@ -99,27 +112,36 @@ public class GameRoomController {
                         .setDeckType(deckType)
                         .build()
                 )
-                .build())
-                .toCompletableFuture()
-                .join();
+                .build();
+
+        return Mono.defer(() -> Mono.fromCompletionStage(gameServerServiceClient.create()
+                .setDeadline(gameServerClientSetting.getCreateDeadline())
+                .invoke(createRoom)))
+                .onErrorMap(GameRoomController::isDeadlineExceeded, e -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT))
+                .map(Initialized::getGameRoomId);
+    }
 
-        return res.getGameRoomId();
+    private static boolean isDeadlineExceeded(Throwable e) {
+        return e instanceof StatusRuntimeException &&
+                ((StatusRuntimeException) e).getStatus().getCode() == Status.Code.DEADLINE_EXCEEDED;
     }
 
     @GetMapping("/{gameRoomId}")
-    public GameRoom getGameRoom(@PathVariable String gameRoomId) {
-        return gameRoomDynamoDBDao.findById(gameRoomId);
+    public Mono<GameRoom> getGameRoom(@PathVariable String gameRoomId) {
+        return Mono.fromFuture(gameRoomDynamoDBDao.findById(gameRoomId));
     }
 
     @Value
     public static class GetGameRoomsRequest {
         int limit;
+        // 前のページの nextExclusiveStartKey. 中身を解釈しない不透明なカーソルとして扱う
         String exclusiveStartKey;
     }
 
     @Value
     public static class GetGameRoomsResponse {
         List<GameRoomViewModel> gameRooms;
+        String nextExclusiveStartKey;
     }
 
 }
@@ -0,0 +1,51 @@
+package websocketserver.exception;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebExceptionHandler;
+import reactor.core.publisher.Mono;
+import websocketserver.setting.PasswordHashingSetting;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * ワーカープールが溢れて処理を受け付けられなかった場合に 503 と Retry-After を返す.
+ * Spring Boot のデフォルトのハンドラ (Order -1) より先に処理する.
+ */
+@Component
+@Order(-2)
+@RequiredArgsConstructor
+public class WorkerPoolSaturatedExceptionHandler implements WebExceptionHandler {
+
+    @NonNull
+    private final PasswordHashingSetting passwordHashingSetting;
+
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, Throwable ex) {
+        if (!isRejected(ex) || exchange.getResponse().isCommitted()) {
+            return Mono.error(ex);
+        }
+
+        final var response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(
+                HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, passwordHashingSetting.getRetryAfter().toSeconds())));
+        return response.setComplete();
+    }
+
+    private static boolean isRejected(Throwable ex) {
+        for (var cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RejectedExecutionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
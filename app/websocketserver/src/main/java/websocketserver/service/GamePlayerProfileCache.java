@@ -0,0 +1,118 @@
+package websocketserver.service;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import websocketserver.model.GamePlayer;
+import websocketserver.viewmodel.GamePlayerViewModel;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * プレイヤーの表示名・アイコンのキャッシュ.
+ * <p>
+ * キャッシュに無いプレイヤーはまとめて BatchGetItem (100 件ずつ) で読み込む.
+ * 読み込み中のプレイヤーを別のリクエストが要求した場合は, 同じ読み込みの完了を待つため,
+ * 同時に来たロビーのリクエストが同じプレイヤーを何度も読み込むことはない.
+ * パスワードを保持しないよう, キャッシュするのは {@link GamePlayerViewModel} のみ.
+ */
+public class GamePlayerProfileCache {
+
+    static final int MAX_BATCH_GET_SIZE = 100;
+
+    private final DynamoDBMapper dynamoDBMapper;
+    private final Executor loaderExecutor;
+    private final AsyncLoadingCache<String, GamePlayerViewModel> cache;
+
+    public GamePlayerProfileCache(
+            DynamoDBMapper dynamoDBMapper,
+            Executor loaderExecutor,
+            long maximumSize,
+            Duration expireAfterWrite
+    ) {
+        this.dynamoDBMapper = dynamoDBMapper;
+        this.loaderExecutor = loaderExecutor;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .executor(loaderExecutor)
+                .recordStats()
+                .buildAsync(new ProfileLoader());
+    }
+
+    /**
+     * 見つからなかったプレイヤーは結果に含まれない.
+     */
+    public CompletableFuture<Map<String, GamePlayerViewModel>> getAll(Collection<String> playerIds) {
+        return cache.getAll(playerIds);
+    }
+
+    public void invalidate(String playerId) {
+        cache.synchronous().invalidate(playerId);
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    private class ProfileLoader implements AsyncCacheLoader<String, GamePlayerViewModel> {
+
+        @Override
+        public CompletableFuture<GamePlayerViewModel> asyncLoad(String playerId, Executor executor) {
+            return asyncLoadAll(List.of(playerId), executor)
+                    .thenApply(profiles -> profiles.get(playerId));
+        }
+
+        @Override
+        public CompletableFuture<Map<String, GamePlayerViewModel>> asyncLoadAll(
+                Iterable<? extends String> playerIds, Executor executor
+        ) {
+            final var batchLoads = new ArrayList<CompletableFuture<List<Object>>>();
+            var chunk = new ArrayList<Object>(MAX_BATCH_GET_SIZE);
+            for (final var playerId : playerIds) {
+                final var key = new GamePlayer();
+                key.setPlayerId(playerId);
+                chunk.add(key);
+                if (chunk.size() == MAX_BATCH_GET_SIZE) {
+                    batchLoads.add(batchLoad(chunk));
+                    chunk = new ArrayList<>(MAX_BATCH_GET_SIZE);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                batchLoads.add(batchLoad(chunk));
+            }
+
+            return CompletableFuture.allOf(batchLoads.toArray(CompletableFuture[]::new))
+                    .thenApply(notUsed -> {
+                        final var profiles = new HashMap<String, GamePlayerViewModel>();
+                        batchLoads.forEach(batchLoad -> batchLoad.join().forEach(item -> {
+                            final var player = (GamePlayer) item;
+                            profiles.put(player.getPlayerId(), new GamePlayerViewModel(
+                                    player.getPlayerId(),
+                                    player.getPlayerDisplayName(),
+                                    player.getIconUrl()));
+                        }));
+                        return profiles;
+                    });
+        }
+
+        private CompletableFuture<List<Object>> batchLoad(List<Object> keys) {
+            return CompletableFuture.supplyAsync(() -> {
+                final var items = new ArrayList<Object>(keys.size());
+                dynamoDBMapper.batchLoad(keys).values().forEach(items::addAll);
+                return items;
+            }, loaderExecutor);
+        }
+
+    }
+
+}
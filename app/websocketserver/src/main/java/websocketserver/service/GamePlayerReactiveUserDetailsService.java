@@ -1,26 +1,79 @@
 package websocketserver.service;
 
-import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
 import org.springframework.security.core.userdetails.UserDetails;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import websocketserver.concurrent.BoundedWorkerPool;
+import websocketserver.model.GamePlayer;
 import websocketserver.repository.GamePlayerRepository;
 
-@RequiredArgsConstructor
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * ログイン時のユーザー検索.
+ * <p>
+ * リポジトリの検索はブロッキングなので {@link BoundedWorkerPool} 上で行い, 同時実行数はプールのスレッド数で抑える.
+ * 検索結果は見つからなかった場合も含めて短時間キャッシュし, 同じユーザーへの同時の検索は1回にまとめる.
+ */
 public class GamePlayerReactiveUserDetailsService implements ReactiveUserDetailsService {
 
-    @NonNull
-    private final GamePlayerRepository gamePlayerRepository;
+    private final AsyncLoadingCache<String, Optional<GamePlayer>> cache;
+
+    public GamePlayerReactiveUserDetailsService(
+            GamePlayerRepository gamePlayerRepository,
+            BoundedWorkerPool playerLookupPool,
+            long maximumSize,
+            Duration positiveTtl,
+            Duration negativeTtl
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new FoundOrNotFoundExpiry(positiveTtl, negativeTtl))
+                .buildAsync((username, executor) ->
+                        playerLookupPool.supplyAsync(() -> gamePlayerRepository.findById(username)));
+    }
 
     @Override
     public Mono<UserDetails> findByUsername(String username) {
-        return Mono.fromSupplier(() -> gamePlayerRepository.findById(username))
+        return Mono.defer(() -> Mono.fromFuture(cache.get(username)))
                 .map(gamePlayerOpt -> (UserDetails) gamePlayerOpt
                         // TODO: error handling, when not found user, return status code 401
-                        .orElseThrow(() -> new IllegalArgumentException("The specified user was not found")))
-                .subscribeOn(Schedulers.single());
+                        .orElseThrow(() -> new IllegalArgumentException("The specified user was not found")));
+    }
+
+    private static class FoundOrNotFoundExpiry implements Expiry<String, Optional<GamePlayer>> {
+
+        private final long positiveTtlNanos;
+        private final long negativeTtlNanos;
+
+        private FoundOrNotFoundExpiry(Duration positiveTtl, Duration negativeTtl) {
+            this.positiveTtlNanos = positiveTtl.toNanos();
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String username, Optional<GamePlayer> gamePlayer, long currentTime) {
+            return gamePlayer.isPresent() ? positiveTtlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(
+                String username, Optional<GamePlayer> gamePlayer, long currentTime, long currentDuration
+        ) {
+            return expireAfterCreate(username, gamePlayer, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(
+                String username, Optional<GamePlayer> gamePlayer, long currentTime, long currentDuration
+        ) {
+            return currentDuration;
+        }
+
     }
 
 }
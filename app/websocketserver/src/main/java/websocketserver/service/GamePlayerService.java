@@ -4,10 +4,14 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import websocketserver.concurrent.BoundedWorkerPool;
 import websocketserver.model.GamePlayer;
 import websocketserver.repository.GamePlayerRepository;
+import websocketserver.viewmodel.GamePlayerViewModel;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -17,19 +21,31 @@ public class GamePlayerService {
     private final GamePlayerRepository gamePlayerRepository;
     @NonNull
     private final PasswordEncoder passwordEncoder;
+    @NonNull
+    private final GamePlayerProfileCache gamePlayerProfileCache;
+    @NonNull
+    private final BoundedWorkerPool passwordHashingPool;
+    @NonNull
+    private final BoundedWorkerPool playerLookupPool;
 
-    public GamePlayer createPlayer(
+    /**
+     * パスワードのハッシュ化は passwordHashingPool で, 保存は playerLookupPool で行う.
+     * どちらかのプールが溢れている場合は RejectedExecutionException で失敗する.
+     */
+    public CompletableFuture<GamePlayer> createPlayer(
             String playerName,
             String playerPassword
     ) {
-        final var encodedPassword = passwordEncoder.encode(playerPassword);
-        final var newPlayer = new GamePlayer(playerName, encodedPassword);
-
-        return gamePlayerRepository.save(newPlayer);
+        return passwordHashingPool.supplyAsync(() -> passwordEncoder.encode(playerPassword))
+                .thenCompose(encodedPassword -> playerLookupPool.supplyAsync(() ->
+                        gamePlayerRepository.save(new GamePlayer(playerName, encodedPassword))));
     }
 
-    public Iterable<GamePlayer> getPlayers(List<String> playerIds) {
-        return gamePlayerRepository.findAllById(playerIds);
+    /**
+     * プレイヤーの表示名・アイコンを取得する. 見つからなかったプレイヤーは結果に含まれない.
+     */
+    public CompletableFuture<Map<String, GamePlayerViewModel>> getPlayerProfiles(List<String> playerIds) {
+        return gamePlayerProfileCache.getAll(playerIds);
     }
 
 }
@@ -0,0 +1,15 @@
+package websocketserver.setting;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "websocketserver.game-server")
+public class GameServerClientSetting {
+    // 部屋作成の gRPC 呼び出しの deadline. grpc-timeout としてゲームサーバにも伝わる
+    private Duration createDeadline = Duration.ofSeconds(5);
+}
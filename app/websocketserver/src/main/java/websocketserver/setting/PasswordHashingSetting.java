@@ -0,0 +1,18 @@
+package websocketserver.setting;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "websocketserver.password-hashing")
+public class PasswordHashingSetting {
+    // bcrypt は CPU を使い切るので, コア数より多くしても速くならない
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int queueCapacity = 64;
+    // キューが溢れたときにクライアントへ返す Retry-After
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
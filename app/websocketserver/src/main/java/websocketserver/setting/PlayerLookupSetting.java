@@ -0,0 +1,19 @@
+package websocketserver.setting;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "websocketserver.player-lookup")
+public class PlayerLookupSetting {
+    // DynamoDB の往復を待つだけのスレッドなので, コア数より多めに取る
+    private int threads = Runtime.getRuntime().availableProcessors() * 4;
+    private int queueCapacity = 1000;
+    private long maximumSize = 10_000;
+    private Duration positiveTtl = Duration.ofSeconds(30);
+    private Duration negativeTtl = Duration.ofSeconds(5);
+}
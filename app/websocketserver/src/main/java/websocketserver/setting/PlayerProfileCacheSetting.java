@@ -0,0 +1,17 @@
+package websocketserver.setting;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "websocketserver.player-profile-cache")
+public class PlayerProfileCacheSetting {
+    private long maximumSize = 10_000;
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+    // BatchGetItem を発行するスレッド数 (AWS SDK v1 の DynamoDBMapper はブロッキング)
+    private int loaderThreads = 4;
+}
@@ -0,0 +1,63 @@
+package websocketserver.concurrent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BoundedWorkerPoolTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BoundedWorkerPool pool;
+
+    @Before
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pool = new BoundedWorkerPool("test", 1, 1, meterRegistry);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void rejectWhenSaturated() {
+        final var release = new CountDownLatch(1);
+        final var running = new CountDownLatch(1);
+        final var first = pool.supplyAsync(() -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 1;
+        });
+        try {
+            running.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        final var queued = pool.supplyAsync(() -> 2);
+        assertThat(pool.getQueueDepth()).isEqualTo(1);
+
+        final var rejected = pool.supplyAsync(() -> 3);
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(meterRegistry.get("websocketserver.worker.rejected").tag("pool", "test").counter().count())
+                .isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(first.join()).isEqualTo(1);
+        assertThat(queued.join()).isEqualTo(2);
+        assertThat(meterRegistry.get("websocketserver.worker.queue.wait").tag("pool", "test").timer().count())
+                .isEqualTo(2);
+    }
+
+}
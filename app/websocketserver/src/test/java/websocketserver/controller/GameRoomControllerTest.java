@@ -1,6 +1,7 @@
 package websocketserver.controller;
 
-import dynamodbdao.GameRoomDynamoDBDao;
+import dynamodbdao.GameRoomDynamoDBAsyncDao;
+import dynamodbdao.GameRoomPage;
 import dynamodbdao.beans.GameRoom;
 import org.junit.Before;
 import org.junit.Test;
@@ -16,6 +17,7 @@ import org.springframework.test.web.reactive.server.WebTestClient;
 import websocketserver.WebSocketServerApplication;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
@@ -32,7 +34,7 @@ public class GameRoomControllerTest {
     ApplicationContext context;
 
     @MockBean
-    GameRoomDynamoDBDao dao;
+    GameRoomDynamoDBAsyncDao dao;
 
     WebTestClient client;
 
@@ -51,7 +53,8 @@ public class GameRoomControllerTest {
         final var gameRoom = new GameRoom();
         gameRoom.setGameRoomId("1");
 
-        when(dao.select(anyInt(), eq(null))).thenReturn(List.of(gameRoom));
+        when(dao.selectJoinable(anyInt(), eq(null)))
+                .thenReturn(CompletableFuture.completedFuture(new GameRoomPage(List.of(gameRoom), null)));
 
         final var request = new GameRoomController.GetGameRoomsRequest(
                 100,
@@ -68,13 +71,26 @@ public class GameRoomControllerTest {
                 .contains(gameRoom);
     }
 
+    @WithMockUser(roles = "PLAYER")
+    @Test
+    public void badRequestForNonPositiveLimit() {
+        when(dao.selectJoinable(eq(0), eq(null))).thenThrow(new IllegalArgumentException("limit must be positive: 0"));
+
+        client.mutateWith(csrf())
+                .post()
+                .uri("/gamerooms/")
+                .bodyValue(new GameRoomController.GetGameRoomsRequest(0, null))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
     @WithMockUser(roles = "PLAYER")
     @Test
     public void canGetRoom() {
         final var gameRoom = new GameRoom();
         gameRoom.setGameRoomId("1");
 
-        when(dao.findById(gameRoom.getGameRoomId())).thenReturn(gameRoom);
+        when(dao.findById(gameRoom.getGameRoomId())).thenReturn(CompletableFuture.completedFuture(gameRoom));
 
         client
                 .get()
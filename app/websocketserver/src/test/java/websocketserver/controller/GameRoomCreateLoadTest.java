@@ -0,0 +1,78 @@
+package websocketserver.controller;
+
+import akka.grpc.javadsl.SingleResponseRequestBuilder;
+import dynamodbdao.GameRoomDynamoDBAsyncDao;
+import gameserver.domain.GameRule;
+import gameserver.service.grpc.CreateRoom;
+import gameserver.service.grpc.GameServerServiceClient;
+import gameserver.service.grpc.Initialized;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import websocketserver.model.GamePlayer;
+import websocketserver.service.GamePlayerService;
+import websocketserver.setting.GameServerClientSetting;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ゲームサーバの応答が遅い場合でも, 部屋作成がイベントループを塞がないことを確かめる負荷テスト.
+ */
+@Slf4j
+public class GameRoomCreateLoadTest {
+
+    private static final int REQUESTS = 200;
+    private static final Duration GAME_SERVER_LATENCY = Duration.ofMillis(500);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void createThroughputWithSlowGameServer() {
+        final var requestBuilder = (SingleResponseRequestBuilder<CreateRoom, Initialized>) mock(SingleResponseRequestBuilder.class);
+        when(requestBuilder.setDeadline(any())).thenReturn(requestBuilder);
+        when(requestBuilder.invoke(any())).thenAnswer(inv -> CompletableFuture.supplyAsync(
+                () -> Initialized.newBuilder().setGameRoomId(UUID.randomUUID().toString()).build(),
+                CompletableFuture.delayedExecutor(GAME_SERVER_LATENCY.toMillis(), TimeUnit.MILLISECONDS)));
+        final var gameServerServiceClient = mock(GameServerServiceClient.class);
+        when(gameServerServiceClient.create()).thenReturn(requestBuilder);
+
+        final var controller = new GameRoomController(
+                gameServerServiceClient,
+                mock(GameRoomDynamoDBAsyncDao.class),
+                mock(GamePlayerService.class),
+                new GameServerClientSetting());
+        final var player = new GamePlayer("player1", "password");
+        player.setPlayerId("player1");
+        final var gameRule = new GameRule(4, 10, GameRule.DeckType.STANDARD);
+
+        // イベントループ相当の 1 スレッドから全リクエストを発行する
+        final var eventLoop = Schedulers.newSingle("event-loop");
+        try {
+            final var startNanos = System.nanoTime();
+            final var created = Flux.range(0, REQUESTS)
+                    .flatMap(i -> Mono.defer(() -> controller.createGameRoom(player, gameRule))
+                            .subscribeOn(eventLoop), REQUESTS)
+                    .count()
+                    .block(Duration.ofSeconds(30));
+            final var elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+
+            log.info("created {} rooms in {} ms ({} rooms/s) with {} ms game server latency",
+                    created, elapsed.toMillis(), created * 1000 / Math.max(1, elapsed.toMillis()), GAME_SERVER_LATENCY.toMillis());
+            assertThat(created).isEqualTo(REQUESTS);
+            // join() していた頃は 1 スレッドあたり 1 件ずつしか進まず REQUESTS * GAME_SERVER_LATENCY かかっていた
+            assertThat(elapsed).isLessThan(GAME_SERVER_LATENCY.multipliedBy(10));
+        } finally {
+            eventLoop.dispose();
+        }
+    }
+
+}
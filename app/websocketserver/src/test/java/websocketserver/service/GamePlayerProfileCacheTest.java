@@ -0,0 +1,101 @@
+package websocketserver.service;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import websocketserver.model.GamePlayer;
+import websocketserver.viewmodel.GamePlayerViewModel;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class GamePlayerProfileCacheTest {
+
+    private DynamoDBMapper mapper;
+    private ExecutorService executor;
+    private GamePlayerProfileCache cache;
+
+    @Before
+    public void setUp() {
+        mapper = mock(DynamoDBMapper.class);
+        executor = Executors.newFixedThreadPool(4);
+        cache = new GamePlayerProfileCache(mapper, executor, 1000, Duration.ofMinutes(10));
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    private static Map<String, List<Object>> players(List<Object> keys) {
+        final var players = keys.stream()
+                .map(key -> {
+                    final var playerId = ((GamePlayer) key).getPlayerId();
+                    final var player = new GamePlayer("name-" + playerId, "password");
+                    player.setPlayerId(playerId);
+                    return (Object) player;
+                })
+                .collect(Collectors.toList());
+        return Map.of("game_player", players);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void loadMissesInBatchesOf100() {
+        when(mapper.batchLoad(anyList())).thenAnswer(inv -> players(inv.getArgument(0)));
+        final var playerIds = IntStream.range(0, 250)
+                .mapToObj(i -> "player" + i)
+                .collect(Collectors.toList());
+
+        final var profiles = cache.getAll(playerIds).join();
+
+        assertThat(profiles).hasSize(250);
+        assertThat(profiles.get("player42").getDisplayName()).isEqualTo("name-player42");
+        verify(mapper, times(3)).batchLoad(anyList());
+
+        cache.getAll(playerIds).join();
+        verify(mapper, times(3)).batchLoad(anyList());
+        assertThat(cache.stats().hitCount()).isEqualTo(250);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void coalesceConcurrentLoads() throws Exception {
+        final var release = new CountDownLatch(1);
+        when(mapper.batchLoad(anyList())).thenAnswer(inv -> {
+            release.await();
+            return players(inv.getArgument(0));
+        });
+        final var playerIds = List.of("player1", "player2", "player3");
+
+        final var requests = new ArrayList<CompletableFuture<Map<String, GamePlayerViewModel>>>();
+        for (int i = 0; i < 10; i++) {
+            requests.add(cache.getAll(playerIds));
+        }
+        release.countDown();
+
+        requests.forEach(request -> assertThat(request.join()).containsOnlyKeys(playerIds));
+        verify(mapper, times(1)).batchLoad(anyList());
+    }
+
+    @Test
+    public void missingPlayersAreOmitted() {
+        when(mapper.batchLoad(anyList())).thenReturn(Map.of());
+
+        assertThat(cache.getAll(List.of("unknown")).join()).isEmpty();
+    }
+
+}
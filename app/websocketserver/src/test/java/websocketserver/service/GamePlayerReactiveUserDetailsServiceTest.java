@@ -0,0 +1,65 @@
+package websocketserver.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import websocketserver.concurrent.BoundedWorkerPool;
+import websocketserver.model.GamePlayer;
+import websocketserver.repository.GamePlayerRepository;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+public class GamePlayerReactiveUserDetailsServiceTest {
+
+    private GamePlayerRepository repository;
+    private SimpleMeterRegistry meterRegistry;
+    private BoundedWorkerPool pool;
+    private GamePlayerReactiveUserDetailsService service;
+
+    @Before
+    public void setUp() {
+        repository = mock(GamePlayerRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        pool = new BoundedWorkerPool("player-lookup", 4, 100, meterRegistry);
+        service = new GamePlayerReactiveUserDetailsService(
+                repository, pool, 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void cacheFoundPlayer() {
+        final var player = new GamePlayer("player1", "{noop}password");
+        player.setPlayerId("player1");
+        when(repository.findById("player1")).thenReturn(Optional.of(player));
+
+        assertThat(service.findByUsername("player1").block()).isSameAs(player);
+        assertThat(service.findByUsername("player1").block()).isSameAs(player);
+
+        verify(repository, times(1)).findById("player1");
+        assertThat(meterRegistry.get("websocketserver.worker.queue.wait").tag("pool", "player-lookup").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void cacheNotFoundPlayer() {
+        when(repository.findById("unknown")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.findByUsername("unknown").block())
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.findByUsername("unknown").block())
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verify(repository, times(1)).findById("unknown");
+    }
+
+}
@@ -1,4 +1,5 @@
 import {Card, GameCommand, GameRule} from "../proto/GameServerService_pb";
+import {knownDeckCatalogueVersion} from "../models/GameModelAdapter";
 
 export class GameServerSocketClient {
 
@@ -16,7 +17,8 @@ export class GameServerSocketClient {
 
   sendNewConnection = (gameRoomId: string) => {
     const newConnectionMessage = this.newGameCommand(gameRoomId)
-    .setNewConnection(new GameCommand.NewConnection())
+    .setNewConnection(new GameCommand.NewConnection()
+      .setKnownDeckCatalogueVersion(knownDeckCatalogueVersion(gameRoomId)))
 
     this.send(newConnectionMessage);
   }
@@ -94,7 +96,8 @@ export class GameServerSocketClient {
 
   sendSnapshotRequest = (gameRoomId: string) => {
     const snapshotRequestMessage = this.newGameCommand(gameRoomId)
-    .setSnapshotRequest(new GameCommand.SnapshotRequest());
+    .setSnapshotRequest(new GameCommand.SnapshotRequest()
+      .setKnownDeckCatalogueVersion(knownDeckCatalogueVersion(gameRoomId)));
 
     this.send(snapshotRequestMessage);
   }
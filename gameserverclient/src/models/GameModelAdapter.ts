@@ -112,13 +112,34 @@ export const scoreBoardAdapter = (scoreBoard: ProtoScoreBoard): ScoreBoard => {
   return gameScore;
 }
 
-export const snapshotToGameState = (myPlayerId: string, state: ProtoGameState): GameState => {
+// 部屋ごとに受け取ったカードカタログ. 同じバージョンを持っていればサーバは deck を省略して送ってくる
+const deckCatalogues = new Map<string, { version: number, deck: Map<string, Card> }>();
+
+export const knownDeckCatalogueVersion = (gameRoomId: string): number => {
+  const catalogue = deckCatalogues.get(gameRoomId);
+  return catalogue ? catalogue.version : 0;
+}
+
+const deckCatalogueOf = (state: ProtoGameState): Map<string, Card> => {
   const gameRoomId = state.getGameRoomId();
-  const roomOwnerId = state.getRoomOwnerId();
+  const version = state.getDeckCatalogueVersion();
+  const catalogue = deckCatalogues.get(gameRoomId);
+  if (state.getDeckList().length === 0 && catalogue && catalogue.version === version) {
+    return catalogue.deck;
+  }
+
   const deck = new Map<string, Card>();
   state.getDeckList().forEach(card => {
     deck.set(card.getCardId(), card);
   });
+  deckCatalogues.set(gameRoomId, {version, deck});
+  return deck;
+}
+
+export const snapshotToGameState = (myPlayerId: string, state: ProtoGameState): GameState => {
+  const gameRoomId = state.getGameRoomId();
+  const roomOwnerId = state.getRoomOwnerId();
+  const deck = deckCatalogueOf(state);
 
   switch (state.getStateCase()) {
     case ProtoGameState.StateCase.START_PHASE:
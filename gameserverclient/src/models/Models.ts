@@ -20,6 +20,7 @@ export type GetGameRoomsRequest = {
 
 export type GetGameRoomsResponse = {
   gameRooms: GameRoom[];
+  nextExclusiveStartKey?: string;
 }
 
 export type UserRegisterRequest = {
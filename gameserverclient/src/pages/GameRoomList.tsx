@@ -170,6 +170,8 @@ const GameRoomList = (props: { gamePlayer: GamePlayer }) => {
   const history = useHistory();
   const pageLimit = 30;
   const [gameRooms, setGameRooms] = useState<GameRoom[]>([]);
+  const [currentKey, setCurrentKey] = useState<string | undefined>(undefined);
+  const [nextKey, setNextKey] = useState<string | undefined>(undefined);
   const [dialogOpen, setDialogOpen] = useState(false);
 
   useEffect(() => {
@@ -182,13 +184,14 @@ const GameRoomList = (props: { gamePlayer: GamePlayer }) => {
       exclusiveStartKey: exclusiveStartKey
     }
     gameServerApiClient.getGameRooms(request)
-    .then(_gameRooms => setGameRooms(_gameRooms.gameRooms))
+    .then(_gameRooms => {
+      setGameRooms(_gameRooms.gameRooms);
+      setCurrentKey(exclusiveStartKey);
+      setNextKey(_gameRooms.nextExclusiveStartKey);
+    })
     .catch(e => console.error(e));
   }
 
-  const beforeKey = (key: string) =>
-  key.slice(0, -1) + String.fromCharCode((key.charCodeAt(key.length - 1) - 1))
-
   return (
   <section className={classes.root}>
     <Container>
@@ -248,8 +251,8 @@ const GameRoomList = (props: { gamePlayer: GamePlayer }) => {
         </TableBody>
       </Table>
       <GameRoomPagination
-      lastExclusiveStartKey={gameRooms.length > 0 ? beforeKey(gameRooms[0].gameRoomId) : undefined}
-      nextExclusiveStartKey={gameRooms.length >= pageLimit ? gameRooms[gameRooms.length - 1].gameRoomId : undefined}
+      lastExclusiveStartKey={currentKey}
+      nextExclusiveStartKey={nextKey}
       loadNextRooms={loadRooms}/>
     </Container>
   </section>
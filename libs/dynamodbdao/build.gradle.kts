@@ -1,7 +1,18 @@
+plugins {
+    id("me.champeau.gradle.jmh") version "0.5.3"
+}
+
 dependencies {
     implementation("software.amazon.awssdk:dynamodb:2.15.35")
     implementation("software.amazon.awssdk:dynamodb-enhanced:2.15.35")
+    implementation("software.amazon.awssdk:netty-nio-client:2.15.35")
+    implementation("org.slf4j:slf4j-api:1.7.30")
 
     testImplementation("junit:junit:4.13.1")
     testImplementation("org.assertj:assertj-core:3.18.1")
-}
\ No newline at end of file
+}
+
+jmh {
+    jmhVersion = "1.28"
+    profilers = listOf("gc")
+}
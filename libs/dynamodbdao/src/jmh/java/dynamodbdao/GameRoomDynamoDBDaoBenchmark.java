@@ -0,0 +1,75 @@
+package dynamodbdao;
+
+import dynamodbdao.beans.GameRoom;
+import org.openjdk.jmh.annotations.*;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 呼び出しごとに TableSchema.fromBean でテーブルを組み立てていた以前の実装と,
+ * 静的なスキーマとテーブルを使い回す現在の実装の比較.
+ * <p>
+ * 実行: ./gradlew :libs:dynamodbdao:jmh (gc プロファイラで 1 呼び出しあたりの割り当て量も出力される)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameRoomDynamoDBDaoBenchmark {
+
+    private static final String TABLE_NAME = "game_room";
+
+    private GameRoomDynamoDBDao dao;
+    private GameRoom gameRoom;
+    private Key key;
+
+    @Setup
+    public void setUp() {
+        final var baseClient = DynamoDbClient.builder()
+                .endpointOverride(URI.create("http://localhost:8000"))
+                .region(Region.AP_NORTHEAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("dummy", "dummy")))
+                .httpClient(new StandInDynamoDbHttpClient())
+                .build();
+        dao = new GameRoomDynamoDBDao(baseClient, TABLE_NAME);
+
+        gameRoom = new GameRoom();
+        gameRoom.setGameRoomId("gameroom1");
+        gameRoom.setRoomOwnerId("roomowner1");
+        gameRoom.setGameState("START_PHASE");
+        gameRoom.setJoinedPlayerIds(List.of("roomowner1", "player2"));
+
+        key = Key.builder().partitionValue(gameRoom.getGameRoomId()).build();
+    }
+
+    @Benchmark
+    public void updateRoomWithBeanSchemaPerCall() {
+        dao.client.table(TABLE_NAME, TableSchema.fromBean(GameRoom.class)).putItem(gameRoom);
+    }
+
+    @Benchmark
+    public void updateRoomWithStaticSchema() {
+        dao.updateRoom(gameRoom);
+    }
+
+    @Benchmark
+    public GameRoom findByIdWithBeanSchemaPerCall() {
+        return dao.client.table(TABLE_NAME, TableSchema.fromBean(GameRoom.class)).getItem(key);
+    }
+
+    @Benchmark
+    public GameRoom findByIdWithStaticSchema() {
+        return dao.findById(gameRoom.getGameRoomId());
+    }
+
+}
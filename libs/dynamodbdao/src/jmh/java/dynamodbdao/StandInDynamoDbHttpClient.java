@@ -0,0 +1,55 @@
+package dynamodbdao;
+
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ネットワークを使わずに固定のレスポンスを返す DynamoDB のスタンドイン.
+ * クライアント側 (マッピング・リクエスト組み立て) のコストだけを計測するために使う.
+ */
+class StandInDynamoDbHttpClient implements SdkHttpClient {
+
+    private static final byte[] EMPTY_RESPONSE = "{}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] GET_ITEM_RESPONSE = ("{\"Item\":{"
+            + "\"gameRoomId\":{\"S\":\"gameroom1\"},"
+            + "\"roomOwnerId\":{\"S\":\"roomowner1\"},"
+            + "\"gameState\":{\"S\":\"START_PHASE\"},"
+            + "\"joinedPlayerIds\":{\"L\":[{\"S\":\"roomowner1\"},{\"S\":\"player2\"}]}"
+            + "}}").getBytes(StandardCharsets.UTF_8);
+
+    @Override
+    public ExecutableHttpRequest prepareRequest(HttpExecuteRequest request) {
+        final var target = request.httpRequest().firstMatchingHeader("X-Amz-Target").orElse("");
+        final var body = target.endsWith(".GetItem") ? GET_ITEM_RESPONSE : EMPTY_RESPONSE;
+
+        return new ExecutableHttpRequest() {
+            @Override
+            public HttpExecuteResponse call() {
+                return HttpExecuteResponse.builder()
+                        .response(SdkHttpResponse.builder()
+                                .statusCode(200)
+                                .putHeader("Content-Type", "application/x-amz-json-1.0")
+                                .putHeader("Content-Length", String.valueOf(body.length))
+                                .build())
+                        .responseBody(AbortableInputStream.create(new ByteArrayInputStream(body)))
+                        .build();
+            }
+
+            @Override
+            public void abort() {
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+    }
+
+}
@@ -0,0 +1,46 @@
+package dynamodbdao;
+
+import dynamodbdao.beans.GameRoom;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * 部屋一覧のページング用カーソル.
+ * <p>
+ * クライアントからは不透明な文字列として扱われ, 中身は GSI の ExclusiveStartKey を復元するのに必要な
+ * gameState, createdAt, gameRoomId を Base64 (URL safe) で詰めたもの.
+ */
+class GameRoomCursor {
+
+    private static final String SEPARATOR = "\n";
+
+    private GameRoomCursor() {
+    }
+
+    static String encode(GameRoom lastGameRoom) {
+        final var raw = lastGameRoom.getGameState()
+                + SEPARATOR + lastGameRoom.getCreatedAt()
+                + SEPARATOR + lastGameRoom.getGameRoomId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException カーソルとして解釈できない場合
+     */
+    static Map<String, AttributeValue> decode(String cursor) {
+        final var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        final var parts = raw.split(SEPARATOR, 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("invalid cursor: " + cursor);
+        }
+
+        return Map.of(
+                "gameState", AttributeValue.builder().s(parts[0]).build(),
+                "createdAt", AttributeValue.builder().n(String.valueOf(Long.parseLong(parts[1]))).build(),
+                "gameRoomId", AttributeValue.builder().s(parts[2]).build());
+    }
+
+}
@@ -0,0 +1,145 @@
+package dynamodbdao;
+
+import dynamodbdao.beans.GameRoom;
+import dynamodbdao.beans.GameRoomTableSchema;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncIndex;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * {@link GameRoomDynamoDBDao} のノンブロッキング版.
+ * <p>
+ * 全てのメソッドは I/O を待たずに CompletableFuture を返す. Akka 側ではそのまま CompletionStage として,
+ * WebFlux 側では Mono.fromFuture で扱う. コールバックは SDK の Netty イベントループ上で実行されるため,
+ * 呼び出し側で重い処理を続ける場合は自前のスレッドに移すこと.
+ */
+public class GameRoomDynamoDBAsyncDao {
+
+    private static final int MAX_CONCURRENCY = 100;
+    private static final Duration CONNECTION_ACQUISITION_TIMEOUT = Duration.ofSeconds(5);
+
+    protected final DynamoDbAsyncClient baseClient;
+    protected final DynamoDbEnhancedAsyncClient client;
+    protected final String tableName;
+    protected final DynamoDbAsyncTable<GameRoom> table;
+    protected final DynamoDbAsyncIndex<GameRoom> gameStateCreatedAtIndex;
+
+    private static final String JOINABLE_GAME_STATE = "START_PHASE";
+    private static final Expression HAS_VACANCY = Expression.builder()
+            .expression("vacancy > :zero")
+            .putExpressionValue(":zero", AttributeValue.builder().n("0").build())
+            .build();
+
+    private static final Expression ROOM_NOT_EXISTS = Expression.builder()
+            .expression("attribute_not_exists(gameRoomId)")
+            .build();
+
+    public GameRoomDynamoDBAsyncDao(
+            String endpoint, String accessKeyId, String accessKeySecret, String tableName
+    ) {
+        this(
+                DynamoDbAsyncClient.builder()
+                        .endpointOverride(URI.create(endpoint))
+                        .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKeyId, accessKeySecret)))
+                        .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                                .maxConcurrency(MAX_CONCURRENCY)
+                                .connectionAcquisitionTimeout(CONNECTION_ACQUISITION_TIMEOUT))
+                        .build(),
+                tableName);
+    }
+
+    public GameRoomDynamoDBAsyncDao(DynamoDbAsyncClient baseClient, String tableName) {
+        this.baseClient = baseClient;
+        this.client = DynamoDbEnhancedAsyncClient.builder()
+                .dynamoDbClient(baseClient)
+                .build();
+        this.tableName = tableName;
+        this.table = client.table(tableName, GameRoomTableSchema.INSTANCE);
+        this.gameStateCreatedAtIndex = table.index(GameRoom.GAME_STATE_CREATED_AT_INDEX);
+    }
+
+    public CompletableFuture<Void> putNewRoom(GameRoom gameRoom) {
+        return table.putItem(PutItemEnhancedRequest.builder(GameRoom.class)
+                .item(gameRoom)
+                .conditionExpression(ROOM_NOT_EXISTS)
+                .build());
+    }
+
+    public CompletableFuture<Void> updateRoom(GameRoom gameRoom) {
+        return table.putItem(gameRoom);
+    }
+
+    public CompletableFuture<GameRoom> findById(String gameRoomId) {
+        return table.getItem(Key.builder().partitionValue(gameRoomId).build());
+    }
+
+    /**
+     * 参加可能 (START_PHASE で空きがある) な部屋を新しい順に最大 limit 件取得する.
+     * 部屋一覧の GSI ({@link GameRoom#GAME_STATE_CREATED_AT_INDEX}) が必要. 既存のテーブルへの追加手順は README を参照.
+     *
+     * @param cursor 前のページの {@link GameRoomPage#getNextCursor()}. 最初のページは null
+     * @throws IllegalArgumentException limit が 0 以下の場合, cursor が不正な場合
+     */
+    public CompletableFuture<GameRoomPage> selectJoinable(int limit, String cursor) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+        final var request = QueryEnhancedRequest.builder()
+                .queryConditional(QueryConditional.keyEqualTo(k -> k.partitionValue(JOINABLE_GAME_STATE)))
+                .scanIndexForward(false)
+                .filterExpression(HAS_VACANCY)
+                .limit(limit)
+                .exclusiveStartKey(cursor == null ? null : GameRoomCursor.decode(cursor))
+                .build();
+
+        final var gameRooms = new ArrayList<GameRoom>(limit);
+        // フィルタで除外される部屋があるため, limit 件集まるまでページを読み進める
+        return gameStateCreatedAtIndex.query(request)
+                .flatMapIterable(Page::items)
+                .limit(limit)
+                .subscribe(gameRooms::add)
+                .thenApply(notUsed -> new GameRoomPage(
+                        gameRooms,
+                        gameRooms.size() < limit ? null : GameRoomCursor.encode(gameRooms.get(gameRooms.size() - 1))));
+    }
+
+    public CompletableFuture<GameRoom> deleteRoom(String gameRoomId) {
+        return table.deleteItem(Key.builder().partitionValue(gameRoomId).build());
+    }
+
+    /**
+     * 1回の BatchWriteItem で書き込む. 同一キーを複数含めることはできず, 合計 25 件まで.
+     */
+    public CompletableFuture<UnprocessedWrites> batchWrite(Collection<GameRoom> putRooms, Collection<String> deleteRoomIds) {
+        final var writeBatch = WriteBatch.builder(GameRoom.class).mappedTableResource(table);
+        putRooms.forEach(writeBatch::addPutItem);
+        deleteRoomIds.forEach(gameRoomId -> writeBatch.addDeleteItem(Key.builder().partitionValue(gameRoomId).build()));
+
+        return client.batchWriteItem(bldr -> bldr.writeBatches(writeBatch.build()))
+                .thenApply(result -> new UnprocessedWrites(
+                        result.unprocessedPutItemsForTable(table),
+                        result.unprocessedDeleteItemsForTable(table).stream()
+                                .map(key -> key.partitionKeyValue().s())
+                                .collect(Collectors.toList())));
+    }
+
+}
@@ -0,0 +1,15 @@
+package dynamodbdao;
+
+import dynamodbdao.beans.GameRoom;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * 部屋一覧の1ページ分. nextCursor が null なら次のページは無い.
+ */
+@Value
+public class GameRoomPage {
+    List<GameRoom> gameRooms;
+    String nextCursor;
+}
@@ -0,0 +1,270 @@
+package dynamodbdao;
+
+import dynamodbdao.beans.GameRoom;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GameRoom の更新をまとめて書き込む Write-Behind バッファ.
+ * <p>
+ * window の間に同じ gameRoomId へ行われた更新・削除は最後のものだけが残り (last-write-wins),
+ * window ごとに BatchWriteItem で最大 25 件ずつ書き込まれる. 1回のフラッシュ内の各チャンクは並行に書き込まれるが,
+ * 同じ部屋は1回のフラッシュに高々1件しか含まれず, 次のフラッシュは前のフラッシュの完了を待ってから始まるため,
+ * 同じ部屋に対する書き込みの順序は保たれる. close 時には残っている書き込みが無くなるまで, 書き込めなかったものも含めて
+ * {@link #CLOSE_TIMEOUT} の間フラッシュを繰り返し, それでも残ったものは捨ててログに残す.
+ */
+@Slf4j
+public class GameRoomWriteBehindBuffer implements AutoCloseable {
+
+    static final int MAX_BATCH_SIZE = 25;
+    static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(10);
+
+    private final GameRoomDynamoDBAsyncDao gameRoomDynamoDBDao;
+    private final Duration window;
+    private final ScheduledExecutorService flusher;
+
+    private final Object lock = new Object();
+    private Map<String, PendingWrite> pendingWrites = new LinkedHashMap<>();
+    private boolean closed = false;
+
+    private final AtomicLong submittedWrites = new AtomicLong();
+    private final AtomicLong flushedWrites = new AtomicLong();
+    private final AtomicLong droppedWrites = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    public GameRoomWriteBehindBuffer(GameRoomDynamoDBAsyncDao gameRoomDynamoDBDao, Duration window) {
+        this.gameRoomDynamoDBDao = gameRoomDynamoDBDao;
+        this.window = window;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "game-room-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final var windowMillis = window.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushSafely, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void update(GameRoom gameRoom) {
+        enqueue(new PendingWrite(gameRoom.getGameRoomId(), gameRoom));
+    }
+
+    public void delete(String gameRoomId) {
+        enqueue(new PendingWrite(gameRoomId, null));
+    }
+
+    private void enqueue(PendingWrite pendingWrite) {
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("write-behind buffer is already closed");
+            }
+            // remove してから put することで, 最後に書き込まれたものが末尾に並ぶ
+            pendingWrites.remove(pendingWrite.getGameRoomId());
+            pendingWrites.put(pendingWrite.getGameRoomId(), pendingWrite);
+        }
+        submittedWrites.incrementAndGet();
+    }
+
+    /**
+     * 溜まっている書き込みを即座にフラッシュし, 完了するまで待つ.
+     */
+    public void flush() {
+        try {
+            flusher.submit(this::flushSafely).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flushPendingWrites();
+        } catch (Exception e) {
+            log.error("Failed to flush game room writes", e);
+        }
+    }
+
+    private void flushPendingWrites() {
+        final Map<String, PendingWrite> writes;
+        synchronized (lock) {
+            if (pendingWrites.isEmpty()) {
+                return;
+            }
+            writes = pendingWrites;
+            pendingWrites = new LinkedHashMap<>();
+        }
+
+        final var startNanos = System.nanoTime();
+        final var chunkWrites = new ArrayList<CompletableFuture<Void>>();
+        var chunk = new ArrayList<PendingWrite>(MAX_BATCH_SIZE);
+        for (final var write : writes.values()) {
+            chunk.add(write);
+            if (chunk.size() == MAX_BATCH_SIZE) {
+                chunkWrites.add(writeChunk(chunk));
+                chunk = new ArrayList<>(MAX_BATCH_SIZE);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunkWrites.add(writeChunk(chunk));
+        }
+        // 順序を保つため, このフラッシュが終わるまで次のフラッシュは始めない (フラッシュ専用スレッドなのでブロックしてよい)
+        CompletableFuture.allOf(chunkWrites.toArray(CompletableFuture[]::new)).join();
+
+        final var elapsedNanos = System.nanoTime() - startNanos;
+        flushes.incrementAndGet();
+        totalFlushNanos.addAndGet(elapsedNanos);
+        maxFlushNanos.accumulateAndGet(elapsedNanos, Math::max);
+        log.debug("Flushed {} game room writes in {} ms", writes.size(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+
+    private CompletableFuture<Void> writeChunk(List<PendingWrite> chunk) {
+        final var putRooms = new ArrayList<GameRoom>(chunk.size());
+        final var deleteRoomIds = new ArrayList<String>();
+        for (final var write : chunk) {
+            if (write.isDelete()) {
+                deleteRoomIds.add(write.getGameRoomId());
+            } else {
+                putRooms.add(write.getGameRoom());
+            }
+        }
+
+        return gameRoomDynamoDBDao.batchWrite(putRooms, deleteRoomIds)
+                .handle((unprocessed, e) -> {
+                    if (e != null) {
+                        log.warn("Failed to write {} game room writes, they will be retried", chunk.size(), e);
+                        chunk.forEach(this::requeue);
+                        return null;
+                    }
+
+                    flushedWrites.addAndGet(chunk.size()
+                            - unprocessed.getPutRooms().size()
+                            - unprocessed.getDeleteRoomIds().size());
+                    unprocessed.getPutRooms().forEach(room -> requeue(new PendingWrite(room.getGameRoomId(), room)));
+                    unprocessed.getDeleteRoomIds().forEach(gameRoomId -> requeue(new PendingWrite(gameRoomId, null)));
+                    return null;
+                });
+    }
+
+    /**
+     * 書き込めなかったものを次回のフラッシュに回す. その間に新しい書き込みが来ていればそちらを優先する.
+     */
+    private void requeue(PendingWrite write) {
+        synchronized (lock) {
+            pendingWrites.putIfAbsent(write.getGameRoomId(), write);
+        }
+    }
+
+    public Stats getStats() {
+        final var flushCount = flushes.get();
+        return new Stats(
+                submittedWrites.get(),
+                flushedWrites.get(),
+                droppedWrites.get(),
+                flushCount,
+                flushCount == 0 ? Duration.ZERO : Duration.ofNanos(totalFlushNanos.get() / flushCount),
+                Duration.ofNanos(maxFlushNanos.get()));
+    }
+
+    @Override
+    public void close() {
+        close(CLOSE_TIMEOUT);
+    }
+
+    void close(Duration timeout) {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        final var deadlineNanos = System.nanoTime() + timeout.toNanos();
+        try {
+            flush();
+            // 失敗したものや未処理のものは requeue されているので, 無くなるか期限が来るまで window ごとに繰り返す
+            while (hasPendingWrites() && System.nanoTime() < deadlineNanos) {
+                TimeUnit.NANOSECONDS.sleep(Math.min(window.toNanos(), Math.max(0, deadlineNanos - System.nanoTime())));
+                flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Failed to flush game room writes on close", e);
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dropPendingWrites();
+        log.info("Game room write-behind buffer closed: {}", getStats());
+    }
+
+    private boolean hasPendingWrites() {
+        synchronized (lock) {
+            return !pendingWrites.isEmpty();
+        }
+    }
+
+    private void dropPendingWrites() {
+        final Map<String, PendingWrite> dropped;
+        synchronized (lock) {
+            dropped = pendingWrites;
+            pendingWrites = new LinkedHashMap<>();
+        }
+        if (dropped.isEmpty()) {
+            return;
+        }
+        droppedWrites.addAndGet(dropped.size());
+        log.error("Dropped {} game room writes that could not be flushed before close: {}", dropped.size(), dropped.keySet());
+    }
+
+    @Value
+    private static class PendingWrite {
+        String gameRoomId;
+        GameRoom gameRoom;
+
+        boolean isDelete() {
+            return gameRoom == null;
+        }
+    }
+
+    @Value
+    public static class Stats {
+        long submittedWrites;
+        long flushedWrites;
+        /**
+         * close までに書き込めずに捨てたもの.
+         */
+        long droppedWrites;
+        long flushes;
+        Duration averageFlushLatency;
+        Duration maxFlushLatency;
+
+        /**
+         * 合体によって省略された書き込みの割合. 0 なら全く合体できていない. 捨てたものは合体したものに数えない.
+         */
+        public double getCoalescingRatio() {
+            if (submittedWrites == 0) {
+                return 0.0;
+            }
+            return 1.0 - (double) (flushedWrites + droppedWrites) / submittedWrites;
+        }
+    }
+
+}
@@ -0,0 +1,19 @@
+package dynamodbdao;
+
+import dynamodbdao.beans.GameRoom;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * BatchWriteItem で書き込まれなかったもの.
+ */
+@Value
+public class UnprocessedWrites {
+    List<GameRoom> putRooms;
+    List<String> deleteRoomIds;
+
+    public boolean isEmpty() {
+        return putRooms.isEmpty() && deleteRoomIds.isEmpty();
+    }
+}
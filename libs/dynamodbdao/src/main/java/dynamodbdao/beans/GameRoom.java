@@ -3,20 +3,39 @@ package dynamodbdao.beans;
 import lombok.Data;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondaryPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondarySortKey;
 
 import java.util.List;
 
 @DynamoDbBean
 @Data
 public class GameRoom {
+    /**
+     * 参加受付中の部屋を新しい順に引くための GSI. createdAt を持つ部屋 (START_PHASE) だけが載る.
+     */
+    public static final String GAME_STATE_CREATED_AT_INDEX = "gameState-createdAt-index";
+
     String gameRoomId;
     String roomOwnerId;
     String gameState;
     List<String> joinedPlayerIds;
+    Long createdAt;
+    Integer vacancy;
 
     @DynamoDbPartitionKey
     public String getGameRoomId() {
         return gameRoomId;
     }
 
+    @DynamoDbSecondaryPartitionKey(indexNames = GAME_STATE_CREATED_AT_INDEX)
+    public String getGameState() {
+        return gameState;
+    }
+
+    @DynamoDbSecondarySortKey(indexNames = GAME_STATE_CREATED_AT_INDEX)
+    public Long getCreatedAt() {
+        return createdAt;
+    }
+
 }
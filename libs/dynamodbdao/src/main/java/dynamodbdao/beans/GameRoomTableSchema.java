@@ -0,0 +1,42 @@
+package dynamodbdao.beans;
+
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
+
+/**
+ * {@link GameRoom} の TableSchema.
+ * Bean のイントロスペクションを避けるため, リフレクションを使わない StaticTableSchema を一度だけ組み立てて使い回す.
+ */
+public class GameRoomTableSchema {
+
+    public static final TableSchema<GameRoom> INSTANCE = StaticTableSchema.builder(GameRoom.class)
+            .newItemSupplier(GameRoom::new)
+            .addAttribute(String.class, a -> a.name("gameRoomId")
+                    .getter(GameRoom::getGameRoomId)
+                    .setter(GameRoom::setGameRoomId)
+                    .tags(StaticAttributeTags.primaryPartitionKey()))
+            .addAttribute(String.class, a -> a.name("roomOwnerId")
+                    .getter(GameRoom::getRoomOwnerId)
+                    .setter(GameRoom::setRoomOwnerId))
+            .addAttribute(String.class, a -> a.name("gameState")
+                    .getter(GameRoom::getGameState)
+                    .setter(GameRoom::setGameState)
+                    .tags(StaticAttributeTags.secondaryPartitionKey(GameRoom.GAME_STATE_CREATED_AT_INDEX)))
+            .addAttribute(EnhancedType.listOf(String.class), a -> a.name("joinedPlayerIds")
+                    .getter(GameRoom::getJoinedPlayerIds)
+                    .setter(GameRoom::setJoinedPlayerIds))
+            .addAttribute(Long.class, a -> a.name("createdAt")
+                    .getter(GameRoom::getCreatedAt)
+                    .setter(GameRoom::setCreatedAt)
+                    .tags(StaticAttributeTags.secondarySortKey(GameRoom.GAME_STATE_CREATED_AT_INDEX)))
+            .addAttribute(Integer.class, a -> a.name("vacancy")
+                    .getter(GameRoom::getVacancy)
+                    .setter(GameRoom::setVacancy))
+            .build();
+
+    private GameRoomTableSchema() {
+    }
+
+}
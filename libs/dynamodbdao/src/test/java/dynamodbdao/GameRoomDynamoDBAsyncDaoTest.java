@@ -0,0 +1,153 @@
+package dynamodbdao;
+
+import dynamodbdao.beans.GameRoom;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class GameRoomDynamoDBAsyncDaoTest {
+
+    private static final String tableName = "game_room_" + UUID.randomUUID();
+    private GameRoomDynamoDBAsyncDao dao;
+
+    @Before
+    public void setUp() {
+        dao = new GameRoomDynamoDBAsyncDao(
+                "http://localhost:8000",
+                "fakeMyKeyId",
+                "fakeSecretAccessKey",
+                tableName
+        );
+
+        dao.baseClient.createTable(bldr -> bldr
+                .tableName(tableName)
+                .attributeDefinitions(List.of(
+                        AttributeDefinition.builder()
+                                .attributeName("gameRoomId")
+                                .attributeType(ScalarAttributeType.S)
+                                .build(),
+                        AttributeDefinition.builder()
+                                .attributeName("gameState")
+                                .attributeType(ScalarAttributeType.S)
+                                .build(),
+                        AttributeDefinition.builder()
+                                .attributeName("createdAt")
+                                .attributeType(ScalarAttributeType.N)
+                                .build()
+                ))
+                .keySchema(List.of(
+                        KeySchemaElement.builder()
+                                .keyType(KeyType.HASH)
+                                .attributeName("gameRoomId")
+                                .build()
+                ))
+                .globalSecondaryIndexes(GlobalSecondaryIndex.builder()
+                        .indexName(GameRoom.GAME_STATE_CREATED_AT_INDEX)
+                        .keySchema(
+                                KeySchemaElement.builder()
+                                        .keyType(KeyType.HASH)
+                                        .attributeName("gameState")
+                                        .build(),
+                                KeySchemaElement.builder()
+                                        .keyType(KeyType.RANGE)
+                                        .attributeName("createdAt")
+                                        .build())
+                        .projection(Projection.builder().projectionType(ProjectionType.ALL).build())
+                        .provisionedThroughput(ProvisionedThroughput.builder()
+                                .readCapacityUnits(5L)
+                                .writeCapacityUnits(5L)
+                                .build())
+                        .build())
+                .provisionedThroughput(ProvisionedThroughput.builder()
+                        .readCapacityUnits(5L)
+                        .writeCapacityUnits(5L)
+                        .build()
+                )).join();
+    }
+
+    @After
+    public void cleanUp() {
+        dao.baseClient.deleteTable(bldr -> bldr.tableName(tableName)).join();
+    }
+
+    private static GameRoom room(int i, String gameState, Long createdAt, Integer vacancy) {
+        final var room = new GameRoom();
+        room.setGameRoomId(String.format("%03d", i));
+        room.setRoomOwnerId("roomowner" + i);
+        room.setGameState(gameState);
+        room.setJoinedPlayerIds(List.of(room.getRoomOwnerId()));
+        room.setCreatedAt(createdAt);
+        room.setVacancy(vacancy);
+        return room;
+    }
+
+    @Test
+    public void putNewRoom() {
+        final var newRoom = room(1, "START_PHASE", 1L, 3);
+
+        dao.putNewRoom(newRoom).join();
+        assertThat(dao.findById(newRoom.getGameRoomId()).join()).isEqualTo(newRoom);
+
+        assertThatThrownBy(() -> dao.putNewRoom(newRoom).join());
+    }
+
+    @Test
+    public void selectJoinable() {
+        final var joinableRooms = IntStream.range(0, 40)
+                .mapToObj(i -> room(i, "START_PHASE", 1000L + i, 1 + i % 3))
+                .collect(Collectors.toList());
+        final var fullRooms = IntStream.range(40, 50)
+                .mapToObj(i -> room(i, "START_PHASE", 1000L + i, 0))
+                .collect(Collectors.toList());
+        final var playingRooms = IntStream.range(50, 60)
+                .mapToObj(i -> room(i, "GAME_PLAYING", null, null))
+                .collect(Collectors.toList());
+        final var allRooms = new ArrayList<GameRoom>();
+        allRooms.addAll(joinableRooms);
+        allRooms.addAll(fullRooms);
+        allRooms.addAll(playingRooms);
+        allRooms.forEach(room -> dao.updateRoom(room).join());
+
+        final var firstPage = dao.selectJoinable(30, null).join();
+        assertThat(firstPage.getGameRooms()).hasSize(30);
+        assertThat(firstPage.getNextCursor()).isNotNull();
+
+        final var lastPage = dao.selectJoinable(30, firstPage.getNextCursor()).join();
+        assertThat(lastPage.getGameRooms()).hasSize(10);
+        assertThat(lastPage.getNextCursor()).isNull();
+
+        final var result = new ArrayList<GameRoom>();
+        result.addAll(firstPage.getGameRooms());
+        result.addAll(lastPage.getGameRooms());
+
+        // 新しい順
+        final var expected = new ArrayList<>(joinableRooms);
+        java.util.Collections.reverse(expected);
+        assertThat(result).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    public void selectJoinableWithInvalidCursor() {
+        assertThatThrownBy(() -> dao.selectJoinable(30, "invalid-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void selectJoinableWithInvalidLimit() {
+        assertThatThrownBy(() -> dao.selectJoinable(0, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> dao.selectJoinable(-1, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -0,0 +1,144 @@
+package dynamodbdao;
+
+import dynamodbdao.beans.GameRoom;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GameRoomWriteBehindBufferTest {
+
+    private static final String tableName = "game_room_" + UUID.randomUUID();
+    private GameRoomDynamoDBDao dao;
+    private GameRoomDynamoDBAsyncDao asyncDao;
+    private GameRoomWriteBehindBuffer buffer;
+
+    @Before
+    public void setUp() {
+        dao = new GameRoomDynamoDBDao(
+                "http://localhost:8000",
+                "fakeMyKeyId",
+                "fakeSecretAccessKey",
+                tableName
+        );
+
+        dao.baseClient.createTable(bldr -> bldr
+                .tableName(tableName)
+                .attributeDefinitions(List.of(
+                        AttributeDefinition.builder()
+                                .attributeName("gameRoomId")
+                                .attributeType(ScalarAttributeType.S)
+                                .build()
+                ))
+                .keySchema(List.of(
+                        KeySchemaElement.builder()
+                                .keyType(KeyType.HASH)
+                                .attributeName("gameRoomId")
+                                .build()
+                ))
+                .provisionedThroughput(ProvisionedThroughput.builder()
+                        .readCapacityUnits(5L)
+                        .writeCapacityUnits(5L)
+                        .build()
+                ));
+
+        asyncDao = new GameRoomDynamoDBAsyncDao(
+                "http://localhost:8000",
+                "fakeMyKeyId",
+                "fakeSecretAccessKey",
+                tableName
+        );
+        // 明示的に flush するため, 自動フラッシュは実質起こらない長さにしておく
+        buffer = new GameRoomWriteBehindBuffer(asyncDao, Duration.ofMinutes(10));
+    }
+
+    @After
+    public void cleanUp() {
+        buffer.close();
+        dao.baseClient.deleteTable(bldr -> bldr.tableName(tableName));
+    }
+
+    private static GameRoom room(String gameRoomId, String gameState, List<String> joinedPlayerIds) {
+        final var room = new GameRoom();
+        room.setGameRoomId(gameRoomId);
+        room.setRoomOwnerId("roomowner1");
+        room.setGameState(gameState);
+        room.setJoinedPlayerIds(joinedPlayerIds);
+        return room;
+    }
+
+    @Test
+    public void coalesceUpdatesWithLastWriteWins() {
+        buffer.update(room("gameroom1", "START_PHASE", List.of("p1")));
+        buffer.update(room("gameroom1", "START_PHASE", List.of("p1", "p2")));
+        buffer.update(room("gameroom1", "START_PHASE", List.of("p1", "p2", "p3")));
+        final var last = room("gameroom1", "GAME_PLAYING", List.of("p1", "p2", "p3"));
+        buffer.update(last);
+
+        buffer.flush();
+
+        assertThat(dao.findById("gameroom1")).isEqualTo(last);
+        final var stats = buffer.getStats();
+        assertThat(stats.getSubmittedWrites()).isEqualTo(4);
+        assertThat(stats.getFlushedWrites()).isEqualTo(1);
+        assertThat(stats.getCoalescingRatio()).isEqualTo(0.75);
+    }
+
+    @Test
+    public void deleteOverridesPendingUpdate() {
+        dao.putNewRoom(room("gameroom1", "START_PHASE", List.of("p1")));
+
+        buffer.update(room("gameroom1", "START_PHASE", List.of("p1", "p2")));
+        buffer.delete("gameroom1");
+        buffer.flush();
+
+        assertThat(dao.findById("gameroom1")).isNull();
+    }
+
+    @Test
+    public void flushInChunksAndOnClose() {
+        final var rooms = IntStream.range(0, 60)
+                .mapToObj(i -> room(String.format("%03d", i), "START_PHASE", List.of("p" + i)))
+                .collect(Collectors.toList());
+        rooms.forEach(buffer::update);
+
+        buffer.close();
+
+        rooms.forEach(room -> assertThat(dao.findById(room.getGameRoomId())).isEqualTo(room));
+        assertThat(buffer.getStats().getFlushedWrites()).isEqualTo(60);
+    }
+
+    @Test
+    public void dropWritesStillFailingAtCloseDeadline() {
+        final var failingDao = new GameRoomDynamoDBAsyncDao(
+                "http://localhost:8000", "fakeMyKeyId", "fakeSecretAccessKey", tableName) {
+            @Override
+            public CompletableFuture<UnprocessedWrites> batchWrite(Collection<GameRoom> putRooms, Collection<String> deleteRoomIds) {
+                return CompletableFuture.failedFuture(new IllegalStateException("throttled"));
+            }
+        };
+        final var failingBuffer = new GameRoomWriteBehindBuffer(failingDao, Duration.ofMillis(20));
+        failingBuffer.update(room("gameroom1", "START_PHASE", List.of("p1")));
+        failingBuffer.update(room("gameroom2", "START_PHASE", List.of("p2")));
+
+        failingBuffer.close(Duration.ofMillis(200));
+
+        // retried until the deadline, then dropped rather than counted as coalesced
+        final var stats = failingBuffer.getStats();
+        assertThat(stats.getFlushes()).isGreaterThan(1);
+        assertThat(stats.getFlushedWrites()).isZero();
+        assertThat(stats.getDroppedWrites()).isEqualTo(2);
+        assertThat(stats.getCoalescingRatio()).isZero();
+    }
+
+}
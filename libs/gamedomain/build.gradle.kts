@@ -4,4 +4,5 @@ dependencies {
     implementation(platform("com.typesafe.akka:akka-bom_$ScalaBinary:2.6.14"))
     implementation("com.typesafe.akka:akka-actor-typed_$ScalaBinary")
     implementation("com.fasterxml.jackson.core:jackson-annotations:2.11.4")
-}
\ No newline at end of file
+    implementation("com.fasterxml.jackson.core:jackson-databind:2.11.4")
+}
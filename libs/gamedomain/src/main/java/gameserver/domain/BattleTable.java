@@ -0,0 +1,162 @@
+package gameserver.domain;
+
+/**
+ * カード同士の勝敗表と, それを使ったトリックの判定.
+ * <p>
+ * 勝敗はカードの種類 (数字カードは色と数字, タイグレスは海賊/逃走のどちらとして出したか) だけで決まるので,
+ * カードを種類の番号 (kind) に変換し, 種類同士の勝敗を起動時に {@link Card#battle(Card)} から一度だけ計算しておく.
+ * 種類は 64 未満なので, 各行を long 1 つのビット列で持つ.
+ * <p>
+ * 勝敗はデッキの種類によらないため, 表はスタンダード・拡張で共通.
+ */
+public final class BattleTable {
+
+    private static final int NUMBERS_PER_COLOR = Card.NumberCard.MAX_CARD_NUMBER - Card.NumberCard.MIN_CARD_NUMBER + 1;
+    private static final int NUMBER_KINDS = Card.NumberCard.CardColor.values().length * NUMBERS_PER_COLOR;
+
+    public static final int ESCAPE = NUMBER_KINDS;
+    public static final int PIRATES = ESCAPE + 1;
+    public static final int TIGRESS_AS_ESCAPE = PIRATES + 1;
+    public static final int TIGRESS_AS_PIRATES = TIGRESS_AS_ESCAPE + 1;
+    public static final int SKULKING = TIGRESS_AS_PIRATES + 1;
+    public static final int MERMAID = SKULKING + 1;
+    public static final int KRAKEN = MERMAID + 1;
+    public static final int KINDS = KRAKEN + 1;
+
+    /**
+     * {@link #judge(int[], int)} で該当するカードが無い場合の位置.
+     */
+    public static final int NONE = 0xFF;
+
+    // KEEPS[winner] の next ビットが立っていれば, 場の勝者 winner は次に出された next に負けない
+    private static final long[] KEEPS = new long[KINDS];
+    private static final int[] BONUS = new int[KINDS];
+
+    static {
+        final var representatives = new Card[KINDS];
+        for (final var color : Card.NumberCard.CardColor.values()) {
+            for (int n = Card.NumberCard.MIN_CARD_NUMBER; n <= Card.NumberCard.MAX_CARD_NUMBER; n++) {
+                final var card = new Card.NumberCard(CardId.of(Card.NumberCard.cardIdOf(color, n)), n, color);
+                representatives[numberKind(color, n)] = card;
+                BONUS[numberKind(color, n)] = card.getBonusPoint();
+            }
+        }
+        representatives[ESCAPE] = new Card.StandardEscape(CardId.of("escape:0"));
+        representatives[PIRATES] = new Card.StandardPirates(CardId.of("pirates:0"));
+        representatives[TIGRESS_AS_ESCAPE] = Card.Tigress.newInstance().withIsPirates(false);
+        representatives[TIGRESS_AS_PIRATES] = Card.Tigress.newInstance().withIsPirates(true);
+        representatives[SKULKING] = Card.Skulking.newInstance();
+        representatives[MERMAID] = new Card.Mermaid(CardId.of("mermaid:0"));
+        representatives[KRAKEN] = Card.Kraken.newInstance();
+
+        for (int winner = 0; winner < KINDS; winner++) {
+            for (int next = 0; next < KINDS; next++) {
+                if (representatives[winner].battle(representatives[next])) {
+                    KEEPS[winner] |= 1L << next;
+                }
+            }
+        }
+    }
+
+    private BattleTable() {
+    }
+
+    private static int numberKind(Card.NumberCard.CardColor color, int number) {
+        return color.ordinal() * NUMBERS_PER_COLOR + number - Card.NumberCard.MIN_CARD_NUMBER;
+    }
+
+    /**
+     * タイグレスは海賊として出された場合のみ海賊, それ以外 (未指定を含む) は逃走として扱う.
+     */
+    public static int kindOf(Card card) {
+        if (card instanceof Card.NumberCard) {
+            final var numberCard = (Card.NumberCard) card;
+            return numberKind(numberCard.getCardColor(), numberCard.getNumber());
+        } else if (card instanceof Card.Pirates) {
+            return PIRATES;
+        } else if (card instanceof Card.Escape) {
+            return ESCAPE;
+        } else if (card instanceof Card.Tigress) {
+            return Boolean.TRUE.equals(((Card.Tigress) card).getIsPirates()) ? TIGRESS_AS_PIRATES : TIGRESS_AS_ESCAPE;
+        } else if (card instanceof Card.Skulking) {
+            return SKULKING;
+        } else if (card instanceof Card.Mermaid) {
+            return MERMAID;
+        } else if (card instanceof Card.Kraken) {
+            return KRAKEN;
+        }
+        throw new IllegalArgumentException("illegal card detected");
+    }
+
+    /**
+     * @return 場の勝者 winner が次に出された next に負けない場合は true ({@link Card#battle(Card)} と同じ)
+     */
+    public static boolean keeps(int winner, int next) {
+        return (KEEPS[winner] & (1L << next)) != 0;
+    }
+
+    public static boolean isEscape(int kind) {
+        return kind == ESCAPE || kind == TIGRESS_AS_ESCAPE;
+    }
+
+    /**
+     * 出された順に並んだカードの種類 kinds[0, length) から, 1 回の走査でトリックの結果を求める.
+     * 結果は long 1 つに詰めて返すので, {@link #winner(long)} 等で取り出す.
+     * クラーケンが出た場合の「クラーケンが無ければ勝っていたカード」も同じ走査で求める.
+     */
+    public static long judge(int[] kinds, int length) {
+        int winner = NONE;
+        int winnerWithoutKraken = NONE;
+        int firstMermaid = NONE;
+        int piratesCount = 0;
+        int baseBonus = 0;
+        for (int i = 0; i < length; i++) {
+            final int kind = kinds[i];
+            if (kind == PIRATES) {
+                piratesCount++;
+            } else if (kind == MERMAID && firstMermaid == NONE) {
+                firstMermaid = i;
+            }
+            baseBonus += BONUS[kind];
+
+            if (winner == NONE || !keeps(kinds[winner], kind)) {
+                winner = i;
+            }
+            if (kind != KRAKEN && (winnerWithoutKraken == NONE || !keeps(kinds[winnerWithoutKraken], kind))) {
+                winnerWithoutKraken = i;
+            }
+        }
+        return winner
+                | (long) winnerWithoutKraken << 8
+                | (long) firstMermaid << 16
+                | (long) piratesCount << 24
+                | (long) baseBonus << 32;
+    }
+
+    public static int winner(long judged) {
+        return (int) (judged & 0xFF);
+    }
+
+    /**
+     * @return クラーケンを除いた場合の勝者の位置. クラーケンしか無い場合は {@link #NONE}
+     */
+    public static int winnerWithoutKraken(long judged) {
+        return (int) (judged >>> 8 & 0xFF);
+    }
+
+    /**
+     * @return 最初に出されたマーメイドの位置. 無い場合は {@link #NONE}
+     */
+    public static int firstMermaid(long judged) {
+        return (int) (judged >>> 16 & 0xFF);
+    }
+
+    public static int piratesCount(long judged) {
+        return (int) (judged >>> 24 & 0xFF);
+    }
+
+    public static int baseBonus(long judged) {
+        return (int) (judged >>> 32);
+    }
+
+}
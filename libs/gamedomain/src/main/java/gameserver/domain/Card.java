@@ -1,6 +1,7 @@
 package gameserver.domain;
 
 import akka.serialization.jackson.CborSerializable;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import lombok.Value;
@@ -31,8 +32,8 @@ public interface Card extends CborSerializable {
 
     @Value
     class NumberCard implements Card {
-        private static final int MAX_CARD_NUMBER = 14;
-        private static final int MIN_CARD_NUMBER = 1;
+        static final int MAX_CARD_NUMBER = 14;
+        static final int MIN_CARD_NUMBER = 1;
 
         CardId cardId;
         int number;
@@ -69,6 +70,7 @@ public interface Card extends CborSerializable {
             ;
         }
 
+        @JsonIgnore
         public int getBonusPoint() {
             if (number != MAX_CARD_NUMBER) {
                 return 0;
@@ -84,11 +86,15 @@ public interface Card extends CborSerializable {
             return Stream.of(CardColor.values())
                     .flatMap(color -> Stream.iterate(MIN_CARD_NUMBER, n -> n <= MAX_CARD_NUMBER, n -> n + 1)
                             .map(n -> new NumberCard(
-                                    new CardId("number:" + color + ':' + n),
+                                    CardId.of(cardIdOf(color, n)),
                                     n, color
                             )))
                     .collect(Collectors.toUnmodifiableList());
         }
+
+        static String cardIdOf(CardColor color, int number) {
+            return "number:" + color + ':' + number;
+        }
     }
 
     interface Pirates extends Card {
@@ -107,7 +113,7 @@ public interface Card extends CborSerializable {
             return Stream
                     .iterate(0, i -> i < n, i -> i + 1)
                     .map(i -> new StandardEscape(
-                            new CardId("pirates:" + i)
+                            CardId.of("pirates:" + i)
                     ))
                     .collect(Collectors.toUnmodifiableList());
         }
@@ -119,7 +125,7 @@ public interface Card extends CborSerializable {
         CardId cardId;
 
         public static RoiseDLaney newInstance() {
-            return new RoiseDLaney(new CardId("roiseDLaney"));
+            return new RoiseDLaney(CardId.of("roiseDLaney"));
         }
 
     }
@@ -129,7 +135,7 @@ public interface Card extends CborSerializable {
         CardId cardId;
 
         public static BahijTheBandit newInstance() {
-            return new BahijTheBandit(new CardId("bahijTheBandit"));
+            return new BahijTheBandit(CardId.of("bahijTheBandit"));
         }
     }
 
@@ -140,7 +146,7 @@ public interface Card extends CborSerializable {
 
         public static RascalOfRoatan newInstance() {
             return new RascalOfRoatan(
-                    new CardId("rascalOfRoatan"),
+                    CardId.of("rascalOfRoatan"),
                     null);
         }
 
@@ -151,7 +157,7 @@ public interface Card extends CborSerializable {
         CardId cardId;
 
         public static JuanitaJade newInstance() {
-            return new JuanitaJade(new CardId("juanitaJade"));
+            return new JuanitaJade(CardId.of("juanitaJade"));
         }
     }
 
@@ -160,7 +166,7 @@ public interface Card extends CborSerializable {
         CardId cardId;
 
         public static HarryTheGiant newInstance() {
-            return new HarryTheGiant(new CardId("harryTheGiant"));
+            return new HarryTheGiant(CardId.of("harryTheGiant"));
         }
     }
 
@@ -175,7 +181,7 @@ public interface Card extends CborSerializable {
             return Stream
                     .iterate(0, i -> i < n, i -> i + 1)
                     .map(i -> new StandardEscape(
-                            new CardId("escape:" + i)
+                            CardId.of("escape:" + i)
                     ))
                     .collect(Collectors.toUnmodifiableList());
         }
@@ -198,7 +204,7 @@ public interface Card extends CborSerializable {
         Boolean isPirates;
 
         public static Tigress newInstance() {
-            return new Tigress(new CardId("tigress"), null);
+            return new Tigress(CardId.of("tigress"), null);
         }
 
         @Override
@@ -226,7 +232,7 @@ public interface Card extends CborSerializable {
         CardId cardId;
 
         public static Skulking newInstance() {
-            return new Skulking(new CardId("skulking"));
+            return new Skulking(CardId.of("skulking"));
         }
 
         @Override
@@ -242,7 +248,7 @@ public interface Card extends CborSerializable {
         public static List<Mermaid> mermaidCards(int n) {
             return Stream
                     .iterate(0, i -> i < n, i -> i + 1)
-                    .map(i -> new Mermaid(new CardId("mermaid:" + i)))
+                    .map(i -> new Mermaid(CardId.of("mermaid:" + i)))
                     .collect(Collectors.toUnmodifiableList());
         }
 
@@ -259,7 +265,7 @@ public interface Card extends CborSerializable {
         CardId cardId;
 
         public static Kraken newInstance() {
-            return new Kraken(new CardId("kraken"));
+            return new Kraken(CardId.of("kraken"));
         }
 
         @Override
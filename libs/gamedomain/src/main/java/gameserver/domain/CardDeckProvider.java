@@ -1,37 +1,93 @@
 package gameserver.domain;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+/**
+ * デッキの種類ごとのカードの一覧 (カタログ).
+ * <p>
+ * カードは状態を持たないので, カタログは起動時に一度だけ作り, 全ての部屋のデッキで同じインスタンスを共有する.
+ * デッキ ({@link Deck}) はカードのインデックスだけを持ち, {@link #cardOf(int)} でここからカードを引く.
+ */
 public class CardDeckProvider {
 
-    public static LinkedList<Card> standardDeck() {
-        final var deck = new LinkedList<Card>();
+    private static final AtomicReferenceArray<Card> CARDS = new AtomicReferenceArray<>(CardRegistry.MAX_CARDS);
+    private static final Map<GameRule.DeckType, List<Card>> CATALOGUES = new EnumMap<>(GameRule.DeckType.class);
+
+    static {
+        final var standard = new ArrayList<Card>();
+        standard.addAll(Card.NumberCard.allCards());
+        standard.addAll(Card.StandardEscape.standardEscapes(5));
+        standard.addAll(Card.StandardPirates.standardPirates(5));
+        standard.add(Card.Tigress.newInstance());
+        standard.add(Card.Skulking.newInstance());
 
-        deck.addAll(Card.NumberCard.allCards());
-        deck.addAll(Card.StandardEscape.standardEscapes(5));
-        deck.addAll(Card.StandardPirates.standardPirates(5));
-        deck.add(Card.Tigress.newInstance());
-        deck.add(Card.Skulking.newInstance());
+        final var expansion = new ArrayList<Card>();
+        expansion.addAll(Card.NumberCard.allCards());
+        expansion.addAll(Card.StandardEscape.standardEscapes(5));
+        expansion.addAll(Card.Mermaid.mermaidCards(2));
+        expansion.add(Card.RoiseDLaney.newInstance());
+        expansion.add(Card.BahijTheBandit.newInstance());
+        expansion.add(Card.RascalOfRoatan.newInstance());
+        expansion.add(Card.JuanitaJade.newInstance());
+        expansion.add(Card.HarryTheGiant.newInstance());
+        expansion.add(Card.Tigress.newInstance());
+        expansion.add(Card.Skulking.newInstance());
+        expansion.add(Card.Kraken.newInstance());
+
+        CATALOGUES.put(GameRule.DeckType.STANDARD, flyweights(standard));
+        CATALOGUES.put(GameRule.DeckType.EXPANSION, flyweights(expansion));
+    }
 
-        return deck;
+    private static List<Card> flyweights(List<Card> cards) {
+        final var catalogue = new ArrayList<Card>(cards.size());
+        for (final var card : cards) {
+            final var index = card.getCardId().getIndex();
+            CARDS.compareAndSet(index, null, card);
+            catalogue.add(CARDS.get(index));
+        }
+        return List.copyOf(catalogue);
+    }
+
+    public static List<Card> catalogue(GameRule.DeckType deckType) {
+        return CATALOGUES.get(deckType);
+    }
+
+    public static Card cardOf(int index) {
+        final var card = CARDS.get(index);
+        if (card == null) {
+            throw new IllegalArgumentException("unknown card index: " + index);
+        }
+        return card;
+    }
+
+    /**
+     * カタログに無いカード (テスト用のカード等) をデッキに入れる場合に登録する.
+     * カードは全ての部屋で共有されるため, 既に登録されているものと異なるカード (isPirates を決めた Tigress 等) は受け付けない.
+     *
+     * @throws IllegalArgumentException 同じインデックスに異なるカードが登録されている場合
+     */
+    static void register(Card card) {
+        final var index = card.getCardId().getIndex();
+        if (CARDS.compareAndSet(index, null, card)) {
+            return;
+        }
+        final var registered = CARDS.get(index);
+        if (!registered.equals(card)) {
+            throw new IllegalArgumentException("card differs from the registered one: " + card + ", registered: " + registered);
+        }
+    }
+
+    public static LinkedList<Card> standardDeck() {
+        return new LinkedList<>(catalogue(GameRule.DeckType.STANDARD));
     }
 
     public static LinkedList<Card> expansionDeck() {
-        final var deck = new LinkedList<Card>();
-
-        deck.addAll(Card.NumberCard.allCards());
-        deck.addAll(Card.StandardEscape.standardEscapes(5));
-        deck.addAll(Card.Mermaid.mermaidCards(2));
-        deck.add(Card.RoiseDLaney.newInstance());
-        deck.add(Card.BahijTheBandit.newInstance());
-        deck.add(Card.RascalOfRoatan.newInstance());
-        deck.add(Card.JuanitaJade.newInstance());
-        deck.add(Card.HarryTheGiant.newInstance());
-        deck.add(Card.Tigress.newInstance());
-        deck.add(Card.Skulking.newInstance());
-        deck.add(Card.Kraken.newInstance());
-
-        return deck;
+        return new LinkedList<>(catalogue(GameRule.DeckType.EXPANSION));
     }
 
 }
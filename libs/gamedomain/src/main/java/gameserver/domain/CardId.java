@@ -1,8 +1,163 @@
 package gameserver.domain;
 
-import lombok.Value;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * カードの識別子.
+ * <p>
+ * 同値性は {@link CardRegistry} のインデックスで判定する. 文字列の ID は旧形式のデータや
+ * 文字列で通信するクライアントとの互換のためだけに保持している.
+ * {@link CardRegistry} に無い ID (テスト用のカード等) には, 登録済みのカードの後ろのインデックスを
+ * プロセス内で割り当てる. そのインデックスはプロセスをまたいで安定しないため, 永続化には ID を使う.
+ * 割り当てたものは解放されないため, クライアントから届いた ID は {@link CardRegistry#find(String)} で引くこと.
+ */
+public final class CardId {
+
+    private static final AtomicReferenceArray<CardId> BY_INDEX = new AtomicReferenceArray<>(CardRegistry.MAX_CARDS);
+    private static final Map<String, CardId> BY_ID = new ConcurrentHashMap<>();
+    private static final String INDEX_KEY_PREFIX = "#";
+
+    static {
+        for (int i = 0; i < CardRegistry.size(); i++) {
+            final var cardId = new CardId(i, CardRegistry.idOf(i));
+            BY_INDEX.set(i, cardId);
+            BY_ID.put(cardId.id, cardId);
+        }
+    }
+
+    private final int index;
+    private final String id;
+
+    private CardId(int index, String id) {
+        this.index = index;
+        this.id = id;
+    }
+
+    /**
+     * 互換のためのコンストラクタ. 通常は {@link #of(String)} を使う.
+     */
+    public CardId(String id) {
+        this(of(id).index, id);
+    }
+
+    public static CardId of(int index) {
+        final CardId cardId = index >= 0 && index < CardRegistry.MAX_CARDS ? BY_INDEX.get(index) : null;
+        if (cardId == null) {
+            throw new IllegalArgumentException("unknown card index: " + index);
+        }
+        return cardId;
+    }
+
+    public static CardId of(String id) {
+        final var cardId = BY_ID.get(id);
+        if (cardId != null) {
+            return cardId;
+        }
+        return BY_ID.computeIfAbsent(id, CardId::intern);
+    }
+
+    private static CardId intern(String id) {
+        for (int i = CardRegistry.size(); i < CardRegistry.MAX_CARDS; i++) {
+            final var cardId = new CardId(i, id);
+            if (BY_INDEX.compareAndSet(i, null, cardId)) {
+                return cardId;
+            }
+        }
+        throw new IllegalStateException("too many card ids: " + id);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public boolean isRegistered() {
+        return CardRegistry.isRegistered(index);
+    }
+
+    /**
+     * 登録済みのカードはインデックス, それ以外は ID で保存する.
+     */
+    @JsonValue
+    Object toJson() {
+        return isRegistered() ? (Object) index : id;
+    }
+
+    /**
+     * インデックス, ID, 旧形式の {@code {"id": ...}} のいずれも受け付ける.
+     */
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    static CardId fromJson(Object value) {
+        if (value instanceof Number) {
+            return of(((Number) value).intValue());
+        } else if (value instanceof String) {
+            return of((String) value);
+        } else if (value instanceof Map) {
+            return of((String) ((Map<?, ?>) value).get("id"));
+        }
+        throw new IllegalArgumentException("illegal card id: " + value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CardId)) return false;
+        return index == ((CardId) o).index;
+    }
+
+    @Override
+    public int hashCode() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return "CardId(id=" + id + ", index=" + index + ")";
+    }
+
+    /**
+     * {@code Map<CardId, ?>} のキーとして保存する場合の形式.
+     * 登録済みのカードは {@code "#<インデックス>"}, それ以外は ID をそのまま使う.
+     */
+    public static class KeySerializer extends JsonSerializer<CardId> {
+
+        @Override
+        public void serialize(CardId value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeFieldName(value.isRegistered() ? INDEX_KEY_PREFIX + value.index : value.id);
+        }
+
+    }
+
+    /**
+     * {@link KeySerializer} の形式に加え, 以前の toString() の形式 ({@code "CardId(id=...)"}) も受け付ける.
+     */
+    public static class KeyDeserializer extends com.fasterxml.jackson.databind.KeyDeserializer {
+
+        private static final String LEGACY_PREFIX = "CardId(id=";
+
+        @Override
+        public Object deserializeKey(String key, DeserializationContext ctxt) {
+            if (key.startsWith(INDEX_KEY_PREFIX)) {
+                return of(Integer.parseInt(key.substring(INDEX_KEY_PREFIX.length())));
+            } else if (key.startsWith(LEGACY_PREFIX) && key.endsWith(")")) {
+                return of(key.substring(LEGACY_PREFIX.length(), key.length() - 1));
+            }
+            return of(key);
+        }
+
+    }
 
-@Value
-public class CardId {
-    String id;
 }
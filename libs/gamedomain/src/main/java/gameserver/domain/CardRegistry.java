@@ -0,0 +1,132 @@
+package gameserver.domain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 全デッキのカードに 0 から始まる固定のインデックス (1 byte に収まる) を割り当てる.
+ * <p>
+ * インデックスはジャーナル・スナップショット・gRPC のメッセージに保存されるため,
+ * カードを追加する場合は必ず末尾に追加し, 既存の順番は変えないこと.
+ */
+public final class CardRegistry {
+
+    /**
+     * 登録済みのカードとテスト等で使われる未登録のカードを合わせたインデックスの上限.
+     */
+    public static final int MAX_CARDS = 256;
+
+    private static final List<String> IDS;
+    private static final Map<String, Integer> INDEXES;
+    private static final Map<GameRule.DeckType, List<String>> DECKS;
+
+    static {
+        final var numbers = new ArrayList<String>();
+        for (final var color : Card.NumberCard.CardColor.values()) {
+            for (int n = Card.NumberCard.MIN_CARD_NUMBER; n <= Card.NumberCard.MAX_CARD_NUMBER; n++) {
+                numbers.add(Card.NumberCard.cardIdOf(color, n));
+            }
+        }
+        final var escapes = numbered("escape:", 5);
+        final var pirates = numbered("pirates:", 5);
+        final var mermaids = numbered("mermaid:", 2);
+        final var namedPirates = List.of(
+                "roiseDLaney", "bahijTheBandit", "rascalOfRoatan", "juanitaJade", "harryTheGiant");
+
+        final var ids = new ArrayList<String>();
+        ids.addAll(numbers);
+        ids.addAll(escapes);
+        ids.addAll(pirates);
+        ids.add("tigress");
+        ids.add("skulking");
+        ids.addAll(mermaids);
+        ids.addAll(namedPirates);
+        ids.add("kraken");
+        IDS = Collections.unmodifiableList(ids);
+
+        final var indexes = new HashMap<String, Integer>();
+        for (int i = 0; i < IDS.size(); i++) {
+            indexes.put(IDS.get(i), i);
+        }
+        INDEXES = Collections.unmodifiableMap(indexes);
+
+        final var standard = new ArrayList<String>();
+        standard.addAll(numbers);
+        standard.addAll(escapes);
+        standard.addAll(pirates);
+        standard.add("tigress");
+        standard.add("skulking");
+
+        final var expansion = new ArrayList<String>();
+        expansion.addAll(numbers);
+        expansion.addAll(escapes);
+        expansion.addAll(mermaids);
+        expansion.addAll(namedPirates);
+        expansion.add("tigress");
+        expansion.add("skulking");
+        expansion.add("kraken");
+
+        final var decks = new EnumMap<GameRule.DeckType, List<String>>(GameRule.DeckType.class);
+        decks.put(GameRule.DeckType.STANDARD, Collections.unmodifiableList(standard));
+        decks.put(GameRule.DeckType.EXPANSION, Collections.unmodifiableList(expansion));
+        DECKS = Collections.unmodifiableMap(decks);
+    }
+
+    private CardRegistry() {
+    }
+
+    private static List<String> numbered(String prefix, int n) {
+        final var ids = new ArrayList<String>(n);
+        for (int i = 0; i < n; i++) {
+            ids.add(prefix + i);
+        }
+        return ids;
+    }
+
+    /**
+     * 登録済みのカードの枚数. 未登録のカードにはこれ以降のインデックスが割り当てられる.
+     */
+    public static int size() {
+        return IDS.size();
+    }
+
+    /**
+     * @return 登録されていないカードの場合は -1
+     */
+    public static int indexOf(String id) {
+        return INDEXES.getOrDefault(id, -1);
+    }
+
+    /**
+     * 登録済みのカードだけを引く. クライアントから届いた ID はこちらで引き,
+     * {@link CardId#of(String)} のように未登録の ID へインデックスを割り当てることはしない.
+     */
+    public static Optional<CardId> find(String id) {
+        final var index = indexOf(id);
+        return index < 0 ? Optional.empty() : Optional.of(CardId.of(index));
+    }
+
+    public static Optional<CardId> find(int index) {
+        return isRegistered(index) ? Optional.of(CardId.of(index)) : Optional.empty();
+    }
+
+    public static String idOf(int index) {
+        return IDS.get(index);
+    }
+
+    public static boolean isRegistered(int index) {
+        return index >= 0 && index < IDS.size();
+    }
+
+    public static List<CardId> cardIdsOf(GameRule.DeckType deckType) {
+        final var cardIds = new ArrayList<CardId>();
+        DECKS.get(deckType).forEach(id -> cardIds.add(CardId.of(id)));
+        return cardIds;
+    }
+
+}
@@ -0,0 +1,174 @@
+package gameserver.domain;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 山札.
+ * <p>
+ * カードのインデックスの並び (order) と, 次に引く位置 (cursor) だけを持つ.
+ * カードを引くのは cursor を進めるだけで, カードの実体は {@link CardDeckProvider} のカタログを共有する.
+ * {@code List<Card>} としては残りのカードを上から順に返す.
+ * <p>
+ * シードから作った山札は並びがシードだけで決まるので, 保存するのはシードと cursor だけにする.
+ */
+@JsonSerialize(using = Deck.Serializer.class)
+@JsonDeserialize(using = Deck.Deserializer.class)
+public final class Deck extends AbstractList<Card> {
+
+    private int[] order;
+    private int cursor;
+    // シードから作った並びのままの場合のみ non null
+    private GameRule.DeckType deckType;
+    private long seed;
+
+    private Deck(int[] order) {
+        this.order = order;
+    }
+
+    /**
+     * 新しいゲームのシード. コマンドハンドラで生成し, イベントに載せる.
+     */
+    public static long newSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    public static Deck shuffled(GameRule.DeckType deckType, long seed) {
+        final var catalogue = CardDeckProvider.catalogue(deckType);
+        final var order = new int[catalogue.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = catalogue.get(i).getCardId().getIndex();
+        }
+        final var random = new SplittableRandom(seed);
+        for (int i = order.length - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        final var deck = new Deck(order);
+        deck.deckType = deckType;
+        deck.seed = seed;
+        return deck;
+    }
+
+    /**
+     * 与えられた順のまま山札にする.
+     */
+    public static Deck of(List<? extends Card> cards) {
+        final var deck = new Deck(new int[0]);
+        deck.addAll(cards);
+        return deck;
+    }
+
+    public Card pop() {
+        if (cursor == order.length) {
+            throw new NoSuchElementException();
+        }
+        return CardDeckProvider.cardOf(order[cursor++]);
+    }
+
+    @Override
+    public Card get(int i) {
+        return CardDeckProvider.cardOf(order[cursor + i]);
+    }
+
+    @Override
+    public int size() {
+        return order.length - cursor;
+    }
+
+    @Override
+    public void add(int i, Card card) {
+        CardDeckProvider.register(card);
+        final var remaining = new int[size() + 1];
+        System.arraycopy(order, cursor, remaining, 0, i);
+        remaining[i] = card.getCardId().getIndex();
+        System.arraycopy(order, cursor + i, remaining, i + 1, size() - i);
+        order = remaining;
+        cursor = 0;
+        deckType = null;
+        modCount++;
+    }
+
+    @Override
+    public Card remove(int i) {
+        final var card = get(i);
+        final var remaining = new int[size() - 1];
+        System.arraycopy(order, cursor, remaining, 0, i);
+        System.arraycopy(order, cursor + i + 1, remaining, i, size() - i - 1);
+        order = remaining;
+        cursor = 0;
+        deckType = null;
+        modCount++;
+        return card;
+    }
+
+    @Override
+    public void clear() {
+        order = new int[0];
+        cursor = 0;
+        deckType = null;
+        modCount++;
+    }
+
+    /**
+     * シードから作った山札は {@code {"deckType", "seed", "cursor"}}, それ以外は残りのカードのインデックスの配列で保存する.
+     */
+    public static class Serializer extends JsonSerializer<Deck> {
+
+        @Override
+        public void serialize(Deck deck, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            if (deck.deckType != null) {
+                gen.writeStartObject();
+                gen.writeStringField("deckType", deck.deckType.name());
+                gen.writeNumberField("seed", deck.seed);
+                gen.writeNumberField("cursor", deck.cursor);
+                gen.writeEndObject();
+            } else {
+                gen.writeArray(deck.order, deck.cursor, deck.size());
+            }
+        }
+
+    }
+
+    /**
+     * {@link Serializer} の形式に加え, 以前の形式 (カードのオブジェクトの配列) も受け付ける.
+     */
+    public static class Deserializer extends JsonDeserializer<Deck> {
+
+        @Override
+        public Deck deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            final JsonNode node = p.readValueAsTree();
+            if (node.isObject()) {
+                final var deck = shuffled(GameRule.DeckType.valueOf(node.get("deckType").asText()), node.get("seed").asLong());
+                deck.cursor = node.get("cursor").asInt();
+                return deck;
+            }
+
+            final var order = new int[node.size()];
+            for (int i = 0; i < order.length; i++) {
+                final var card = node.get(i);
+                final var cardId = card.isObject() ? card.get("cardId") : card;
+                order[i] = p.getCodec().treeToValue(cardId, CardId.class).getIndex();
+            }
+            return new Deck(order);
+        }
+
+    }
+
+}
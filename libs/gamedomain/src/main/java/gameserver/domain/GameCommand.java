@@ -29,6 +29,10 @@ import java.util.Set;
         @JsonSubTypes.Type(name = "end_game", value = GameCommand.EndGame.class),
         @JsonSubTypes.Type(name = "snapshot_request", value = GameCommand.SnapshotRequest.class),
         @JsonSubTypes.Type(name = "store", value = GameCommand.Store.class),
+        @JsonSubTypes.Type(name = "idle_timeout", value = GameCommand.IdleTimeout.class),
+        @JsonSubTypes.Type(name = "passivate", value = GameCommand.Passivate.class),
+        @JsonSubTypes.Type(name = "connection_terminated", value = GameCommand.ConnectionTerminated.class),
+        @JsonSubTypes.Type(name = "reproject", value = GameCommand.Reproject.class),
 })
 public interface GameCommand extends CborSerializable {
 
@@ -233,5 +237,55 @@ public interface GameCommand extends CborSerializable {
         }
     }
 
-}
+    /**
+     * 接続の無い部屋のアイドルタイムアウト. 部屋自身のタイマーから送られる.
+     */
+    @Value
+    @Builder
+    class IdleTimeout implements GameCommand {
+        @Override
+        public PlayerId callerId() {
+            return null;
+        }
+    }
+
+    /**
+     * シャーディングが部屋をパッシベートするときの停止メッセージ.
+     */
+    @Value
+    @Builder
+    class Passivate implements GameCommand {
+        @Override
+        public PlayerId callerId() {
+            return null;
+        }
+    }
+
+    /**
+     * 部屋一覧へ現在の状態を送り直させる. 部屋一覧への書き込みを担うアクターが再起動したときに送られる.
+     */
+    @Value
+    @Builder
+    class Reproject implements GameCommand {
+        @Override
+        public PlayerId callerId() {
+            return null;
+        }
+    }
+
+    /**
+     * 接続 (playerRef) のアクターが停止した. 部屋が watch している接続についてのみ送られる.
+     */
+    @Value
+    @Builder
+    class ConnectionTerminated implements GameCommand {
+        @NonNull PlayerId playerId;
+        @NonNull ActorRef<GameEvent> playerRef;
 
+        @Override
+        public PlayerId callerId() {
+            return playerId;
+        }
+    }
+
+}
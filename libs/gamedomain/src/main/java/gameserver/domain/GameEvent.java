@@ -16,6 +16,7 @@ import java.util.Set;
         @JsonSubTypes.Type(name = "initialized", value = GameEvent.Initialized.class),
         @JsonSubTypes.Type(name = "connection_established", value = GameEvent.ConnectionEstablished.class),
         @JsonSubTypes.Type(name = "connection_closed", value = GameEvent.ConnectionClosed.class),
+        @JsonSubTypes.Type(name = "connection_lost", value = GameEvent.ConnectionLost.class),
         @JsonSubTypes.Type(name = "a_player_joined", value = GameEvent.APlayerJoined.class),
         @JsonSubTypes.Type(name = "a_player_left", value = GameEvent.APlayerLeft.class),
         @JsonSubTypes.Type(name = "room_dealer_changed", value = GameEvent.RoomDealerChanged.class),
@@ -43,6 +44,7 @@ import java.util.Set;
         @JsonSubTypes.Type(name = "game_snapshot", value = GameEvent.GameSnapshot.class),
         @JsonSubTypes.Type(name = "game_exception", value = GameEvent.GameException.class),
         @JsonSubTypes.Type(name = "stored", value = GameEvent.Stored.class),
+        @JsonSubTypes.Type(name = "room_passivated", value = GameEvent.RoomPassivated.class),
 })
 public interface GameEvent extends CborSerializable {
 
@@ -56,6 +58,8 @@ public interface GameEvent extends CborSerializable {
         @NonNull String gameRoomId;
         @NonNull PlayerId firstDealerId;
         @NonNull GameRule gameRule;
+        // 部屋の作成日時 (epoch millis). 以前のイベントには含まれていない
+        Long createdAt;
     }
 
     @Value
@@ -80,6 +84,20 @@ public interface GameEvent extends CborSerializable {
         }
     }
 
+    /**
+     * 他のプレイヤーの接続が CloseConnection 無しに切れた (接続のアクターが停止した).
+     */
+    @Value
+    @Builder
+    public static class ConnectionLost implements GameEvent {
+        @NonNull PlayerId playerId;
+
+        @Override
+        public boolean isPublishOnly() {
+            return true;
+        }
+    }
+
     @Value
     @Builder
     public static class APlayerJoined implements GameEvent {
@@ -108,6 +126,8 @@ public interface GameEvent extends CborSerializable {
     @Builder
     public static class GameStarted implements GameEvent {
         @NonNull List<PlayerId> playerIds;
+        // 山札のシード. クライアントには送らない
+        long seed;
     }
 
     @Value
@@ -287,6 +307,8 @@ public interface GameEvent extends CborSerializable {
     @Builder
     public static class GameReplayed implements GameEvent {
         @NonNull PlayerId gameWinnerId;
+        // 山札のシード. クライアントには送らない
+        long seed;
     }
 
     @Value
@@ -314,4 +336,12 @@ public interface GameEvent extends CborSerializable {
         GameState state;
     }
 
+    /**
+     * 接続の無い部屋をパッシベートする直前に記録する. 状態は変えず, スナップショットを取るきっかけにする.
+     */
+    @Value
+    @Builder
+    public static class RoomPassivated implements GameEvent {
+    }
+
 }
@@ -4,14 +4,14 @@ import lombok.Builder;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
 
-import java.util.LinkedList;
-
 @Value
 @Builder
 @RequiredArgsConstructor
 public class GameRule {
     public static final int ROOM_MIN_SIZE = 2;
     public static final int ROOM_MAX_MAX_SIZE = 6;
+    // ラウンドごとのシードの間隔 (SplittableRandom の GOLDEN_GAMMA と同じ値)
+    private static final long ROUND_SEED_GAMMA = 0x9e3779b97f4a7c15L;
 
     int roomSize;
     int nOfRounds;
@@ -23,11 +23,11 @@ public class GameRule {
         ;
     }
 
-    public LinkedList<Card> provideNewDeck() {
-        if (deckType == DeckType.STANDARD) {
-            return CardDeckProvider.standardDeck();
-        }
-        return CardDeckProvider.expansionDeck();
+    /**
+     * ゲームのシードとラウンド数から決まる, シャッフル済みの新しい山札.
+     */
+    public Deck provideNewDeck(long seed, int round) {
+        return Deck.shuffled(deckType, seed + round * ROUND_SEED_GAMMA);
     }
 
 }
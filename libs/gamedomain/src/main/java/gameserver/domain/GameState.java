@@ -1,6 +1,7 @@
 package gameserver.domain;
 
 import akka.serialization.jackson.CborSerializable;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import lombok.Builder;
@@ -28,12 +29,11 @@ public interface GameState extends CborSerializable {
 
     GameRule getRule();
 
+    @JsonIgnore
     GameStateType getStateName();
 
     List<PlayerId> getPlayerIds();
 
-    List<GameEvent> getEventQueue();
-
     class Cleared implements GameState {
 
         public static final Cleared INSTANCE = new Cleared();
@@ -60,11 +60,6 @@ public interface GameState extends CborSerializable {
         public List<PlayerId> getPlayerIds() {
             return null;
         }
-
-        @Override
-        public List<GameEvent> getEventQueue() {
-            return null;
-        }
     }
 
     @Data
@@ -74,11 +69,11 @@ public interface GameState extends CborSerializable {
 
         @NonNull PlayerId dealerId;
         @NonNull List<PlayerId> playerIds;
-
-        @Builder.Default
-        @NonNull List<GameEvent> eventQueue = new ArrayList<>();
+        // 部屋の作成日時 (epoch millis). 部屋一覧での並び順に使う
+        Long createdAt;
 
         @Override
+        @JsonIgnore
         public PlayerId getRoomOwnerId() {
             return dealerId;
         }
@@ -88,10 +83,6 @@ public interface GameState extends CborSerializable {
             return GameStateType.START_PHASE;
         }
 
-        public List<GameEvent> getEventQueue() {
-            return List.copyOf(eventQueue);
-        }
-
         public InputCheckResult canJoin(PlayerId playerId) {
             if (playerIds.contains(playerId)) {
                 return InputCheckResult.InvalidInput.builder().invalidInputType(InputCheckResult.InvalidInputType.FAILED_JOIN_ALREADY_JOINED_PLAYER).build();
@@ -134,16 +125,21 @@ public interface GameState extends CborSerializable {
             return InputCheckResult.ApplyableInput.INSTANCE;
         }
 
-        public BiddingPhase startBidding() {
-            return BiddingPhase.newGame(dealerId, rule, dealerId, playerIds);
+        public BiddingPhase startBidding(long seed) {
+            return BiddingPhase.newGame(dealerId, rule, dealerId, playerIds, seed);
         }
 
         public static StartPhase empty(GameRule gameRule, PlayerId playerId) {
+            return empty(gameRule, playerId, null);
+        }
+
+        public static StartPhase empty(GameRule gameRule, PlayerId playerId, Long createdAt) {
             final var playerIds = new ArrayList<PlayerId>();
             return StartPhase.builder()
                     .rule(gameRule)
                     .dealerId(playerId)
                     .playerIds(playerIds)
+                    .createdAt(createdAt)
                     .build();
         }
 
@@ -158,26 +154,17 @@ public interface GameState extends CborSerializable {
         @NonNull List<PlayerId> playerIds;
         @NonNull PlayerId dealerId;
         int round;
-        @NonNull LinkedList<Card> deck;
+        // ゲームのシード. ラウンドの山札はシードとラウンド数だけで決まるので, リカバリ時も同じ手札が配られる
+        long seed;
+        @NonNull Deck deck;
         @NonNull Map<PlayerId, Player> idToPlayer;
         @NonNull ScoreBoard scoreBoard;
 
-        @Builder.Default
-        @NonNull List<GameEvent> eventQueue = new ArrayList<>();
-
         @Override
         public GameStateType getStateName() {
             return GameStateType.GAME_PLAYING;
         }
 
-        public List<GameEvent> getEventQueue() {
-            return List.copyOf(eventQueue);
-        }
-
-        public void addGameEvent(GameEvent event) {
-            eventQueue.add(event);
-        }
-
         public InputCheckResult canBid(PlayerId playerId, int bid) {
             final var player = idToPlayer.get(playerId);
             if (player == null) {
@@ -202,28 +189,23 @@ public interface GameState extends CborSerializable {
         }
 
         public static BiddingPhase newGame(
-                PlayerId roomOwnerId, GameRule rule, PlayerId dealerId, List<PlayerId> playerIds
+                PlayerId roomOwnerId, GameRule rule, PlayerId dealerId, List<PlayerId> playerIds, long seed
         ) {
-            return startRound(roomOwnerId, 1, rule, dealerId, playerIds, ScoreBoard.empty());
+            return startRound(roomOwnerId, 1, rule, dealerId, playerIds, ScoreBoard.empty(playerIds), seed);
         }
 
         public static BiddingPhase startRound(
                 PlayerId roomOwnerId, int round, GameRule rule, PlayerId dealerId,
-                List<PlayerId> playerIds, ScoreBoard scoreBoard
+                List<PlayerId> playerIds, ScoreBoard scoreBoard, long seed
         ) {
-            final var deck = rule.provideNewDeck();
-            Collections.shuffle(deck);
+            final var deck = rule.provideNewDeck(seed, round);
 
             final var players = new HashMap<PlayerId, Player>();
             for (final PlayerId playerId : playerIds) {
                 final var player = new Player(playerId);
-
-                final var hand = new HashMap<CardId, Card>();
                 for (int r = 1; r <= round; r++) {
-                    final var card = deck.pop();
-                    hand.put(card.getCardId(), card);
+                    player.getCards().add(deck.pop());
                 }
-                player.setCards(hand);
 
                 players.put(playerId, player);
             }
@@ -232,6 +214,7 @@ public interface GameState extends CborSerializable {
                     .builder()
                     .roomOwnerId(roomOwnerId)
                     .rule(rule)
+                    .seed(seed)
                     .deck(deck)
                     .dealerId(dealerId)
                     .playerIds(playerIds)
@@ -242,11 +225,10 @@ public interface GameState extends CborSerializable {
         }
 
         public TrickPhase startTrick() {
-            final var players = playerIds.stream()
+            final var players = Seats.of(playerIds.stream()
                     .map(idToPlayer::get)
-                    .collect(Collectors.toCollection(LinkedList<Player>::new));
-
-            TrickPhase.rotatePlayers(dealerId, players);
+                    .collect(Collectors.toList()));
+            players.rotateTo(dealerId);
 
             return TrickPhase.builder()
                     .roomOwnerId(roomOwnerId)
@@ -255,6 +237,7 @@ public interface GameState extends CborSerializable {
                     .dealerId(dealerId)
                     .playerIds(playerIds)
                     .players(players)
+                    .seed(seed)
                     .deck(deck)
                     .scoreBoard(scoreBoard)
                     .build();
@@ -270,8 +253,10 @@ public interface GameState extends CborSerializable {
         int round;
         @NonNull PlayerId dealerId;
         @NonNull List<PlayerId> playerIds;
-        @NonNull LinkedList<Player> players;
-        @NonNull LinkedList<Card> deck;
+        // 席は playerIds の順. 手番は lead の席から
+        @NonNull Seats players;
+        long seed;
+        @NonNull Deck deck;
 
         @Builder.Default
         @NonNull List<CardId> stack = new ArrayList<>();
@@ -285,73 +270,45 @@ public interface GameState extends CborSerializable {
 
         @NonNull ScoreBoard scoreBoard;
 
-        @Builder.Default
-        @NonNull List<GameEvent> eventQueue = new ArrayList<>();
-
         @Override
         public GameStateType getStateName() {
             return GameStateType.GAME_PLAYING;
         }
 
-        public List<GameEvent> getEventQueue() {
-            return List.copyOf(eventQueue);
-        }
-
-        public void clearEventQueue() {
-            eventQueue = new ArrayList<>();
-        }
-
-        public void addGameEvent(GameEvent event) {
-            eventQueue.add(event);
-        }
-
-        protected static void rotatePlayers(PlayerId dealerId, LinkedList<Player> players) {
-            for (int i = 0; i < players.size(); i++) {
-                final var head = players.getFirst();
-                if (head.getPlayerId().equals(dealerId)) {
-                    break;
-                }
-                players.offer(players.pop());
-            }
-
-            if (!players.getFirst().getPlayerId().equals(dealerId)) {
-                throw new IllegalStateException("dealer is not included in player, dealer=" + dealerId);
-            }
-        }
-
         public void rotatePlayers(PlayerId dealerId) {
-            rotatePlayers(dealerId, players);
+            players.rotateTo(dealerId);
         }
 
+        @JsonIgnore
         public boolean isLastTrick() {
             return trick == round;
         }
 
+        @JsonIgnore
         public boolean isRoundFinished() {
             return trick > round;
         }
 
+        @JsonIgnore
         public boolean isGameFinished() {
             return round >= rule.getNOfRounds();
         }
 
         public Player nextPlayer() {
-            return players.getFirst();
+            return players.lead();
         }
 
         public void playerChange() {
-            players.offer(players.pop());
+            players.next();
         }
 
+        @JsonIgnore
         public boolean isFinishedTrick() {
             return nextPlayer().getPlayerId().equals(dealerId);
         }
 
         public Player getPlayerOf(PlayerId playerId) {
-            return players.stream()
-                    .filter(player -> player.getPlayerId().equals(playerId))
-                    .findFirst()
-                    .orElse(null);
+            return players.playerOf(playerId);
         }
 
         public InputCheckResult canPlay(PlayerId playerId, Card playCard) {
@@ -386,39 +343,35 @@ public interface GameState extends CborSerializable {
         }
 
         public TrickFinishResult judge() {
-            return judge(new LinkedList<>(field));
-        }
-
-        private TrickFinishResult judge(LinkedList<PlayedCard> field) {
-            final var battleResult = battle(field);
-            final var winner = battleResult.getWinner();
+            final var kinds = new int[field.size()];
+            var i = 0;
+            for (final var playedCard : field) {
+                kinds[i++] = BattleTable.kindOf(playedCard.getCard());
+            }
+            final var judged = BattleTable.judge(kinds, kinds.length);
+            final var winner = field.get(BattleTable.winner(judged));
+            final var winnerKind = kinds[BattleTable.winner(judged)];
 
-            if (winner.getCard() instanceof Card.Escape) {
-                return AllRanAway.builder().winnerId(winner.getPlayerId()).card(winner.getCard()).build();
-            } else if (winner.getCard() instanceof Card.Tigress
-                    && !((Card.Tigress) winner.getCard()).getIsPirates()) {
+            if (BattleTable.isEscape(winnerKind)) {
                 return AllRanAway.builder().winnerId(winner.getPlayerId()).card(winner.getCard()).build();
-            } else if (winner.getCard() instanceof Card.Skulking) {
-                final var playedFirstMermaid = battleResult.getFirstMermaid();
-                if (playedFirstMermaid != null) {
+            } else if (winnerKind == BattleTable.SKULKING) {
+                if (BattleTable.firstMermaid(judged) != BattleTable.NONE) {
+                    final var playedFirstMermaid = field.get(BattleTable.firstMermaid(judged));
                     return APlayerWon.builder()
                             .winnerId(playedFirstMermaid.getPlayerId())
                             .card(playedFirstMermaid.getCard())
-                            .trickBonus(battleResult.getBaseBonus() + 50)
+                            .trickBonus(BattleTable.baseBonus(judged) + 50)
                             .build();
                 }
 
                 return APlayerWon.builder()
                         .winnerId(winner.getPlayerId())
                         .card(winner.getCard())
-                        .trickBonus(battleResult.getBaseBonus() + 30 * battleResult.getPiratesCount())
+                        .trickBonus(BattleTable.baseBonus(judged) + 30 * BattleTable.piratesCount(judged))
                         .build();
-            } else if (winner.getCard() instanceof Card.Kraken) {
-                final var fieldRemovedKraken = new LinkedList<>(field);
-                fieldRemovedKraken.removeIf(playedCard -> playedCard.getCard().getCardId().equals(winner.getCard().getCardId()));
-
-                final var suddenDeath = battle(fieldRemovedKraken);
-                final var mustHaveWon = suddenDeath.getWinner();
+            } else if (winnerKind == BattleTable.KRAKEN) {
+                final var suddenDeath = BattleTable.winnerWithoutKraken(judged);
+                final var mustHaveWon = suddenDeath != BattleTable.NONE ? field.get(suddenDeath) : winner;
                 return KrakenAppeared.builder().mustHaveWon(mustHaveWon.getPlayerId()).build();
             } else if (winner.getCard() instanceof Card.Pirates) {
                 final var pirates = (Card.Pirates) winner.getCard();
@@ -427,7 +380,7 @@ public interface GameState extends CborSerializable {
                 return APlayerWon.builder()
                         .winnerId(winner.getPlayerId())
                         .card(winner.getCard())
-                        .trickBonus(battleResult.getBaseBonus())
+                        .trickBonus(BattleTable.baseBonus(judged))
                         .piratesEvent(piratesEvent)
                         .build();
             }
@@ -435,40 +388,7 @@ public interface GameState extends CborSerializable {
             return APlayerWon.builder()
                     .winnerId(winner.getPlayerId())
                     .card(winner.getCard())
-                    .trickBonus(battleResult.getBaseBonus())
-                    .build();
-        }
-
-        private BattleResult battle(LinkedList<PlayedCard> field) {
-            final var _field = new LinkedList<>(field);
-            PlayedCard winner = null;
-            var baseBonus = 0;
-            var piratesCount = 0;
-            var skulkingAppeared = false;
-            var firstMermaid = (PlayedCard) null;
-            while (!_field.isEmpty()) {
-                final var next = _field.pop();
-                if (next.getCard() instanceof Card.Skulking) {
-                    skulkingAppeared = true;
-                } else if (next.getCard() instanceof Card.Pirates) {
-                    piratesCount++;
-                } else if (next.getCard() instanceof Card.Mermaid && firstMermaid == null) {
-                    firstMermaid = next;
-                } else if (next.getCard() instanceof Card.NumberCard) {
-                    baseBonus += ((Card.NumberCard) next.getCard()).getBonusPoint();
-                }
-
-                if (winner == null || !winner.getCard().battle(next.getCard())) {
-                    winner = next;
-                }
-            }
-
-            return BattleResult.builder()
-                    .baseBonus(baseBonus)
-                    .piratesCount(piratesCount)
-                    .skulkingAppeared(skulkingAppeared)
-                    .firstMermaid(firstMermaid)
-                    .winner(winner)
+                    .trickBonus(BattleTable.baseBonus(judged))
                     .build();
         }
 
@@ -483,7 +403,7 @@ public interface GameState extends CborSerializable {
                 if (!isLastTrick()) {
                     final var drawn = draw(2);
                     final var winner = getPlayerOf(winnerId);
-                    drawn.forEach(card -> winner.getCards().put(card.getCardId(), card));
+                    drawn.forEach(winner.getCards()::add);
 
                     return PiratesEvent.HandChangeAvailableNotice.builder()
                             .playerId(winnerId)
@@ -583,7 +503,6 @@ public interface GameState extends CborSerializable {
                     .trickPhase(this)
                     .changingPlayerId(piratesEvent.getPlayerId())
                     .aPlayerWon(aPlayerWon)
-                    .eventQueue(eventQueue)
                     .build();
         }
 
@@ -595,7 +514,6 @@ public interface GameState extends CborSerializable {
                     .trickPhase(this)
                     .changingPlayerId(piratesEvent.getPlayerId())
                     .aPlayerWon(aPlayerWon)
-                    .eventQueue(eventQueue)
                     .build();
         }
 
@@ -608,7 +526,6 @@ public interface GameState extends CborSerializable {
                     .changingPlayerId(piratesEvent.getPlayerId())
                     .aPlayerWon(aPlayerWon)
                     .drawCardIds(piratesEvent.getDrawCards())
-                    .eventQueue(eventQueue)
                     .build();
         }
 
@@ -620,7 +537,6 @@ public interface GameState extends CborSerializable {
                     .trickPhase(this)
                     .predicatingPlayerId(piratesEvent.getPlayerId())
                     .aPlayerWon(aPlayerWon)
-                    .eventQueue(eventQueue)
                     .build();
         }
 
@@ -643,7 +559,7 @@ public interface GameState extends CborSerializable {
         }
 
         public BiddingPhase nextBiddingPhase() {
-            return BiddingPhase.startRound(roomOwnerId, round + 1, rule, dealerId, playerIds, scoreBoard);
+            return BiddingPhase.startRound(roomOwnerId, round + 1, rule, dealerId, playerIds, scoreBoard, seed);
         }
 
     }
@@ -655,10 +571,8 @@ public interface GameState extends CborSerializable {
         @NonNull PlayerId changingPlayerId;
         @NonNull GameState.TrickPhase.APlayerWon aPlayerWon;
 
-        @Builder.Default
-        @NonNull List<GameEvent> eventQueue = new ArrayList<>();
-
         @Override
+        @JsonIgnore
         public PlayerId getRoomOwnerId() {
             return trickPhase.getRoomOwnerId();
         }
@@ -669,19 +583,17 @@ public interface GameState extends CborSerializable {
         }
 
         @Override
+        @JsonIgnore
         public GameRule getRule() {
             return trickPhase.getRule();
         }
 
         @Override
+        @JsonIgnore
         public List<PlayerId> getPlayerIds() {
             return trickPhase.getPlayerIds();
         }
 
-        public List<GameEvent> getEventQueue() {
-            return List.copyOf(eventQueue);
-        }
-
         public InputCheckResult canChangeLeadPlayer(
                 PlayerId changePlayerId,
                 PlayerId newLeadPlayerId
@@ -706,14 +618,15 @@ public interface GameState extends CborSerializable {
         @NonNull PlayerId changingPlayerId;
         @NonNull List<CardId> drawCardIds;
         @NonNull GameState.TrickPhase.APlayerWon aPlayerWon;
-        @NonNull List<GameEvent> eventQueue;
 
         @Override
+        @JsonIgnore
         public PlayerId getRoomOwnerId() {
             return trickPhase.getRoomOwnerId();
         }
 
         @Override
+        @JsonIgnore
         public GameRule getRule() {
             return trickPhase.getRule();
         }
@@ -724,21 +637,18 @@ public interface GameState extends CborSerializable {
         }
 
         @Override
+        @JsonIgnore
         public List<PlayerId> getPlayerIds() {
             return trickPhase.getPlayerIds();
         }
 
-        public List<GameEvent> getEventQueue() {
-            return List.copyOf(eventQueue);
-        }
-
         public InputCheckResult canChangeHand(Set<CardId> returnCards) {
             if (returnCards.size() != 2) {
                 return InputCheckResult.InvalidInput.builder().invalidInputType(InputCheckResult.InvalidInputType.RETURN_CARD_SIZE_INVALID).build();
             }
 
             final var player = trickPhase.getPlayerOf(changingPlayerId);
-            if (!returnCards.stream().allMatch(player.getCards()::containsKey)) {
+            if (!returnCards.stream().allMatch(player::hasCard)) {
                 return InputCheckResult.InvalidInput.builder().invalidInputType(InputCheckResult.InvalidInputType.RETURN_CARD_PLAYER_NOT_HAS).build();
             }
 
@@ -747,7 +657,7 @@ public interface GameState extends CborSerializable {
 
         public void changeHand(Set<CardId> returnCards) {
             final var player = trickPhase.getPlayerOf(changingPlayerId);
-            returnCards.forEach(player.getCards()::remove);
+            returnCards.forEach(player::removeCard);
         }
 
     }
@@ -758,14 +668,15 @@ public interface GameState extends CborSerializable {
         @NonNull TrickPhase trickPhase;
         @NonNull PlayerId predicatingPlayerId;
         @NonNull GameState.TrickPhase.APlayerWon aPlayerWon;
-        @NonNull List<GameEvent> eventQueue;
 
         @Override
+        @JsonIgnore
         public PlayerId getRoomOwnerId() {
             return trickPhase.getRoomOwnerId();
         }
 
         @Override
+        @JsonIgnore
         public GameRule getRule() {
             return trickPhase.getRule();
         }
@@ -776,14 +687,11 @@ public interface GameState extends CborSerializable {
         }
 
         @Override
+        @JsonIgnore
         public List<PlayerId> getPlayerIds() {
             return trickPhase.getPlayerIds();
         }
 
-        public List<GameEvent> getEventQueue() {
-            return List.copyOf(eventQueue);
-        }
-
     }
 
     @Value
@@ -792,14 +700,15 @@ public interface GameState extends CborSerializable {
         @NonNull TrickPhase trickPhase;
         @NonNull PlayerId changingPlayerId;
         @NonNull GameState.TrickPhase.APlayerWon aPlayerWon;
-        @NonNull List<GameEvent> eventQueue;
 
         @Override
+        @JsonIgnore
         public PlayerId getRoomOwnerId() {
             return trickPhase.getRoomOwnerId();
         }
 
         @Override
+        @JsonIgnore
         public GameRule getRule() {
             return trickPhase.getRule();
         }
@@ -810,14 +719,11 @@ public interface GameState extends CborSerializable {
         }
 
         @Override
+        @JsonIgnore
         public List<PlayerId> getPlayerIds() {
             return trickPhase.getPlayerIds();
         }
 
-        public List<GameEvent> getEventQueue() {
-            return List.copyOf(eventQueue);
-        }
-
         public InputCheckResult canChangeBid(PlayerId playerId, int changeBid) {
             if (!(changeBid >= -1 && changeBid <= 1)) {
                 return InputCheckResult.InvalidInput.builder().invalidInputType(InputCheckResult.InvalidInputType.INVALID_CHANGE_BID_VALUE).build();
@@ -855,59 +761,27 @@ public interface GameState extends CborSerializable {
         @NonNull List<PlayerId> playerIds;
 
         @NonNull ScoreBoard scoreBoard;
-        @Builder.Default
-        @NonNull List<GameEvent> eventQueue = new ArrayList<>();
-
-        public List<GameEvent> getEventQueue() {
-            return List.copyOf(eventQueue);
-        }
 
         @Override
         public GameStateType getStateName() {
             return GameStateType.GAME_FINISHED;
         }
 
-        public void addGameEvent(GameEvent event) {
-            eventQueue.add(event);
-        }
-
         public Map<PlayerId, Integer> aggregateResult() {
-            final var aggregated = new HashMap<PlayerId, Integer>();
-            for (final var roundScore : scoreBoard.getRoundScores()) {
-                for (final var entry : roundScore.entrySet()) {
-                    aggregated.compute(
-                            entry.getKey(),
-                            (k, v) -> v == null ? entry.getValue().getAll() : v + entry.getValue().getAll());
-                }
-            }
-
-            return aggregated;
+            return scoreBoard.getTotals();
         }
 
+        @JsonIgnore
         public PlayerId getGameWinnerId() {
-            return aggregateResult()
-                    .entrySet().stream()
-                    .max(Map.Entry.comparingByValue())
-                    .map(Map.Entry::getKey)
-                    .orElseThrow();
+            return Optional.ofNullable(scoreBoard.getLeaderId()).orElseThrow();
         }
 
-        public BiddingPhase replayGame() {
-            return BiddingPhase.newGame(roomOwnerId, rule, lastWinnerId, playerIds);
+        public BiddingPhase replayGame(long seed) {
+            return BiddingPhase.newGame(roomOwnerId, rule, lastWinnerId, playerIds, seed);
         }
 
     }
 
-    @Value
-    @Builder
-    class BattleResult {
-        int baseBonus;
-        int piratesCount;
-        boolean skulkingAppeared;
-        PlayedCard firstMermaid;
-        PlayedCard winner;
-    }
-
     @Value
     @Builder
     class PlayedCard {
@@ -943,6 +817,7 @@ public interface GameState extends CborSerializable {
     class KrakenAppeared implements TrickFinishResult {
         PlayerId mustHaveWon;
 
+        @JsonIgnore
         public PlayerId getWinnerId() {
             return mustHaveWon;
         }
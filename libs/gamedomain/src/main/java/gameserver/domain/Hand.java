@@ -0,0 +1,190 @@
+package gameserver.domain;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * プレイヤーの手札.
+ * <p>
+ * 手札にあるカードを {@link CardId#getIndex()} のビットで持ち, 数字カードは色ごとのビットも持つ.
+ * 有無の確認・色の確認・削除・枚数はビット演算だけで行い, オブジェクトを生成しない.
+ * {@code Map<CardId, Card>} としても扱えるが, キーは常にインデックスの順に並ぶ.
+ */
+public final class Hand extends AbstractMap<CardId, Card> {
+
+    private static final int WORDS = CardRegistry.MAX_CARDS / Long.SIZE;
+    private static final Card.NumberCard.CardColor[] COLORS = Card.NumberCard.CardColor.values();
+
+    private final long[] cards = new long[WORDS];
+    private final long[][] colorCards = new long[COLORS.length][WORDS];
+    private Card[] byIndex = new Card[CardRegistry.size()];
+    private int size;
+
+    public Hand() {
+    }
+
+    public Hand(Map<CardId, ? extends Card> cards) {
+        putAll(cards);
+    }
+
+    private static int word(int index) {
+        return index >>> 6;
+    }
+
+    private static long bit(int index) {
+        return 1L << index;
+    }
+
+    public boolean has(CardId cardId) {
+        final int index = cardId.getIndex();
+        return (cards[word(index)] & bit(index)) != 0;
+    }
+
+    public boolean hasColor(Card.NumberCard.CardColor cardColor) {
+        final var colored = colorCards[cardColor.ordinal()];
+        for (int i = 0; i < WORDS; i++) {
+            if (colored[i] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void add(Card card) {
+        final int index = card.getCardId().getIndex();
+        if (index >= byIndex.length) {
+            byIndex = Arrays.copyOf(byIndex, Math.max(index + 1, byIndex.length * 2));
+        }
+        if (!has(card.getCardId())) {
+            size++;
+        }
+        cards[word(index)] |= bit(index);
+        for (final var colored : colorCards) {
+            colored[word(index)] &= ~bit(index);
+        }
+        if (card instanceof Card.NumberCard) {
+            colorCards[((Card.NumberCard) card).getCardColor().ordinal()][word(index)] |= bit(index);
+        }
+        byIndex[index] = card;
+    }
+
+    /**
+     * @return 手札に無かった場合は null
+     */
+    public Card removeCard(CardId cardId) {
+        if (!has(cardId)) {
+            return null;
+        }
+        final int index = cardId.getIndex();
+        final var card = byIndex[index];
+        cards[word(index)] &= ~bit(index);
+        for (final var colored : colorCards) {
+            colored[word(index)] &= ~bit(index);
+        }
+        byIndex[index] = null;
+        size--;
+        return card;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof CardId && has((CardId) key);
+    }
+
+    @Override
+    public Card get(Object key) {
+        return containsKey(key) ? byIndex[((CardId) key).getIndex()] : null;
+    }
+
+    @Override
+    public Card put(CardId cardId, Card card) {
+        if (!cardId.equals(card.getCardId())) {
+            throw new IllegalArgumentException("card id mismatch: " + cardId + ", " + card);
+        }
+        final var previous = get(cardId);
+        add(card);
+        return previous;
+    }
+
+    @Override
+    public Card remove(Object key) {
+        return key instanceof CardId ? removeCard((CardId) key) : null;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(cards, 0);
+        for (final var colored : colorCards) {
+            Arrays.fill(colored, 0);
+        }
+        Arrays.fill(byIndex, null);
+        size = 0;
+    }
+
+    @Override
+    public Set<Entry<CardId, Card>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<CardId, Card>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private class EntryIterator implements Iterator<Entry<CardId, Card>> {
+
+        private int next = nextIndex(0);
+        private int last = -1;
+
+        private int nextIndex(int from) {
+            for (int index = from; index < byIndex.length; index++) {
+                if ((cards[word(index)] & bit(index)) != 0) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next >= 0;
+        }
+
+        @Override
+        public Entry<CardId, Card> next() {
+            if (next < 0) {
+                throw new NoSuchElementException();
+            }
+            final var card = byIndex[next];
+            last = next;
+            next = nextIndex(next + 1);
+            return new SimpleImmutableEntry<>(card.getCardId(), card);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            removeCard(byIndex[last].getCardId());
+            last = -1;
+        }
+
+    }
+
+}
@@ -1,5 +1,7 @@
 package gameserver.domain;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Data;
 
 import java.util.Map;
@@ -9,24 +11,26 @@ public class Player {
     final PlayerId playerId;
     Integer declaredBid;
     int tookTrick;
-    Map<CardId, Card> cards;
+    @JsonSerialize(keyUsing = CardId.KeySerializer.class)
+    @JsonDeserialize(keyUsing = CardId.KeyDeserializer.class)
+    final Hand cards = new Hand();
     int tookBonus;
 
+    public void setCards(Map<CardId, Card> cards) {
+        this.cards.clear();
+        this.cards.putAll(cards);
+    }
+
     public boolean hasCard(CardId cardId) {
-        return cards.containsKey(cardId);
+        return cards.has(cardId);
     }
 
     public boolean hasColorCard(Card.NumberCard.CardColor cardColor) {
-        return cards.values().stream().anyMatch(card -> {
-            if (card instanceof Card.NumberCard) {
-                return ((Card.NumberCard) card).getCardColor() == cardColor;
-            }
-            return false;
-        });
+        return cards.hasColor(cardColor);
     }
 
     public void removeCard(CardId cardId) {
-        cards.remove(cardId);
+        cards.removeCard(cardId);
     }
 
     public void gotATrick() {
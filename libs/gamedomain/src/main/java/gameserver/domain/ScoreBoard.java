@@ -1,26 +1,237 @@
 package gameserver.domain;
 
 import akka.serialization.jackson.CborSerializable;
-import lombok.Value;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-@Value
-public class ScoreBoard implements CborSerializable {
-    List<Map<PlayerId, Score>> roundScores;
+/**
+ * ラウンドごとの得点表.
+ * <p>
+ * 得点は席 (プレイヤーの並び) ごとの int 配列で持ち, ラウンドを追加するたびに合計と首位を更新する.
+ * 席は {@link #empty(List)} で決めるか, 初めて得点が入った順に追加する.
+ */
+@JsonSerialize(using = ScoreBoard.Serializer.class)
+@JsonDeserialize(using = ScoreBoard.Deserializer.class)
+public final class ScoreBoard implements CborSerializable {
 
-    public void addRoundScore(Map<PlayerId, Score> playerIdScoreMap) {
-        roundScores.add(playerIdScoreMap);
+    private final List<PlayerId> players = new ArrayList<>();
+    private final Map<PlayerId, Integer> seatOf = new HashMap<>();
+    // ラウンドごとの席順の得点. 途中で席に着いたプレイヤーがいる場合, それより前のラウンドの配列は短い
+    private final List<int[]> scores = new ArrayList<>();
+    private final List<int[]> bonuses = new ArrayList<>();
+    private int[] totals = new int[0];
+    private int leader = -1;
+
+    private ScoreBoard() {
     }
 
     public static ScoreBoard empty() {
-        return new ScoreBoard(new ArrayList<>());
+        return new ScoreBoard();
+    }
+
+    public static ScoreBoard empty(List<PlayerId> playerIds) {
+        final var scoreBoard = new ScoreBoard();
+        playerIds.forEach(scoreBoard::seat);
+        return scoreBoard;
+    }
+
+    private int seat(PlayerId playerId) {
+        final var seat = seatOf.get(playerId);
+        if (seat != null) {
+            return seat;
+        }
+        players.add(playerId);
+        seatOf.put(playerId, players.size() - 1);
+        totals = Arrays.copyOf(totals, players.size());
+        return players.size() - 1;
+    }
+
+    public void addRoundScore(Map<PlayerId, Score> playerIdScoreMap) {
+        playerIdScoreMap.keySet().forEach(this::seat);
+        final var score = new int[players.size()];
+        final var bonus = new int[players.size()];
+        playerIdScoreMap.forEach((playerId, s) -> {
+            final int seat = seatOf.get(playerId);
+            score[seat] = s.getScore();
+            bonus[seat] = s.getBonus();
+        });
+        addRound(score, bonus);
+    }
+
+    private void addRound(int[] score, int[] bonus) {
+        scores.add(score);
+        bonuses.add(bonus);
+        for (int seat = 0; seat < score.length; seat++) {
+            totals[seat] += score[seat] + bonus[seat];
+        }
+        leader = 0;
+        for (int seat = 1; seat < totals.length; seat++) {
+            if (totals[seat] > totals[leader]) {
+                leader = seat;
+            }
+        }
+    }
+
+    public int getRoundCount() {
+        return scores.size();
+    }
+
+    public int getTotal(PlayerId playerId) {
+        final var seat = seatOf.get(playerId);
+        return seat == null ? 0 : totals[seat];
+    }
+
+    /**
+     * 合計点が最も高いプレイヤー. 同点の場合は席順で先のプレイヤー. ラウンドが無ければ null.
+     */
+    public PlayerId getLeaderId() {
+        return leader < 0 ? null : players.get(leader);
+    }
+
+    public Map<PlayerId, Integer> getTotals() {
+        final var result = new HashMap<PlayerId, Integer>();
+        for (int seat = 0; seat < players.size(); seat++) {
+            result.put(players.get(seat), totals[seat]);
+        }
+        return result;
+    }
+
+    public List<Map<PlayerId, Score>> getRoundScores() {
+        final var result = new ArrayList<Map<PlayerId, Score>>(scores.size());
+        for (int round = 0; round < scores.size(); round++) {
+            result.add(roundScore(round));
+        }
+        return result;
     }
 
     public Map<PlayerId, Score> getLastRoundScore() {
-        return new HashMap<>(roundScores.get(roundScores.size() - 1));
+        return roundScore(scores.size() - 1);
+    }
+
+    private Map<PlayerId, Score> roundScore(int round) {
+        final var score = scores.get(round);
+        final var bonus = bonuses.get(round);
+        final var result = new LinkedHashMap<PlayerId, Score>();
+        for (int seat = 0; seat < score.length; seat++) {
+            result.put(players.get(seat), new Score(score[seat], bonus[seat]));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ScoreBoard)) {
+            return false;
+        }
+        return getRoundScores().equals(((ScoreBoard) o).getRoundScores());
+    }
+
+    @Override
+    public int hashCode() {
+        return getRoundScores().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "ScoreBoard(roundScores=" + getRoundScores() + ")";
+    }
+
+    /**
+     * {@code {"players": [席順のプレイヤー ID], "scores": [[ラウンド × 席]], "bonuses": [[ラウンド × 席]]}} で保存する.
+     */
+    public static class Serializer extends JsonSerializer<ScoreBoard> {
+
+        @Override
+        public void serialize(ScoreBoard scoreBoard, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeStartObject();
+            gen.writeArrayFieldStart("players");
+            for (final var playerId : scoreBoard.players) {
+                gen.writeString(playerId.getValue());
+            }
+            gen.writeEndArray();
+            writeRounds(gen, "scores", scoreBoard.scores);
+            writeRounds(gen, "bonuses", scoreBoard.bonuses);
+            gen.writeEndObject();
+        }
+
+        private static void writeRounds(JsonGenerator gen, String fieldName, List<int[]> rounds) throws IOException {
+            gen.writeArrayFieldStart(fieldName);
+            for (final var round : rounds) {
+                gen.writeArray(round, 0, round.length);
+            }
+            gen.writeEndArray();
+        }
+
     }
+
+    /**
+     * {@link Serializer} の形式に加え, 以前の形式 ({@code {"roundScores": [{プレイヤー ID: Score}]}}) も受け付ける.
+     */
+    public static class Deserializer extends JsonDeserializer<ScoreBoard> {
+
+        private static final String LEGACY_KEY_PREFIX = "PlayerId(value=";
+
+        @Override
+        public ScoreBoard deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            final JsonNode node = p.readValueAsTree();
+            final var scoreBoard = new ScoreBoard();
+
+            if (node.has("roundScores")) {
+                for (final var round : node.get("roundScores")) {
+                    final var roundScore = new LinkedHashMap<PlayerId, Score>();
+                    round.fields().forEachRemaining(entry -> roundScore.put(
+                            new PlayerId(legacyPlayerId(entry.getKey())),
+                            new Score(entry.getValue().get("score").asInt(), entry.getValue().get("bonus").asInt())));
+                    scoreBoard.addRoundScore(roundScore);
+                }
+                return scoreBoard;
+            }
+
+            node.get("players").forEach(playerId -> scoreBoard.seat(new PlayerId(playerId.asText())));
+            final var scores = node.get("scores");
+            final var bonuses = node.get("bonuses");
+            for (int round = 0; round < scores.size(); round++) {
+                scoreBoard.addRound(toIntArray(scores.get(round)), toIntArray(bonuses.get(round)));
+            }
+            return scoreBoard;
+        }
+
+        /**
+         * 以前の形式のキーは {@code PlayerId#toString()} で書かれている.
+         */
+        private static String legacyPlayerId(String key) {
+            if (key.startsWith(LEGACY_KEY_PREFIX) && key.endsWith(")")) {
+                return key.substring(LEGACY_KEY_PREFIX.length(), key.length() - 1);
+            }
+            return key;
+        }
+
+        private static int[] toIntArray(JsonNode node) {
+            final var values = new int[node.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = node.get(i).asInt();
+            }
+            return values;
+        }
+
+    }
+
 }
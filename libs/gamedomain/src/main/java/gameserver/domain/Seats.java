@@ -0,0 +1,130 @@
+package gameserver.domain;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * トリック中の席順.
+ * <p>
+ * 席 (プレイヤーの配列) はラウンド中に変わらないので, 手番は次に出すプレイヤーの席 (lead) を進めるだけにする.
+ * {@code List<Player>} としては lead の席から順に返す.
+ */
+@JsonSerialize(using = Seats.Serializer.class)
+@JsonDeserialize(using = Seats.Deserializer.class)
+public final class Seats extends AbstractList<Player> {
+
+    private final Player[] seats;
+    private final Map<PlayerId, Integer> seatOf;
+    private int lead;
+
+    private Seats(Player[] seats, int lead) {
+        this.seats = seats;
+        this.seatOf = new HashMap<>(seats.length * 2);
+        for (int i = 0; i < seats.length; i++) {
+            seatOf.put(seats[i].getPlayerId(), i);
+        }
+        this.lead = lead;
+    }
+
+    /**
+     * 与えられた順に席に着け, 先頭のプレイヤーを lead にする.
+     */
+    public static Seats of(List<Player> players) {
+        return new Seats(players.toArray(new Player[0]), 0);
+    }
+
+    public Player lead() {
+        return seats[lead];
+    }
+
+    /**
+     * 手番を次の席に進める.
+     */
+    public void next() {
+        lead = lead + 1 == seats.length ? 0 : lead + 1;
+    }
+
+    /**
+     * 指定したプレイヤーの席を lead にする.
+     */
+    public void rotateTo(PlayerId playerId) {
+        final var seat = seatOf.get(playerId);
+        if (seat == null) {
+            throw new IllegalStateException("dealer is not included in player, dealer=" + playerId);
+        }
+        lead = seat;
+    }
+
+    /**
+     * 席に着いていなければ null.
+     */
+    public Player playerOf(PlayerId playerId) {
+        final var seat = seatOf.get(playerId);
+        return seat == null ? null : seats[seat];
+    }
+
+    @Override
+    public Player get(int i) {
+        if (i < 0 || i >= seats.length) {
+            throw new IndexOutOfBoundsException("index: " + i + ", size: " + seats.length);
+        }
+        final var seat = lead + i;
+        return seats[seat < seats.length ? seat : seat - seats.length];
+    }
+
+    @Override
+    public int size() {
+        return seats.length;
+    }
+
+    /**
+     * 席順のプレイヤーと lead の席を {@code {"lead", "seats"}} で保存する. 席のインデックスは読み込み時に作り直す.
+     */
+    public static class Serializer extends JsonSerializer<Seats> {
+
+        @Override
+        public void serialize(Seats seats, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeStartObject();
+            gen.writeNumberField("lead", seats.lead);
+            gen.writeArrayFieldStart("seats");
+            for (final var player : seats.seats) {
+                serializers.defaultSerializeValue(player, gen);
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+
+    }
+
+    /**
+     * {@link Serializer} の形式に加え, 以前の形式 (手番順のプレイヤーの配列) も受け付ける.
+     */
+    public static class Deserializer extends JsonDeserializer<Seats> {
+
+        @Override
+        public Seats deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            final JsonNode node = p.readValueAsTree();
+            final var players = node.isObject() ? node.get("seats") : node;
+            final var seats = new Player[players.size()];
+            for (int i = 0; i < seats.length; i++) {
+                seats[i] = p.getCodec().treeToValue(players.get(i), Player.class);
+            }
+            return new Seats(seats, node.isObject() ? node.get("lead").asInt() : 0);
+        }
+
+    }
+
+}
@@ -8,6 +8,8 @@ plugins {
 akkaGrpc {
     generateClient = true
     generateServer = true
+    // Metadata (grpc-timeout など) をサーバ側で参照するため
+    serverPowerApis = true
 }
 
 dependencies {